@@ -2,8 +2,10 @@ package com.blog.fit;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = {"com.blog.fit", "com.blog.services"})
+@EnableScheduling
 public class FitApplication {
 
 	public static void main(String[] args) {
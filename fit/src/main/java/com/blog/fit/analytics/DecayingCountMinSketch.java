@@ -0,0 +1,108 @@
+package com.blog.fit.analytics;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch whose counts decay exponentially with a fixed half-life. Every cell is a double
+ * updated with compare-and-set, so concurrent writers never block each other.
+ * Decay is applied forward: an event adds {@code exp(rate * (t - landmark))} rather than every cell
+ * shrinking over time, so raw counts from the same landmark compare directly. {@link #rescale}
+ * moves the landmark to keep the weights small.
+ */
+class DecayingCountMinSketch {
+
+    private static final long[] SEEDS = {
+        0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    private final int width;
+    private final AtomicLongArray cells;
+    private final double ratePerMilli;
+    private volatile long landmark;
+
+    DecayingCountMinSketch(int width, Duration halfLife, long now) {
+        if (Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("Sketch width must be a power of two");
+        }
+        this.width = width;
+        this.cells = new AtomicLongArray(SEEDS.length * width);
+        this.ratePerMilli = Math.log(2) / halfLife.toMillis();
+        this.landmark = now;
+    }
+
+    /**
+     * Counts one event for {@code key} at {@code now} and returns the key's new raw estimate.
+     */
+    double add(UUID key, long now) {
+        return add(key, Math.exp(ratePerMilli * (now - landmark)));
+    }
+
+    /**
+     * Adds a raw weight, relative to the current landmark, and returns the key's new raw estimate.
+     */
+    double add(UUID key, double weight) {
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < SEEDS.length; row++) {
+            int index = row * width + bucket(key, row);
+            long current;
+            double updated;
+            do {
+                current = cells.get(index);
+                updated = Double.longBitsToDouble(current) + weight;
+            } while (!cells.compareAndSet(index, current, Double.doubleToRawLongBits(updated)));
+            estimate = Math.min(estimate, updated);
+        }
+        return estimate;
+    }
+
+    double estimate(UUID key) {
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < SEEDS.length; row++) {
+            estimate = Math.min(estimate, Double.longBitsToDouble(cells.get(row * width + bucket(key, row))));
+        }
+        return estimate;
+    }
+
+    /**
+     * Converts a raw estimate into the decayed number of events as of {@code now}.
+     */
+    double present(double raw, long now) {
+        return raw * Math.exp(-ratePerMilli * (now - landmark));
+    }
+
+    /**
+     * Converts a decayed number of events observed at {@code at} into a raw weight for this landmark.
+     */
+    double raw(double present, long at) {
+        return present * Math.exp(ratePerMilli * (at - landmark));
+    }
+
+    /**
+     * Moves the landmark to {@code now} and returns the factor every raw count was multiplied by,
+     * so callers holding raw estimates can scale them the same way. An event racing the rescale is
+     * counted with the old landmark and slightly over-weighted, which only matters for that one view.
+     */
+    double rescale(long now) {
+        double factor = Math.exp(-ratePerMilli * (now - landmark));
+        landmark = now;
+        for (int index = 0; index < cells.length(); index++) {
+            long current;
+            double updated;
+            do {
+                current = cells.get(index);
+                updated = Double.longBitsToDouble(current) * factor;
+            } while (!cells.compareAndSet(index, current, Double.doubleToRawLongBits(updated)));
+        }
+        return factor;
+    }
+
+    private int bucket(UUID key, int row) {
+        long hash = key.getMostSignificantBits() * SEEDS[row] ^ key.getLeastSignificantBits();
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        return (int) hash & (width - 1);
+    }
+}
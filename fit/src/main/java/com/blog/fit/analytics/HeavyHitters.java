@@ -0,0 +1,79 @@
+package com.blog.fit.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * The highest scoring keys seen so far, bounded to a fixed capacity. A key's score only moves
+ * through {@link #offer}, so a key that stops being offered keeps its last score while it decays
+ * everywhere else; rescaling with the sketch keeps the scores comparable.
+ */
+class HeavyHitters {
+
+    record Hitter(UUID id, double score) {
+    }
+
+    private static final Comparator<Hitter> LOWEST_FIRST = Comparator.comparingDouble(Hitter::score)
+            .thenComparing(Hitter::id);
+
+    private final int capacity;
+    private final Map<UUID, Hitter> hitters = new HashMap<>();
+    private final PriorityQueue<Hitter> lowest = new PriorityQueue<>(LOWEST_FIRST);
+
+    HeavyHitters(int capacity) {
+        this.capacity = capacity;
+    }
+
+    synchronized void offer(UUID id, double score) {
+        Hitter previous = hitters.get(id);
+        if (previous == null && hitters.size() == capacity) {
+            if (score <= lowest.peek().score()) {
+                return;
+            }
+            hitters.remove(lowest.poll().id());
+        }
+        if (previous != null) {
+            lowest.remove(previous);
+        }
+        Hitter hitter = new Hitter(id, score);
+        hitters.put(id, hitter);
+        lowest.offer(hitter);
+    }
+
+    synchronized void remove(UUID id) {
+        Hitter previous = hitters.remove(id);
+        if (previous != null) {
+            lowest.remove(previous);
+        }
+    }
+
+    synchronized void rescale(double factor) {
+        List<Hitter> scaled = new ArrayList<>(hitters.size());
+        hitters.values().forEach(hitter -> scaled.add(new Hitter(hitter.id(), hitter.score() * factor)));
+        hitters.clear();
+        lowest.clear();
+        scaled.forEach(hitter -> {
+            hitters.put(hitter.id(), hitter);
+            lowest.offer(hitter);
+        });
+    }
+
+    /**
+     * Returns up to {@code limit} hitters, highest score first.
+     */
+    synchronized List<Hitter> top(int limit) {
+        return hitters.values().stream()
+                .sorted(LOWEST_FIRST.reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    synchronized boolean isEmpty() {
+        return hitters.isEmpty();
+    }
+}
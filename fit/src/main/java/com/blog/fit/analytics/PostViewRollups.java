@@ -0,0 +1,165 @@
+package com.blog.fit.analytics;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts post views per UTC hour without a database write per view. Views are appended to a
+ * bounded ring buffer, drained every {@code blog.analytics.drain-interval} into per-(post, hour)
+ * totals and added to {@code post_view_rollups} in one batched upsert every
+ * {@code blog.analytics.flush-interval}, so a crash loses at most one flush interval of views.
+ * A failed flush keeps its totals and is retried with the next one. While flushes keep failing, at
+ * most {@code blog.analytics.max-pending-keys} totals are held; views of any other post and hour
+ * are dropped and counted. While flushes succeed, reaching the cap just flushes early.
+ */
+@Component
+@Slf4j
+public class PostViewRollups {
+
+    private static final long HOUR_MILLIS = Duration.ofHours(1).toMillis();
+    private static final int BATCH_SIZE = 500;
+
+    private static final String POSTGRES_UPSERT =
+            "INSERT INTO post_view_rollups (post_id, view_hour, views) VALUES (?, ?, ?) "
+            + "ON CONFLICT (post_id, view_hour) DO UPDATE SET views = post_view_rollups.views + EXCLUDED.views";
+    private static final String MERGE_UPSERT =
+            "MERGE INTO post_view_rollups r "
+            + "USING (VALUES (CAST(? AS UUID), CAST(? AS TIMESTAMP), CAST(? AS BIGINT))) AS v (post_id, view_hour, views) "
+            + "ON r.post_id = v.post_id AND r.view_hour = v.view_hour "
+            + "WHEN MATCHED THEN UPDATE SET views = r.views + v.views "
+            + "WHEN NOT MATCHED THEN INSERT (post_id, view_hour, views) VALUES (v.post_id, v.view_hour, v.views)";
+
+    private record HourKey(UUID postId, long hour) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ViewRingBuffer buffer;
+    private final long flushIntervalMillis;
+    private final int maxPendingKeys;
+    private final Counter droppedViews;
+    private final Counter discardedViews;
+    // Only touched while holding this object's monitor
+    private final Map<HourKey, Long> pending = new HashMap<>();
+    private long lastFlush = System.currentTimeMillis();
+    private boolean flushFailing;
+    private volatile int pendingKeys;
+    private String upsertSql;
+
+    public PostViewRollups(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${blog.analytics.buffer-size:65536}") int bufferSize,
+            @Value("${blog.analytics.flush-interval:10s}") Duration flushInterval,
+            @Value("${blog.analytics.max-pending-keys:50000}") int maxPendingKeys,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.buffer = new ViewRingBuffer(bufferSize);
+        this.flushIntervalMillis = flushInterval.toMillis();
+        this.maxPendingKeys = maxPendingKeys;
+        this.droppedViews = Counter.builder("posts.views.dropped")
+                .description("Post views not counted because the view buffer was full")
+                .register(meterRegistry);
+        this.discardedViews = Counter.builder("posts.views.discarded")
+                .description("Post views not counted because too many totals were waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("posts.views.pending", this, rollups -> rollups.pendingKeys)
+                .description("Post and hour totals waiting to be written")
+                .register(meterRegistry);
+    }
+
+    public void record(UUID postId) {
+        if (!buffer.offer(postId, System.currentTimeMillis())) {
+            droppedViews.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${blog.analytics.drain-interval:1s}")
+    public synchronized void drain() {
+        buffer.drain(this::count);
+        long now = System.currentTimeMillis();
+        if (!pending.isEmpty() && (now - lastFlush >= flushIntervalMillis || pending.size() >= maxPendingKeys)) {
+            flush(now);
+        }
+        pendingKeys = pending.size();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        buffer.drain(this::count);
+        if (!pending.isEmpty()) {
+            flush(System.currentTimeMillis());
+        }
+        pendingKeys = pending.size();
+    }
+
+    private void count(UUID postId, long at) {
+        HourKey key = new HourKey(postId, at / HOUR_MILLIS);
+        Long views = pending.get(key);
+        if (views != null) {
+            pending.put(key, views + 1);
+        } else if (pending.size() < maxPendingKeys || (!flushFailing && flush(System.currentTimeMillis()))) {
+            pending.put(key, 1L);
+        } else {
+            // Once a flush has failed, the next attempt waits for the next drain
+            discardedViews.increment();
+        }
+    }
+
+    private boolean flush(long now) {
+        lastFlush = now;
+        List<Object[]> rows = new ArrayList<>(pending.size());
+        pending.forEach((key, views) -> rows.add(new Object[] {
+            key.postId(),
+            Timestamp.valueOf(LocalDateTime.ofEpochSecond(key.hour() * HOUR_MILLIS / 1000, 0, ZoneOffset.UTC)),
+            views
+        }));
+        try {
+            String sql = upsertSql();
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows, BATCH_SIZE,
+                    (statement, row) -> {
+                        statement.setObject(1, row[0]);
+                        statement.setTimestamp(2, (Timestamp) row[1]);
+                        statement.setLong(3, (Long) row[2]);
+                    }));
+            pending.clear();
+            flushFailing = false;
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Could not write {} post view totals, retrying with the next flush", rows.size(), e);
+            flushFailing = true;
+            return false;
+        }
+    }
+
+    private String upsertSql() {
+        if (upsertSql == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            upsertSql = "PostgreSQL".equals(product) ? POSTGRES_UPSERT : MERGE_UPSERT;
+        }
+        return upsertSql;
+    }
+}
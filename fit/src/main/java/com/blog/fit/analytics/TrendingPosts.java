@@ -0,0 +1,219 @@
+package com.blog.fit.analytics;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.blog.fit.domain.PostFilterRow;
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.entities.PostTrendingScore;
+import com.blog.fit.domain.events.PostChangedEvent;
+import com.blog.fit.domain.events.PostsDeletedEvent;
+import com.blog.fit.outbox.DomainEventConsumer;
+import com.blog.fit.repositories.PostRepository;
+import com.blog.fit.repositories.PostTrendingScoreRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Trending published posts by recent views, overall and per category, kept entirely in memory.
+ * Views go into a decaying count-min sketch, which takes no locks. The best estimates are tracked in
+ * a small heavy-hitters table per category and one across all posts; those are locked, so views only
+ * mark their post and the marked posts are offered in one pass every
+ * {@code blog.trending.drain-interval}, off the request threads. The tracked scores are written to the database
+ * periodically and read back on startup, so a restart does not reset the ranking.
+ */
+@Component
+@Slf4j
+public class TrendingPosts implements DomainEventConsumer {
+
+    private static final int SKETCH_WIDTH = 1 << 14;
+    // Track more candidates than are served, so posts just below the cut can still climb
+    private static final int CANDIDATES_PER_RESULT = 2;
+
+    private final PostRepository postRepository;
+    private final PostTrendingScoreRepository postTrendingScoreRepository;
+    private final int size;
+    private final DecayingCountMinSketch sketch;
+    private final HeavyHitters overall;
+    private final Map<UUID, HeavyHitters> byCategory = new ConcurrentHashMap<>();
+    // Category of every published post; views of anything else are not counted
+    private final Map<UUID, UUID> categories = new ConcurrentHashMap<>();
+    // Posts viewed since the last drain
+    private final Set<UUID> viewed = ConcurrentHashMap.newKeySet();
+    private final Counter views;
+
+    public TrendingPosts(
+            PostRepository postRepository,
+            PostTrendingScoreRepository postTrendingScoreRepository,
+            @Value("${blog.trending.size:10}") int size,
+            @Value("${blog.trending.half-life:6h}") Duration halfLife,
+            MeterRegistry meterRegistry) {
+        this.postRepository = postRepository;
+        this.postTrendingScoreRepository = postTrendingScoreRepository;
+        this.size = size;
+        this.sketch = new DecayingCountMinSketch(SKETCH_WIDTH, halfLife, System.currentTimeMillis());
+        this.overall = new HeavyHitters(size * CANDIDATES_PER_RESULT);
+        this.views = Counter.builder("posts.views")
+                .description("Post views counted towards trending")
+                .register(meterRegistry);
+    }
+
+    public void recordView(UUID postId) {
+        UUID categoryId = categories.get(postId);
+        if (categoryId == null) {
+            return;
+        }
+        sketch.add(postId, System.currentTimeMillis());
+        viewed.add(postId);
+        views.increment();
+    }
+
+    /**
+     * Returns up to {@code limit} trending post ids, most viewed first, optionally within one category.
+     */
+    public List<UUID> getTrending(UUID categoryId, int limit) {
+        if (limit < 1 || limit > size) {
+            throw new IllegalArgumentException("Trending limit must be between 1 and " + size);
+        }
+        HeavyHitters hitters = categoryId != null ? byCategory.get(categoryId) : overall;
+        if (hitters == null) {
+            return List.of();
+        }
+        return hitters.top(limit).stream().map(HeavyHitters.Hitter::id).toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        try (Stream<PostFilterRow> rows = postRepository.streamFilterRows()) {
+            rows.filter(row -> row.getStatus() == PostStatus.PUBLISHED)
+                    .forEach(row -> categories.put(row.getPostId(), row.getCategoryId()));
+        }
+
+        int restored = 0;
+        for (PostTrendingScore snapshot : postTrendingScoreRepository.findAll()) {
+            UUID categoryId = categories.get(snapshot.getPostId());
+            if (categoryId == null) {
+                continue;
+            }
+            long snapshotAt = snapshot.getSnapshotAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+            double estimate = sketch.add(snapshot.getPostId(), sketch.raw(snapshot.getScore(), snapshotAt));
+            overall.offer(snapshot.getPostId(), estimate);
+            hittersOf(categoryId).offer(snapshot.getPostId(), estimate);
+            restored++;
+        }
+        log.info("Restored {} trending post scores", restored);
+    }
+
+    /**
+     * Offers the current estimate of every post viewed since the last drain, once per post however
+     * often it was viewed.
+     */
+    @Scheduled(fixedDelayString = "${blog.trending.drain-interval:1s}")
+    public synchronized void drain() {
+        for (Iterator<UUID> marked = viewed.iterator(); marked.hasNext();) {
+            UUID postId = marked.next();
+            // Unmarked before reading the estimate, so a view arriving meanwhile marks the post again
+            marked.remove();
+            UUID categoryId = categories.get(postId);
+            if (categoryId == null) {
+                continue;
+            }
+            double estimate = sketch.estimate(postId);
+            overall.offer(postId, estimate);
+            hittersOf(categoryId).offer(postId, estimate);
+        }
+    }
+
+    /**
+     * Stores the decayed score of every tracked post, replacing the previous snapshot, and moves
+     * the sketch landmark forward.
+     */
+    @Scheduled(
+            initialDelayString = "${blog.trending.snapshot-interval:5m}",
+            fixedDelayString = "${blog.trending.snapshot-interval:5m}")
+    @Transactional
+    public synchronized void snapshot() {
+        long now = System.currentTimeMillis();
+        double factor = sketch.rescale(now);
+        overall.rescale(factor);
+        byCategory.values().forEach(hitters -> hitters.rescale(factor));
+
+        Map<UUID, Double> scores = new HashMap<>();
+        Stream.concat(Stream.of(overall), byCategory.values().stream())
+                .flatMap(hitters -> hitters.top(Integer.MAX_VALUE).stream())
+                .forEach(hitter -> scores.put(hitter.id(), sketch.present(hitter.score(), now)));
+
+        LocalDateTime snapshotAt = LocalDateTime.ofEpochSecond(now / 1000, (int) (now % 1000) * 1_000_000, ZoneOffset.UTC);
+        postTrendingScoreRepository.deleteAllInBatch();
+        postTrendingScoreRepository.saveAll(scores.entrySet().stream()
+                .map(score -> new PostTrendingScore(score.getKey(), score.getValue(), snapshotAt))
+                .toList());
+    }
+
+    @Override
+    public String getConsumerName() {
+        return "trending";
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void consume(Object domainEvent) {
+        if (domainEvent instanceof PostsDeletedEvent deleted) {
+            for (UUID postId : deleted.getPostIds()) {
+                UUID categoryId = categories.remove(postId);
+                if (categoryId != null) {
+                    hittersOf(categoryId).remove(postId);
+                }
+                overall.remove(postId);
+            }
+            return;
+        }
+        if (!(domainEvent instanceof PostChangedEvent event)) {
+            return;
+        }
+        UUID postId = event.getPostId();
+        UUID categoryId = postRepository.findFilterRowsById(postId).stream()
+                .filter(row -> row.getStatus() == PostStatus.PUBLISHED)
+                .map(PostFilterRow::getCategoryId)
+                .findFirst()
+                .orElse(null);
+
+        UUID previousCategoryId = categoryId != null ? categories.put(postId, categoryId) : categories.remove(postId);
+        if (previousCategoryId != null && !previousCategoryId.equals(categoryId)) {
+            hittersOf(previousCategoryId).remove(postId);
+        }
+        if (categoryId == null) {
+            overall.remove(postId);
+        } else if (!categoryId.equals(previousCategoryId)) {
+            // Views from before the move or before unpublishing still count
+            double estimate = sketch.estimate(postId);
+            if (estimate > 0) {
+                overall.offer(postId, estimate);
+                hittersOf(categoryId).offer(postId, estimate);
+            }
+        }
+    }
+
+    private HeavyHitters hittersOf(UUID categoryId) {
+        return byCategory.computeIfAbsent(categoryId, ignored -> new HeavyHitters(size * CANDIDATES_PER_RESULT));
+    }
+}
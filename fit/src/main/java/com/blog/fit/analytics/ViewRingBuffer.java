@@ -0,0 +1,81 @@
+package com.blog.fit.analytics;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Bounded ring of post views with many producers and a single consumer. Producers claim a slot
+ * with one compare-and-set and never wait; when the consumer falls a full ring behind, new views
+ * are refused rather than growing memory.
+ * Each slot carries a sequence number: a producer may write slot {@code i} once its sequence
+ * equals the claimed position, and the consumer may read it once the sequence is one past it.
+ */
+class ViewRingBuffer {
+
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final UUID[] postIds;
+    private final long[] viewedAt;
+    private final AtomicLong tail = new AtomicLong();
+    // Only touched by the consumer
+    private long head;
+
+    ViewRingBuffer(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("View buffer size must be a power of two");
+        }
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        this.postIds = new UUID[capacity];
+        this.viewedAt = new long[capacity];
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Appends a view, or returns false when the ring is full.
+     */
+    boolean offer(UUID postId, long at) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    postIds[index] = postId;
+                    viewedAt[index] = at;
+                    // Publishes the slot; the plain writes above become visible with it
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (available < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Hands every published view to {@code consumer} in order and returns how many there were.
+     * Must only be called from one thread at a time.
+     */
+    int drain(ObjLongConsumer<UUID> consumer) {
+        int drained = 0;
+        while (true) {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                return drained;
+            }
+            consumer.accept(postIds[index], viewedAt[index]);
+            postIds[index] = null;
+            sequences.set(index, head + mask + 1);
+            head++;
+            drained++;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.blog.fit.batch;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import com.blog.fit.domain.dtos.ApiErrorResponse;
+import com.blog.fit.domain.dtos.BatchItemRequestDto;
+import com.blog.fit.domain.dtos.BatchItemResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the requests of a batch through the dispatcher servlet in parallel, on a pool of
+ * {@code blog.batch.threads} shared by all batches. The security filters already authenticated the
+ * batch request, so each item runs with that authentication and is only checked against the
+ * authorization rules for its own URL. Items still running after {@code blog.batch.timeout} are
+ * cancelled and answered with 504. When the pool's queue is full, items that do not fit are answered
+ * with 503 rather than run on the request thread, where no timeout could reach them.
+ * Only GET requests under /api/v1 can be batched; every item gets its own status, and a failing
+ * item does not fail the others.
+ */
+@Component
+@Slf4j
+public class BatchDispatcher {
+
+    private static final String API_PREFIX = "/api/v1/";
+    private static final String BATCH_PATH = "/api/v1/batch";
+    // Request attributes set by the security filters that handlers read
+    private static final List<String> SHARED_ATTRIBUTES = List.of("userId");
+    // Describe the item's own response, not the batch response they would end up in
+    private static final List<String> TRANSPORT_HEADERS = List.of(HttpHeaders.VARY, HttpHeaders.CONTENT_LENGTH);
+
+    private final DispatcherServlet dispatcherServlet;
+    private final WebInvocationPrivilegeEvaluator privilegeEvaluator;
+    private final ObjectMapper objectMapper;
+    private final int maxRequests;
+    private final long timeoutMillis;
+    private final ThreadPoolExecutor executor;
+    private final Counter dispatched;
+
+    public BatchDispatcher(
+            DispatcherServlet dispatcherServlet,
+            WebInvocationPrivilegeEvaluator privilegeEvaluator,
+            ObjectMapper objectMapper,
+            @Value("${blog.batch.threads:8}") int threads,
+            @Value("${blog.batch.queue-capacity:200}") int queueCapacity,
+            @Value("${blog.batch.max-requests:20}") int maxRequests,
+            @Value("${blog.batch.timeout:10s}") Duration timeout,
+            MeterRegistry meterRegistry) {
+        this.dispatcherServlet = dispatcherServlet;
+        this.privilegeEvaluator = privilegeEvaluator;
+        this.objectMapper = objectMapper;
+        this.maxRequests = maxRequests;
+        this.timeoutMillis = timeout.toMillis();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "batch-" + threadNumber.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.dispatched = Counter.builder("batch.requests.dispatched")
+                .description("Requests of batches run through the dispatcher")
+                .register(meterRegistry);
+    }
+
+    public List<BatchItemResponseDto> dispatch(HttpServletRequest request, HttpServletResponse response,
+            List<BatchItemRequestDto> items) {
+        if (items.size() > maxRequests) {
+            throw new IllegalArgumentException("A batch can hold at most " + maxRequests + " requests");
+        }
+
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        Authentication authentication = securityContext.getAuthentication();
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        for (String name : SHARED_ATTRIBUTES) {
+            Object value = request.getAttribute(name);
+            if (value != null) {
+                attributes.put(name, value);
+            }
+        }
+
+        List<BatchItemResponseDto> responses = new ArrayList<>(items.size());
+        List<Future<BatchItemResponseDto>> futures = new ArrayList<>(items.size());
+        for (BatchItemRequestDto item : items) {
+            BatchItemResponseDto rejected = null;
+            BatchSubRequest subRequest = null;
+            if (!HttpMethod.GET.name().equalsIgnoreCase(item.getMethod())) {
+                rejected = error(item, HttpStatus.METHOD_NOT_ALLOWED, "Only GET requests can be batched");
+            } else {
+                UriComponents uri = UriComponentsBuilder.fromUriString(item.getUrl()).build();
+                String path = uri.getPath();
+                if (uri.getScheme() != null || uri.getHost() != null || path == null
+                        || !path.startsWith(API_PREFIX) || path.startsWith(BATCH_PATH) || path.contains("..")) {
+                    rejected = error(item, HttpStatus.BAD_REQUEST, "Batched url must be a path under " + API_PREFIX);
+                } else if (!privilegeEvaluator.isAllowed(request.getContextPath(), path, HttpMethod.GET.name(), authentication)) {
+                    rejected = error(item, HttpStatus.FORBIDDEN, "Access denied");
+                } else {
+                    Map<String, List<String>> parameters = new LinkedHashMap<>();
+                    uri.getQueryParams().forEach((name, values) -> parameters.put(
+                            UriUtils.decode(name, StandardCharsets.UTF_8),
+                            values.stream().map(value -> value != null ? UriUtils.decode(value, StandardCharsets.UTF_8) : "").toList()));
+                    subRequest = new BatchSubRequest(request, path, uri.getQuery(), parameters, attributes);
+                }
+            }
+            Future<BatchItemResponseDto> future = null;
+            if (subRequest != null) {
+                try {
+                    future = submit(item, subRequest, new BatchSubResponse(response), securityContext);
+                } catch (RejectedExecutionException e) {
+                    rejected = error(item, HttpStatus.SERVICE_UNAVAILABLE, "Too many batched requests in progress");
+                }
+            }
+            responses.add(rejected);
+            futures.add(future);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        for (int i = 0; i < items.size(); i++) {
+            Future<BatchItemResponseDto> future = futures.get(i);
+            if (future == null) {
+                continue;
+            }
+            BatchItemRequestDto item = items.get(i);
+            try {
+                responses.set(i, future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                responses.set(i, error(item, HttpStatus.GATEWAY_TIMEOUT, "Request did not complete in time"));
+            } catch (ExecutionException e) {
+                log.warn("Batched request {} failed", item.getUrl(), e.getCause());
+                responses.set(i, error(item, HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred"));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.stream().filter(pending -> pending != null).forEach(pending -> pending.cancel(true));
+                throw new IllegalStateException("Interrupted while waiting for batched requests");
+            }
+        }
+        return responses;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Future<BatchItemResponseDto> submit(BatchItemRequestDto item, BatchSubRequest subRequest,
+            BatchSubResponse subResponse, SecurityContext securityContext) {
+        Callable<BatchItemResponseDto> task = () -> {
+            dispatcherServlet.service(subRequest, subResponse);
+            dispatched.increment();
+            return toResponse(item, subResponse);
+        };
+        return executor.submit(new DelegatingSecurityContextCallable<>(task, securityContext));
+    }
+
+    private BatchItemResponseDto toResponse(BatchItemRequestDto item, BatchSubResponse subResponse)
+            throws JsonProcessingException {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : subResponse.getHeaderNames()) {
+            if (TRANSPORT_HEADERS.stream().anyMatch(name::equalsIgnoreCase)) {
+                continue;
+            }
+            headers.put(name, String.join(", ", subResponse.getHeaders(name)));
+        }
+        byte[] content = subResponse.getBody();
+        String body = null;
+        if (content.length > 0) {
+            String contentType = subResponse.getContentType();
+            MediaType mediaType = StringUtils.hasText(contentType) ? MediaType.parseMediaType(contentType) : null;
+            Charset charset = mediaType != null && mediaType.getCharset() != null
+                    ? mediaType.getCharset() : StandardCharsets.UTF_8;
+            String text = new String(content, charset);
+            boolean json = mediaType != null && (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)
+                    || mediaType.getSubtype().endsWith("+json"));
+            // JSON is embedded as it was written rather than parsed and written again
+            body = json ? text : objectMapper.writeValueAsString(text);
+        }
+        return BatchItemResponseDto.builder()
+                .id(item.getId())
+                .status(subResponse.getStatus())
+                .headers(headers)
+                .body(body)
+                .build();
+    }
+
+    private BatchItemResponseDto error(BatchItemRequestDto item, HttpStatus status, String message) {
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(ApiErrorResponse.builder()
+                    .status(status.value())
+                    .message(message)
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        return BatchItemResponseDto.builder()
+                .id(item.getId())
+                .status(status.value())
+                .headers(Map.of())
+                .body(body)
+                .build();
+    }
+}
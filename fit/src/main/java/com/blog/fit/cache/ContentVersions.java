@@ -0,0 +1,111 @@
+package com.blog.fit.cache;
+
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.WebRequest;
+
+import com.blog.fit.domain.PostVersion;
+import com.blog.fit.domain.events.CategoryChangedEvent;
+import com.blog.fit.domain.events.CommentChangedEvent;
+import com.blog.fit.domain.events.PostChangedEvent;
+import com.blog.fit.domain.events.PostsDeletedEvent;
+import com.blog.fit.domain.events.TagChangedEvent;
+
+/**
+ * Validators for conditional GETs.
+ * A single post is identified by its id, updatedAt and comment totals, plus a counter of tag and
+ * category changes, since posts embed those names and a rename leaves the posts untouched. It gets
+ * no Last-Modified, because neither comments nor renames move updatedAt. Collections carry an
+ * in-memory version counter that is bumped after every committed write touching them.
+ * The process start time is part of every collection ETag, so counters that
+ * restart from zero never produce a validator an earlier process handed out.
+ */
+@Component
+public class ContentVersions {
+
+    public enum Collection {
+        POSTS,
+        TAGS,
+        CATEGORIES
+    }
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final Map<Collection, AtomicReference<Version>> versions = new EnumMap<>(Collection.class);
+    private final AtomicLong referenceNames = new AtomicLong();
+
+    public ContentVersions() {
+        long now = System.currentTimeMillis();
+        for (Collection collection : Collection.values()) {
+            versions.put(collection, new AtomicReference<>(new Version(0, now)));
+        }
+    }
+
+    public boolean checkNotModified(Collection collection, WebRequest request) {
+        Version version = versions.get(collection).get();
+        String etag = "\"" + collection.name().toLowerCase() + "-" + epoch + "-" + version.counter() + "\"";
+        return request.checkNotModified(etag, version.lastModified());
+    }
+
+    public boolean checkNotModified(UUID postId, PostVersion version, WebRequest request) {
+        long updatedAt = version.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String etag = "\"" + postId + "-" + epoch + "-" + Long.toString(referenceNames.get(), Character.MAX_RADIX)
+                + "-" + Long.toString(updatedAt, Character.MAX_RADIX)
+                + "-" + Long.toString(version.getCommentCount(), Character.MAX_RADIX)
+                + "-" + Long.toString(version.getTotalCommentLikes(), Character.MAX_RADIX) + "\"";
+        return request.checkNotModified(etag);
+    }
+
+    public boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    public void bump(Collection... collections) {
+        long now = System.currentTimeMillis();
+        for (Collection collection : collections) {
+            // Never ahead of the clock; two bumps within a second share a Last-Modified, and the ETag
+            // counter is what tells them apart
+            versions.get(collection).updateAndGet(version ->
+                    new Version(version.counter() + 1, Math.max(now, version.lastModified())));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        bump(Collection.POSTS, Collection.TAGS, Collection.CATEGORIES);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsDeleted(PostsDeletedEvent event) {
+        bump(Collection.POSTS, Collection.TAGS, Collection.CATEGORIES);
+    }
+
+    // Listings embed the comment totals of their posts
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        bump(Collection.POSTS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChanged(TagChangedEvent event) {
+        referenceNames.incrementAndGet();
+        bump(Collection.TAGS, Collection.POSTS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        referenceNames.incrementAndGet();
+        bump(Collection.CATEGORIES, Collection.POSTS);
+    }
+
+    private record Version(long counter, long lastModified) {
+    }
+}
@@ -0,0 +1,198 @@
+package com.blog.fit.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.blog.fit.domain.dtos.PostDto;
+import com.blog.fit.domain.events.CategoryChangedEvent;
+import com.blog.fit.domain.events.CommentChangedEvent;
+import com.blog.fit.domain.events.PostChangedEvent;
+import com.blog.fit.domain.events.PostsDeletedEvent;
+import com.blog.fit.domain.events.TagChangedEvent;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Bounded cache of fully mapped posts keyed by id.
+ * Concurrent misses for the same id share a single load, which runs on the
+ * calling thread so lazy associations are resolved inside its session.
+ * Ids that were not found are remembered for a short time to absorb repeated 404s. Their load
+ * completes with null rather than failing, which Caffeine drops without logging, and a failed load
+ * is left for real errors.
+ */
+@Component
+public class PostDtoCache {
+
+    private final AsyncCache<UUID, PostDto> posts;
+    private final Cache<UUID, Boolean> missingPosts;
+
+    public PostDtoCache(
+            @Value("${blog.cache.posts.maximum-size:10000}") long maximumSize,
+            @Value("${blog.cache.posts.expire-after-write:10m}") Duration expireAfterWrite,
+            @Value("${blog.cache.posts.not-found-ttl:5s}") Duration notFoundTtl,
+            MeterRegistry meterRegistry) {
+        this.posts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+        this.missingPosts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(notFoundTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, posts, "posts");
+        CaffeineCacheMetrics.monitor(meterRegistry, missingPosts, "posts.not-found");
+    }
+
+    public PostDto get(UUID id, Function<UUID, PostDto> loader) {
+        if (missingPosts.getIfPresent(id) != null) {
+            throw new EntityNotFoundException("Post not found with ID: " + id);
+        }
+
+        CompletableFuture<PostDto> promise = new CompletableFuture<>();
+        CompletableFuture<PostDto> future = posts.get(id, (key, executor) -> promise);
+        if (future == promise) {
+            load(id, loader, promise);
+        }
+
+        PostDto postDto;
+        try {
+            postDto = future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        if (postDto == null) {
+            throw new EntityNotFoundException("Post not found with ID: " + id);
+        }
+        return postDto;
+    }
+
+    /**
+     * Returns the cached posts for the given ids in the same order, loading every miss
+     * with one call to the bulk loader. Ids the loader does not return are skipped.
+     */
+    public List<PostDto> getAll(List<UUID> ids, Function<Collection<UUID>, Map<UUID, PostDto>> loader) {
+        Map<UUID, CompletableFuture<PostDto>> futures = new LinkedHashMap<>();
+        Map<UUID, CompletableFuture<PostDto>> promises = new HashMap<>();
+        for (UUID id : ids) {
+            if (futures.containsKey(id) || missingPosts.getIfPresent(id) != null) {
+                continue;
+            }
+            CompletableFuture<PostDto> promise = new CompletableFuture<>();
+            CompletableFuture<PostDto> future = posts.get(id, (key, executor) -> promise);
+            if (future == promise) {
+                promises.put(id, promise);
+            }
+            futures.put(id, future);
+        }
+
+        if (!promises.isEmpty()) {
+            loadAll(promises, loader);
+        }
+
+        List<PostDto> result = new ArrayList<>(futures.size());
+        for (CompletableFuture<PostDto> future : futures.values()) {
+            PostDto postDto;
+            try {
+                postDto = future.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+            if (postDto != null) {
+                result.add(postDto);
+            }
+        }
+        return result;
+    }
+
+    public PostDto getIfPresent(UUID id) {
+        CompletableFuture<PostDto> future = posts.getIfPresent(id);
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return null;
+        }
+        return future.join();
+    }
+
+    public void invalidate(UUID id) {
+        posts.synchronous().invalidate(id);
+        missingPosts.invalidate(id);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        invalidate(event.getPostId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsDeleted(PostsDeletedEvent event) {
+        posts.synchronous().invalidateAll(event.getPostIds());
+        missingPosts.invalidateAll(event.getPostIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        invalidate(event.getPostId());
+    }
+
+    // Posts embed tag and category names, and renames are rare enough to drop everything
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChanged(TagChangedEvent event) {
+        posts.synchronous().invalidateAll();
+        missingPosts.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        posts.synchronous().invalidateAll();
+        missingPosts.invalidateAll();
+    }
+
+    private void loadAll(Map<UUID, CompletableFuture<PostDto>> promises,
+            Function<Collection<UUID>, Map<UUID, PostDto>> loader) {
+        try {
+            Map<UUID, PostDto> loaded = loader.apply(promises.keySet());
+            promises.forEach((id, promise) -> {
+                PostDto postDto = loaded.get(id);
+                if (postDto == null) {
+                    missingPosts.put(id, Boolean.TRUE);
+                }
+                promise.complete(postDto);
+            });
+        } catch (RuntimeException e) {
+            promises.values().forEach(promise -> promise.completeExceptionally(e));
+        }
+    }
+
+    private void load(UUID id, Function<UUID, PostDto> loader, CompletableFuture<PostDto> promise) {
+        try {
+            promise.complete(loader.apply(id));
+        } catch (EntityNotFoundException e) {
+            missingPosts.put(id, Boolean.TRUE);
+            promise.complete(null);
+        } catch (RuntimeException e) {
+            promise.completeExceptionally(e);
+        }
+    }
+}
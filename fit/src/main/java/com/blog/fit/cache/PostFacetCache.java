@@ -0,0 +1,97 @@
+package com.blog.fit.cache;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.blog.fit.domain.TagMatchMode;
+import com.blog.fit.domain.dtos.PostFacetsDto;
+import com.blog.fit.domain.events.CategoryChangedEvent;
+import com.blog.fit.domain.events.PostChangedEvent;
+import com.blog.fit.domain.events.PostsDeletedEvent;
+import com.blog.fit.domain.events.TagChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Caches facet counts per post filter. Any post, tag or category change can move counts
+ * of every facet, so all entries are dropped together; a load that started before the
+ * change is not kept.
+ */
+@Component
+public class PostFacetCache {
+
+    public record FacetKey(UUID categoryId, Set<UUID> tagIds, TagMatchMode mode, Set<UUID> excludedTagIds) {
+
+        public FacetKey {
+            tagIds = Set.copyOf(tagIds);
+            excludedTagIds = Set.copyOf(excludedTagIds);
+            // The match mode makes no difference without required tags
+            mode = tagIds.isEmpty() ? TagMatchMode.ALL : mode;
+        }
+    }
+
+    private record Entry(PostFacetsDto facets, long generation) {
+    }
+
+    private final Cache<FacetKey, Entry> facets;
+    private final AtomicLong generation = new AtomicLong();
+
+    public PostFacetCache(
+            @Value("${blog.cache.post-facets.maximum-size:1000}") long maximumSize,
+            MeterRegistry meterRegistry) {
+        this.facets = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, facets, "post-facets");
+    }
+
+    public PostFacetsDto get(FacetKey key, Supplier<PostFacetsDto> loader) {
+        long current = generation.get();
+        Entry entry = facets.get(key, ignored -> new Entry(loader.get(), current));
+        if (entry.generation() < current) {
+            facets.asMap().remove(key, entry);
+            entry = facets.get(key, ignored -> new Entry(loader.get(), current));
+        }
+        return entry.facets();
+    }
+
+    // After PostBitmapIndex has applied the change, which facet counts are computed from
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onPostChanged(PostChangedEvent event) {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onPostsDeleted(PostsDeletedEvent event) {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChanged(TagChangedEvent event) {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        invalidateAll();
+    }
+
+    private void invalidateAll() {
+        generation.incrementAndGet();
+        facets.invalidateAll();
+    }
+}
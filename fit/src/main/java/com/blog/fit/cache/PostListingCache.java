@@ -0,0 +1,142 @@
+package com.blog.fit.cache;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.blog.fit.domain.PostIdPage;
+import com.blog.fit.domain.events.CategoryChangedEvent;
+import com.blog.fit.domain.events.PostChangedEvent;
+import com.blog.fit.domain.events.PostsDeletedEvent;
+import com.blog.fit.domain.events.TagChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Caches ordered pages of published post ids per listing filter.
+ * Every filter scope (all posts, one category, one tag, one category and tag pair)
+ * has a generation that is bumped when a post inside that scope changes. A page
+ * remembers the generation it was loaded under and is dropped once it falls behind,
+ * so a post change only evicts the listings its old or new category and tags appear in.
+ */
+@Component
+public class PostListingCache {
+
+    public record ListingKey(UUID categoryId, UUID tagId, String cursor, Integer pageSize) {
+
+        private Object scope() {
+            if (categoryId != null && tagId != null) {
+                return new PairScope(categoryId, tagId);
+            }
+            if (categoryId != null) {
+                return new CategoryScope(categoryId);
+            }
+            if (tagId != null) {
+                return new TagScope(tagId);
+            }
+            return AllScope.INSTANCE;
+        }
+    }
+
+    private enum AllScope { INSTANCE }
+
+    private record CategoryScope(UUID categoryId) {
+    }
+
+    private record TagScope(UUID tagId) {
+    }
+
+    private record PairScope(UUID categoryId, UUID tagId) {
+    }
+
+    private record Entry(PostIdPage page, long generation) {
+    }
+
+    private final Cache<ListingKey, Entry> listings;
+    private final ConcurrentHashMap<Object, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Counter staleEvictions;
+
+    public PostListingCache(
+            @Value("${blog.cache.post-listings.maximum-size:5000}") long maximumSize,
+            MeterRegistry meterRegistry) {
+        this.listings = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        this.staleEvictions = Counter.builder("cache.stale.evictions")
+                .tag("cache", "post-listings")
+                .description("Listing pages dropped because a post in their scope changed")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, listings, "post-listings");
+    }
+
+    public PostIdPage get(ListingKey key, Supplier<PostIdPage> loader) {
+        // Read the generation before loading, so a change committed mid-load leaves the page stale
+        long generation = generationOf(key.scope());
+        Entry entry = listings.get(key, ignored -> new Entry(loader.get(), generation));
+        if (entry.generation() < generation) {
+            if (listings.asMap().remove(key, entry)) {
+                staleEvictions.increment();
+            }
+            entry = listings.get(key, ignored -> new Entry(loader.get(), generation));
+        }
+        return entry.page();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        bumpScopes(event.getCategoryIds(), event.getTagIds());
+    }
+
+    // Pairs the deleted posts did not form are bumped too, which only costs those listings a reload
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsDeleted(PostsDeletedEvent event) {
+        bumpScopes(event.getCategoryIds(), event.getTagIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChanged(TagChangedEvent event) {
+        if (event.getChangeType() == TagChangedEvent.ChangeType.DELETED) {
+            listings.asMap().keySet().removeIf(key -> event.getTagId().equals(key.tagId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.getChangeType() == CategoryChangedEvent.ChangeType.DELETED) {
+            listings.asMap().keySet().removeIf(key -> event.getCategoryId().equals(key.categoryId()));
+        }
+    }
+
+    private void bumpScopes(Set<UUID> categoryIds, Set<UUID> tagIds) {
+        bump(AllScope.INSTANCE);
+        for (UUID categoryId : categoryIds) {
+            bump(new CategoryScope(categoryId));
+            for (UUID tagId : tagIds) {
+                bump(new PairScope(categoryId, tagId));
+            }
+        }
+        for (UUID tagId : tagIds) {
+            bump(new TagScope(tagId));
+        }
+    }
+
+    private long generationOf(Object scope) {
+        AtomicLong generation = generations.get(scope);
+        return generation != null ? generation.get() : 0;
+    }
+
+    private void bump(Object scope) {
+        generations.computeIfAbsent(scope, ignored -> new AtomicLong()).incrementAndGet();
+    }
+}
@@ -0,0 +1,181 @@
+package com.blog.fit.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.PostVersion;
+import com.blog.fit.domain.dtos.PostDto;
+import com.blog.fit.domain.events.CategoryChangedEvent;
+import com.blog.fit.domain.events.CommentChangedEvent;
+import com.blog.fit.domain.events.PostChangedEvent;
+import com.blog.fit.domain.events.PostsDeletedEvent;
+import com.blog.fit.domain.events.TagChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Holds the serialized JSON of published posts together with a gzip variant,
+ * so a hit is written straight to the response without mapping or serialization.
+ * An entry is only served while its version matches the post it was rendered from.
+ */
+@Component
+public class PostResponseCache {
+
+    private static final String GZIP = "gzip";
+
+    private final ObjectMapper objectMapper;
+    private final Cache<UUID, EncodedPost> responses;
+
+    public PostResponseCache(
+            ObjectMapper objectMapper,
+            @Value("${blog.cache.post-responses.maximum-weight:64MB}") DataSize maximumWeight,
+            MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight.toBytes())
+                .weigher((UUID id, EncodedPost encoded) -> encoded.weight())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "post-responses");
+    }
+
+    public ResponseEntity<byte[]> render(PostDto postDto, PostVersion version, String acceptEncoding) {
+        if (!PostStatus.PUBLISHED.equals(postDto.getPostStatus())) {
+            return new EncodedPost(version, serialize(postDto), null).toResponseEntity(false);
+        }
+        return encode(postDto, version).toResponseEntity(acceptsGzip(acceptEncoding));
+    }
+
+    public void invalidate(UUID id) {
+        responses.invalidate(id);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        invalidate(event.getPostId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsDeleted(PostsDeletedEvent event) {
+        responses.invalidateAll(event.getPostIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        invalidate(event.getPostId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChanged(TagChangedEvent event) {
+        responses.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        responses.invalidateAll();
+    }
+
+    private EncodedPost encode(PostDto postDto, PostVersion version) {
+        EncodedPost cached = responses.getIfPresent(postDto.getId());
+        if (cached != null && cached.isFor(version)) {
+            return cached;
+        }
+
+        EncodedPost encoded = EncodedPost.of(version, serialize(postDto));
+        responses.put(postDto.getId(), encoded);
+        return encoded;
+    }
+
+    private byte[] serialize(PostDto postDto) {
+        try {
+            return objectMapper.writeValueAsBytes(postDto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize post " + postDto.getId(), e);
+        }
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            if (!GZIP.equalsIgnoreCase(coding) && !"*".equals(coding)) {
+                continue;
+            }
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=") && isZeroQuality(param.substring(2))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isZeroQuality(String quality) {
+        try {
+            return Double.parseDouble(quality) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private record EncodedPost(PostVersion version, byte[] identity, byte[] gzip) {
+
+        static EncodedPost of(PostVersion version, byte[] json) {
+            return new EncodedPost(version, json, gzip(json));
+        }
+
+        boolean isFor(PostVersion postVersion) {
+            return version.equals(postVersion);
+        }
+
+        int weight() {
+            return identity.length + gzip.length;
+        }
+
+        ResponseEntity<byte[]> toResponseEntity(boolean useGzip) {
+            byte[] body = useGzip ? gzip : identity;
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .contentLength(body.length)
+                    .cacheControl(CacheControl.noCache())
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (useGzip) {
+                builder.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+            }
+            return builder.body(body);
+        }
+
+        private static byte[] gzip(byte[] json) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 3 + 64);
+            try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+                gzipOut.write(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+    }
+}
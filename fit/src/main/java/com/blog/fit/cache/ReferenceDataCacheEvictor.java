@@ -0,0 +1,65 @@
+package com.blog.fit.cache;
+
+import java.util.UUID;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.blog.fit.domain.entities.Category;
+import com.blog.fit.domain.entities.Tag;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Evicts category and tag rows from the second-level cache once a write has committed,
+ * together with the cached lookup queries that may reference them.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataCacheEvictor {
+
+    public static final String REFERENCE_QUERY_REGION = "reference-queries";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evictCategory(UUID id) {
+        afterCommit(() -> evict(Category.class, id));
+    }
+
+    public void evictTag(UUID id) {
+        afterCommit(() -> evict(Tag.class, id));
+    }
+
+    public void evictReferenceQueries() {
+        afterCommit(() -> getCache().evictQueryRegion(REFERENCE_QUERY_REGION));
+    }
+
+    private void evict(Class<?> entityClass, UUID id) {
+        Cache cache = getCache();
+        if (id != null) {
+            cache.evictEntityData(entityClass, id);
+        }
+        cache.evictQueryRegion(REFERENCE_QUERY_REGION);
+    }
+
+    private Cache getCache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
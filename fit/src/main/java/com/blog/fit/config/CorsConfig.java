@@ -6,6 +6,8 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import org.springframework.context.annotation.Configuration;
 
+import com.blog.fit.controllers.PostController;
+
 @Configuration
 public class CorsConfig {
     @Bean
@@ -17,6 +19,7 @@ public class CorsConfig {
                         .allowedOrigins("https://localhost:5173")
                         .allowedMethods("*")
                         .allowedHeaders("*")
+                        .exposedHeaders(PostController.NEXT_CURSOR_HEADER)
                         .allowCredentials(true);
                         
             }
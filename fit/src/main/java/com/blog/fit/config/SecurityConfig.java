@@ -59,9 +59,15 @@ public class SecurityConfig {
                 .requestMatchers("/post-photos/**", "/static/**").permitAll() // Allow static resources
                 .requestMatchers(HttpMethod.GET,"/api/v1/categories/**").permitAll()
                 .requestMatchers(HttpMethod.GET,"/api/v1/posts/drafts").authenticated()
+                .requestMatchers(HttpMethod.GET,"/api/v1/posts/analytics").authenticated()
+                .requestMatchers(HttpMethod.GET,"/api/v1/posts/*/revisions/**").authenticated()
+                .requestMatchers(HttpMethod.GET,"/api/v1/posts/bulk-delete/**").authenticated()
                 .requestMatchers(HttpMethod.GET,"/api/v1/posts/**").permitAll()
+                .requestMatchers(HttpMethod.POST,"/api/v1/posts/lookup").permitAll()
                 .requestMatchers(HttpMethod.GET,"/api/v1/tags/**").permitAll()
                 .requestMatchers(HttpMethod.GET,"/api/v1/comments/**").permitAll()
+                // Each batched request is checked against the rules above on its own
+                .requestMatchers(HttpMethod.POST,"/api/v1/batch").permitAll()
 
                 .anyRequest().authenticated()
             )
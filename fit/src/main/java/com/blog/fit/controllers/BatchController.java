@@ -0,0 +1,34 @@
+package com.blog.fit.controllers;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.blog.fit.batch.BatchDispatcher;
+import com.blog.fit.domain.dtos.BatchRequestDto;
+import com.blog.fit.domain.dtos.BatchResponseDto;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping(path = "/api/v1/batch")
+@RequiredArgsConstructor
+public class BatchController {
+
+    private final BatchDispatcher batchDispatcher;
+
+    // Several reads in one round trip; each response carries its own status
+    @PostMapping
+    public ResponseEntity<BatchResponseDto> batch(
+            @Valid @RequestBody BatchRequestDto batchRequest,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        return ResponseEntity.ok(new BatchResponseDto(
+                batchDispatcher.dispatch(request, response, batchRequest.getRequests())));
+    }
+}
@@ -2,15 +2,19 @@ package com.blog.fit.controllers;
 
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 
+import com.blog.fit.cache.ContentVersions;
 import com.blog.fit.domain.dtos.CategoryDto;
 import com.blog.fit.domain.dtos.CreateCategoryRequest;
+import com.blog.fit.domain.dtos.SuggestionDto;
 import com.blog.fit.domain.dtos.UpdateCategoryRequest;
 import com.blog.fit.domain.dtos.UpdateCategoryRequestDto;
 import com.blog.fit.domain.entities.Category;
 import com.blog.fit.mappers.CategoryMapper;
+import com.blog.fit.search.SuggestionIndex;
 import com.blog.fit.services.CategoryService;
 
 import lombok.RequiredArgsConstructor;
@@ -18,6 +22,7 @@ import lombok.RequiredArgsConstructor;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -26,6 +31,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 
 
@@ -37,14 +43,26 @@ public class CategoryController {
 
     private final CategoryService categoryService;
     private final CategoryMapper categoryMapper;
+    private final ContentVersions contentVersions;
+    private final SuggestionIndex suggestionIndex;
    
     @GetMapping
-    public ResponseEntity<List<CategoryDto>> listCategories() {
+    public ResponseEntity<List<CategoryDto>> listCategories(WebRequest webRequest) {
+        if (contentVersions.checkNotModified(ContentVersions.Collection.CATEGORIES, webRequest)) {
+            return null;
+        }
         List<CategoryDto> categories = categoryService.listCategories()
                 .stream().map(categoryMapper::toDto)
                 .toList();
 
-        return ResponseEntity.ok(categories);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(categories);
+    }
+
+    @GetMapping(path = "/suggest")
+    public ResponseEntity<List<SuggestionDto>> suggestCategories(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(suggestionIndex.suggest(SuggestionIndex.Type.CATEGORIES, q, limit));
     }
 
     @PostMapping
@@ -1,19 +1,24 @@
 package com.blog.fit.controllers;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.blog.fit.domain.CommentField;
 import com.blog.fit.domain.dtos.CommentDto;
 import com.blog.fit.domain.dtos.CreateCommentRequest;
 import com.blog.fit.domain.entities.Comment;
 import com.blog.fit.mappers.CommentMapper;
 import com.blog.fit.security.BlogUserDetail;
 import com.blog.fit.services.CommentService;
+import com.blog.fit.stream.CommentStream;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +30,7 @@ public class CommentController {
 
     private final CommentService commentService;
     private final CommentMapper commentMapper;
+    private final CommentStream commentStream;
 
     @GetMapping
     public ResponseEntity<List<CommentDto>> getAllComments() {
@@ -35,6 +41,11 @@ public class CommentController {
         return ResponseEntity.ok(commentDtos);
     }
 
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllCommentFields(@RequestParam String fields) {
+        return ResponseEntity.ok(commentService.getCommentFields(null, null, CommentField.fromParameter(fields)));
+    }
+
     @GetMapping("/post/{postId}")
     public ResponseEntity<List<CommentDto>> getCommentsByPost(@PathVariable UUID postId) {
         List<Comment> comments = commentService.getCommentsByPost(postId);
@@ -44,6 +55,18 @@ public class CommentController {
         return ResponseEntity.ok(commentDtos);
     }
 
+    @GetMapping(path = "/post/{postId}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getCommentFieldsByPost(
+            @PathVariable UUID postId,
+            @RequestParam String fields) {
+        return ResponseEntity.ok(commentService.getCommentFields(postId, null, CommentField.fromParameter(fields)));
+    }
+
+    @GetMapping(path = "/post/{postId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCommentsByPost(@PathVariable UUID postId) {
+        return commentStream.subscribe(postId);
+    }
+
     @GetMapping(path = "/user/{userId}")
     public ResponseEntity<List<CommentDto>> getCommentsByUser(@PathVariable UUID userId) {
         List<Comment> comments = commentService.getCommentsByUser(userId);
@@ -53,6 +76,13 @@ public class CommentController {
         return ResponseEntity.ok(commentDtos);
     }
 
+    @GetMapping(path = "/user/{userId}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getCommentFieldsByUser(
+            @PathVariable UUID userId,
+            @RequestParam String fields) {
+        return ResponseEntity.ok(commentService.getCommentFields(null, userId, CommentField.fromParameter(fields)));
+    }
+
     @PostMapping("/post/{postId}")
     public ResponseEntity<CommentDto> createComment(
             @PathVariable UUID postId,
@@ -91,6 +121,13 @@ public class CommentController {
         return ResponseEntity.ok(commentDto);
     }
 
+    @GetMapping(path = "/{commentId}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getCommentFieldsById(
+            @PathVariable UUID commentId,
+            @RequestParam String fields) {
+        return ResponseEntity.ok(commentService.getCommentFieldsById(commentId, CommentField.fromParameter(fields)));
+    }
+
     @PostMapping(path = "/{commentId}/like")
     public ResponseEntity<CommentDto> likeComment(@PathVariable UUID commentId) {
         Comment comment = commentService.likeComment(commentId);
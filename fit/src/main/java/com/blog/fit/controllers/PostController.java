@@ -1,31 +1,88 @@
 package com.blog.fit.controllers;
 
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.blog.fit.analytics.PostViewRollups;
+import com.blog.fit.analytics.TrendingPosts;
+import com.blog.fit.cache.ContentVersions;
+import com.blog.fit.cache.PostDtoCache;
+import com.blog.fit.cache.PostFacetCache;
+import com.blog.fit.cache.PostListingCache;
+import com.blog.fit.cache.PostResponseCache;
+import com.blog.fit.domain.BulkDeleteProgress;
+import com.blog.fit.domain.PostFacetCounts;
+import com.blog.fit.domain.PostField;
+import com.blog.fit.domain.PostIdPage;
+import com.blog.fit.domain.PostRetagResult;
+import com.blog.fit.domain.PostSearchPage;
+import com.blog.fit.domain.PostVersion;
+import com.blog.fit.domain.TagMatchMode;
+import com.blog.fit.domain.ViewGranularity;
+import com.blog.fit.domain.dtos.BulkDeletePostsRequestDto;
+import com.blog.fit.domain.dtos.BulkDeleteProgressDto;
 import com.blog.fit.domain.dtos.CreatePostRequest;
 import com.blog.fit.domain.dtos.CreatePostRequestDto;
+import com.blog.fit.domain.dtos.FacetCountDto;
+import com.blog.fit.domain.dtos.PatchPostContentRequestDto;
+import com.blog.fit.domain.dtos.PostContentVersionDto;
 import com.blog.fit.domain.dtos.PostDto;
+import com.blog.fit.domain.dtos.PostFacetsDto;
+import com.blog.fit.domain.dtos.PostLookupDto;
+import com.blog.fit.domain.dtos.PostLookupRequestDto;
+import com.blog.fit.domain.dtos.PostRevisionContentDto;
+import com.blog.fit.domain.dtos.PostRevisionDto;
+import com.blog.fit.domain.dtos.PostSearchHitDto;
+import com.blog.fit.domain.dtos.PostViewSeriesDto;
+import com.blog.fit.domain.dtos.RetagPostsRequestDto;
+import com.blog.fit.domain.dtos.RetagPostsResponseDto;
+import com.blog.fit.domain.dtos.SuggestionDto;
 import com.blog.fit.domain.dtos.UpdatePostRequest;
 import com.blog.fit.domain.dtos.UpdatePostRequestDto;
 import com.blog.fit.domain.entities.Post;
+import com.blog.fit.domain.entities.PostView;
 import com.blog.fit.domain.entities.User;
 import com.blog.fit.mappers.PostMapper;
+import com.blog.fit.search.PostSearchIndex;
+import com.blog.fit.search.RelatedPostsIndex;
+import com.blog.fit.search.SuggestionIndex;
+import com.blog.fit.services.CategoryService;
+import com.blog.fit.services.PostAnalyticsService;
+import com.blog.fit.services.PostAutosaveService;
+import com.blog.fit.services.PostBulkDeleteService;
+import com.blog.fit.services.PostRevisionService;
 import com.blog.fit.services.PostService;
+import com.blog.fit.services.TagService;
 import com.blog.fit.services.UserService;
 
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -40,31 +97,166 @@ public class PostController {
     private final PostService postService;
     private final PostMapper postMapper;
     private final UserService userService;
+    private final PostDtoCache postDtoCache;
+    private final PostResponseCache postResponseCache;
+    private final ContentVersions contentVersions;
+    private final PostListingCache postListingCache;
+    private final PostSearchIndex postSearchIndex;
+    private final SuggestionIndex suggestionIndex;
+    private final PostFacetCache postFacetCache;
+    private final RelatedPostsIndex relatedPostsIndex;
+    private final TrendingPosts trendingPosts;
+    private final PostViewRollups postViewRollups;
+    private final PostAnalyticsService postAnalyticsService;
+    private final PostAutosaveService postAutosaveService;
+    private final PostRevisionService postRevisionService;
+    private final PostBulkDeleteService postBulkDeleteService;
+    private final TagService tagService;
+    private final CategoryService categoryService;
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    private static final int DEFAULT_ANALYTICS_DAYS = 30;
+    private static final int MAX_LOOKUP_IDS = 500;
+    // Names arrive sorted, so the stable sort keeps ties alphabetical
+    private static final Comparator<FacetCountDto> FACET_ORDER =
+            Comparator.comparing(FacetCountDto::getCount).reversed();
 
     @GetMapping
     public ResponseEntity<List<PostDto>> getAllPosts(
             @RequestParam(required = false) UUID categoryId,
-            @RequestParam(required = false) UUID tagId) {
-        List<Post> posts = postService.getAllPosts(categoryId, tagId);
-        List<PostDto> postDtos = posts.stream()
-               .map(postMapper::toDto)
-               .toList();
-        
-        return ResponseEntity.ok(postDtos);       
+            @RequestParam(required = false) UUID tagId,
+            @RequestParam(required = false) List<UUID> tagIds,
+            @RequestParam(required = false) String mode,
+            @RequestParam(required = false) List<UUID> excludedTagIds,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        validatePageSize(size);
+        TagMatchMode tagMatchMode = TagMatchMode.fromParameter(mode);
+        if (contentVersions.checkNotModified(ContentVersions.Collection.POSTS, webRequest)) {
+            return null;
+        }
+
+        PostIdPage page = findPublishedPage(categoryId, tagId, tagIds, tagMatchMode, excludedTagIds, cursor, size);
+        List<PostDto> postDtos = postDtoCache.getAll(page.getPostIds(), this::loadPosts);
+        return listingResponse(page).body(postDtos);
+    }
+
+    // Reads only the columns behind the requested fields, bypassing the cached full posts
+    @GetMapping(params = {"fields", "!ids"})
+    public ResponseEntity<List<Map<String, Object>>> getAllPostFields(
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) UUID tagId,
+            @RequestParam(required = false) List<UUID> tagIds,
+            @RequestParam(required = false) String mode,
+            @RequestParam(required = false) List<UUID> excludedTagIds,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam String fields,
+            WebRequest webRequest) {
+        Set<PostField> selectedFields = PostField.fromParameter(fields);
+        validatePageSize(size);
+        TagMatchMode tagMatchMode = TagMatchMode.fromParameter(mode);
+        if (contentVersions.checkNotModified(ContentVersions.Collection.POSTS, webRequest)) {
+            return null;
+        }
+
+        PostIdPage page = findPublishedPage(categoryId, tagId, tagIds, tagMatchMode, excludedTagIds, cursor, size);
+        return listingResponse(page).body(List.copyOf(postService.getPostFields(page.getPostIds(), selectedFields).values()));
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<PostLookupDto<?>> getPostsByIds(
+            @RequestParam List<UUID> ids,
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(lookupPosts(ids, fields));
+    }
+
+    // For id lists too long for a query string
+    @PostMapping(path = "/lookup")
+    public ResponseEntity<PostLookupDto<?>> lookupPosts(
+            @Valid @RequestBody PostLookupRequestDto request,
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(lookupPosts(request.getIds(), fields));
+    }
+
+    @GetMapping(path = "/facets")
+    public ResponseEntity<PostFacetsDto> getFacets(
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) UUID tagId,
+            @RequestParam(required = false) List<UUID> tagIds,
+            @RequestParam(required = false) String mode,
+            @RequestParam(required = false) List<UUID> excludedTagIds,
+            WebRequest webRequest) {
+        TagMatchMode tagMatchMode = TagMatchMode.fromParameter(mode);
+        if (contentVersions.checkNotModified(ContentVersions.Collection.POSTS, webRequest)) {
+            return null;
+        }
+
+        PostFacetCache.FacetKey key = new PostFacetCache.FacetKey(
+                categoryId, requiredTagIds(tagId, tagIds), tagMatchMode, excludedTagIds(excludedTagIds));
+        PostFacetsDto facets = postFacetCache.get(key, () -> loadFacets(key));
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(facets);
+    }
+
+    @GetMapping(path = "/search")
+    public ResponseEntity<List<PostSearchHitDto>> searchPosts(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) UUID tagId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        validatePageSize(size);
+        PostSearchPage page = postSearchIndex.search(
+                q, categoryId, tagId, cursor, size != null ? size : DEFAULT_SEARCH_PAGE_SIZE);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getHits());
+    }
+
+    @GetMapping(path = "/suggest")
+    public ResponseEntity<List<SuggestionDto>> suggestPosts(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(suggestionIndex.suggest(SuggestionIndex.Type.POSTS, q, limit));
     }
 
     @GetMapping(path = "/drafts")
     public ResponseEntity<List<PostDto>> getDrafts(@RequestAttribute UUID userId) {
-        User loggedInUser = userService.getUserById(userId);
-        List<Post> draftPosts = postService.getDraftPosts(loggedInUser);
-        List<PostDto> postDtos = draftPosts.stream()
+        userService.getUserById(userId);
+        List<PostDto> postDtos = postService.getDraftPostViews(userId).stream()
                 .map(postMapper::toDto)
                 .toList();
-        userService.getUserById(userId);
-        
+
         return ResponseEntity.ok(postDtos);
     }
 
+    @GetMapping(path = "/drafts", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getDraftFields(
+            @RequestParam String fields,
+            @RequestAttribute UUID userId) {
+        Set<PostField> selectedFields = PostField.fromParameter(fields);
+        userService.getUserById(userId);
+        return ResponseEntity.ok(postService.getDraftPostFields(userId, selectedFields));
+    }
+
+    @GetMapping(path = "/analytics")
+    public ResponseEntity<List<PostViewSeriesDto>> getViewAnalytics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String granularity,
+            @RequestAttribute UUID userId) {
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_ANALYTICS_DAYS - 1);
+        return ResponseEntity.ok(postAnalyticsService.getViewSeries(
+                userId, start, end, ViewGranularity.fromParameter(granularity)));
+    }
+
     @PostMapping
     public ResponseEntity<PostDto> createPost(
            @Valid @RequestBody CreatePostRequestDto createPostRequestDto, 
@@ -88,11 +280,148 @@ public class PostController {
         return ResponseEntity.ok(updatedPostDto);
     }
 
+    @PatchMapping(path = "/{id}/content")
+    public ResponseEntity<PostContentVersionDto> patchPostContent(
+            @PathVariable UUID id,
+            @Valid @RequestBody PatchPostContentRequestDto request,
+            @RequestAttribute UUID userId) {
+        long contentVersion = postAutosaveService.applyEdits(
+                id, userId, request.getBaseVersion(), postMapper.toContentEdits(request.getEdits()));
+        return ResponseEntity.ok(new PostContentVersionDto(id, contentVersion));
+    }
+
+    @GetMapping(path = "/{id}/revisions")
+    public ResponseEntity<List<PostRevisionDto>> getPostRevisions(@PathVariable UUID id, @RequestAttribute UUID userId) {
+        List<PostRevisionDto> revisions = postRevisionService.listRevisions(id, userId).stream()
+                .map(postMapper::toRevisionDto)
+                .toList();
+        return ResponseEntity.ok(revisions);
+    }
+
+    @GetMapping(path = "/{id}/revisions/{revisionNumber}")
+    public ResponseEntity<PostRevisionContentDto> getPostRevision(
+            @PathVariable UUID id,
+            @PathVariable int revisionNumber,
+            @RequestAttribute UUID userId) {
+        return ResponseEntity.ok(postMapper.toRevisionContentDto(postRevisionService.getRevision(id, revisionNumber, userId)));
+    }
+
+    @PostMapping(path = "/{id}/revisions/{revisionNumber}/restore")
+    public ResponseEntity<PostDto> restorePostRevision(
+            @PathVariable UUID id,
+            @PathVariable int revisionNumber,
+            @RequestAttribute UUID userId) {
+        Post restoredPost = postService.restoreRevision(id, revisionNumber, userId);
+        return ResponseEntity.ok(postMapper.toDto(restoredPost));
+    }
+
+    @GetMapping(path = "/trending")
+    public ResponseEntity<List<PostDto>> getTrendingPosts(
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<UUID> trendingIds = trendingPosts.getTrending(categoryId, limit);
+        return ResponseEntity.ok(postDtoCache.getAll(trendingIds, this::loadPosts));
+    }
+
+    @GetMapping(path = "/trending", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getTrendingPostFields(
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam String fields) {
+        Set<PostField> selectedFields = PostField.fromParameter(fields);
+        List<UUID> trendingIds = trendingPosts.getTrending(categoryId, limit);
+        return ResponseEntity.ok(List.copyOf(postService.getPostFields(trendingIds, selectedFields).values()));
+    }
+
+    @GetMapping(path = "/{id}/related")
+    public ResponseEntity<List<PostDto>> getRelatedPosts(@PathVariable UUID id) {
+        List<UUID> relatedIds = relatedPostsIndex.findRelated(id).orElse(null);
+        if (relatedIds == null) {
+            // Drafts have no recommendations, but an unknown id is still a 404
+            postService.getPostUpdatedAt(id);
+            relatedIds = List.of();
+        }
+        return ResponseEntity.ok(postDtoCache.getAll(relatedIds, this::loadPosts));
+    }
+
+    @GetMapping(path = "/{id}/related", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getRelatedPostFields(
+            @PathVariable UUID id,
+            @RequestParam String fields) {
+        Set<PostField> selectedFields = PostField.fromParameter(fields);
+        List<UUID> relatedIds = relatedPostsIndex.findRelated(id).orElse(null);
+        if (relatedIds == null) {
+            postService.getPostUpdatedAt(id);
+            relatedIds = List.of();
+        }
+        return ResponseEntity.ok(List.copyOf(postService.getPostFields(relatedIds, selectedFields).values()));
+    }
+
+    @GetMapping(path = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getPostFieldsById(
+            @PathVariable UUID id,
+            @RequestParam String fields,
+            WebRequest webRequest) {
+        Set<PostField> selectedFields = PostField.fromParameter(fields);
+        PostVersion version = postService.getPostVersion(id);
+        trendingPosts.recordView(id);
+        postViewRollups.record(id);
+        if (contentVersions.checkNotModified(id, version, webRequest)) {
+            return null;
+        }
+        Map<String, Object> post = postService.getPostFields(List.of(id), selectedFields).get(id);
+        if (post == null) {
+            throw new EntityNotFoundException("Post not found with ID: " + id);
+        }
+        return ResponseEntity.ok(post);
+    }
+
     @GetMapping(path = "/{id}")
-    public ResponseEntity<PostDto> getPostById(@PathVariable UUID id) {
-        Post post = postService.getPostById(id);
-        PostDto postDto = postMapper.toDto(post);
-        return ResponseEntity.ok(postDto);
+    public ResponseEntity<byte[]> getPostById(
+            @PathVariable UUID id,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        PostDto postDto = postDtoCache.getIfPresent(id);
+        if (postDto == null && !contentVersions.isConditional(webRequest)) {
+            postDto = loadPost(id);
+        }
+
+        PostVersion version = postDto != null ? postMapper.toVersion(postDto) : postService.getPostVersion(id);
+        trendingPosts.recordView(id);
+        postViewRollups.record(id);
+        if (contentVersions.checkNotModified(id, version, webRequest)) {
+            return null;
+        }
+
+        if (postDto == null) {
+            postDto = loadPost(id);
+        }
+        return postResponseCache.render(postDto, postMapper.toVersion(postDto), acceptEncoding);
+    }
+
+    @PostMapping(path = "/bulk-delete")
+    public ResponseEntity<BulkDeleteProgressDto> bulkDeletePosts(
+            @Valid @RequestBody BulkDeletePostsRequestDto request,
+            @RequestAttribute UUID userId) {
+        BulkDeleteProgress progress = postBulkDeleteService.startBulkDelete(
+                userId, request.getIds(), request.getCategoryId(), request.getTagId(), request.getStatus());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/posts/bulk-delete/" + progress.getId()))
+                .body(postMapper.toBulkDeleteProgressDto(progress));
+    }
+
+    @PostMapping(path = "/retag")
+    public ResponseEntity<RetagPostsResponseDto> retagPosts(
+            @Valid @RequestBody RetagPostsRequestDto request,
+            @RequestAttribute UUID userId) {
+        PostRetagResult result = postService.retagPosts(
+                userId, request.getPostIds(), request.getAddTagIds(), request.getRemoveTagIds());
+        return ResponseEntity.ok(postMapper.toRetagResponseDto(result));
+    }
+
+    @GetMapping(path = "/bulk-delete/{jobId}")
+    public ResponseEntity<BulkDeleteProgressDto> getBulkDelete(@PathVariable UUID jobId, @RequestAttribute UUID userId) {
+        return ResponseEntity.ok(postMapper.toBulkDeleteProgressDto(postBulkDeleteService.getBulkDelete(jobId, userId)));
     }
 
     @DeleteMapping(path = "/{id}")
@@ -100,4 +429,87 @@ public class PostController {
         postService.deletePostById(id);
         return ResponseEntity.noContent().build();
     }
+
+    private void validatePageSize(Integer size) {
+        if (size != null && (size < 1 || size > MAX_PAGE_SIZE)) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    // Full posts come from the post cache, with every miss loaded by one query
+    private PostLookupDto<?> lookupPosts(List<UUID> requestedIds, String fields) {
+        List<UUID> ids = requestedIds.stream().distinct().toList();
+        if (ids.size() > MAX_LOOKUP_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_LOOKUP_IDS + " posts can be looked up at once");
+        }
+        Set<PostField> selectedFields = PostField.fromParameter(fields);
+        if (selectedFields == null) {
+            List<PostDto> posts = postDtoCache.getAll(ids, this::loadPosts);
+            Set<UUID> foundIds = posts.stream().map(PostDto::getId).collect(Collectors.toSet());
+            return new PostLookupDto<>(posts, missingIds(ids, foundIds));
+        }
+        Map<UUID, Map<String, Object>> posts = postService.getPostFields(ids, selectedFields);
+        return new PostLookupDto<>(List.copyOf(posts.values()), missingIds(ids, posts.keySet()));
+    }
+
+    private static List<UUID> missingIds(List<UUID> ids, Set<UUID> foundIds) {
+        return ids.stream().filter(id -> !foundIds.contains(id)).toList();
+    }
+
+    private PostIdPage findPublishedPage(UUID categoryId, UUID tagId, List<UUID> tagIds, TagMatchMode tagMatchMode,
+            List<UUID> excludedTagIds, String cursor, Integer size) {
+        if (tagIds == null && excludedTagIds == null) {
+            return postListingCache.get(
+                    new PostListingCache.ListingKey(categoryId, tagId, cursor, size),
+                    () -> postService.getPublishedPostIds(categoryId, tagId, cursor, size));
+        }
+        return postService.filterPublishedPostIds(categoryId, requiredTagIds(tagId, tagIds), tagMatchMode,
+                excludedTagIds(excludedTagIds), cursor, size);
+    }
+
+    private static ResponseEntity.BodyBuilder listingResponse(PostIdPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response;
+    }
+
+    private static Set<UUID> requiredTagIds(UUID tagId, List<UUID> tagIds) {
+        Set<UUID> required = tagIds != null ? new HashSet<>(tagIds) : new HashSet<>();
+        if (tagId != null) {
+            required.add(tagId);
+        }
+        return required;
+    }
+
+    private static Set<UUID> excludedTagIds(List<UUID> excludedTagIds) {
+        return excludedTagIds != null ? Set.copyOf(excludedTagIds) : Set.of();
+    }
+
+    // Every tag and category is listed, with zero when no post in the filter carries it
+    private PostFacetsDto loadFacets(PostFacetCache.FacetKey key) {
+        PostFacetCounts counts = postService.countFacets(
+                key.categoryId(), key.tagIds(), key.mode(), key.excludedTagIds());
+        List<FacetCountDto> tags = tagService.getTagsSortedByName().stream()
+                .map(tag -> new FacetCountDto(tag.getId(), tag.getName(), counts.getTagCounts().getOrDefault(tag.getId(), 0)))
+                .sorted(FACET_ORDER)
+                .toList();
+        List<FacetCountDto> categories = categoryService.listCategoriesSortedByName().stream()
+                .map(category -> new FacetCountDto(category.getId(), category.getName(),
+                        counts.getCategoryCounts().getOrDefault(category.getId(), 0)))
+                .sorted(FACET_ORDER)
+                .toList();
+        return new PostFacetsDto(counts.getTotal(), tags, categories);
+    }
+
+    // Posts are read from the read model, one row each
+    private Map<UUID, PostDto> loadPosts(Collection<UUID> ids) {
+        return postService.getPostViews(ids).stream()
+                .collect(Collectors.toMap(PostView::getId, postMapper::toDto));
+    }
+
+    private PostDto loadPost(UUID id) {
+        return postDtoCache.get(id, postId -> postMapper.toDto(postService.getPostView(postId)));
+    }
 }
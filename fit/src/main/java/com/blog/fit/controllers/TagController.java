@@ -3,13 +3,18 @@ package com.blog.fit.controllers;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import com.blog.fit.cache.ContentVersions;
+import com.blog.fit.domain.dtos.SuggestionDto;
 import com.blog.fit.domain.dtos.TagDto;
 import com.blog.fit.domain.entities.Tag;
 import com.blog.fit.mappers.TagMapper;
+import com.blog.fit.search.SuggestionIndex;
 import com.blog.fit.services.TagService;
 
 import jakarta.validation.Valid;
@@ -22,13 +27,25 @@ public class TagController {
     
     private final TagService tagService;
     private final TagMapper tagMapper;
+    private final ContentVersions contentVersions;
+    private final SuggestionIndex suggestionIndex;
 
     @GetMapping
-    public ResponseEntity<List<TagDto>> getAllTags() {
+    public ResponseEntity<List<TagDto>> getAllTags(WebRequest webRequest) {
+        if (contentVersions.checkNotModified(ContentVersions.Collection.TAGS, webRequest)) {
+            return null;
+        }
         List<Tag> tags = tagService.getTags();
         List<TagDto> tagResponses = tags.stream().map(tagMapper::toTagResponse).toList();
         
-        return ResponseEntity.ok(tagResponses);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(tagResponses);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDto>> suggestTags(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(suggestionIndex.suggest(SuggestionIndex.Type.TAGS, q, limit));
     }
 
     @GetMapping("/{id}")
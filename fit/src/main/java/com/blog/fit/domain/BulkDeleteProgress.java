@@ -0,0 +1,18 @@
+package com.blog.fit.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import lombok.Value;
+
+@Value
+public class BulkDeleteProgress {
+    UUID id;
+    BulkDeleteStatus status;
+    int matched;
+    int deleted;
+    int commentsDeleted;
+    LocalDateTime startedAt;
+    LocalDateTime finishedAt;
+    String error;
+}
@@ -0,0 +1,8 @@
+package com.blog.fit.domain;
+
+public enum BulkDeleteStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,46 @@
+package com.blog.fit.domain;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Fields of a comment that a client can ask for with {@code ?fields=}, by their JSON name.
+ */
+public enum CommentField {
+    ID("id"),
+    CONTENT("content"),
+    LIKES("likes"),
+    USER("user"),
+    POST_ID("postId"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt");
+
+    private final String name;
+
+    CommentField(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Parses a comma separated list of field names; null when the parameter is absent, meaning every field.
+     */
+    public static Set<CommentField> fromParameter(String fields) {
+        if (fields == null) {
+            return null;
+        }
+        Set<CommentField> selected = EnumSet.noneOf(CommentField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            selected.add(Arrays.stream(values())
+                    .filter(field -> field.name.equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown comment field: " + trimmed)));
+        }
+        return selected;
+    }
+}
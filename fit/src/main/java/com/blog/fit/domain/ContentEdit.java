@@ -0,0 +1,14 @@
+package com.blog.fit.domain;
+
+import lombok.Value;
+
+/**
+ * Replaces {@code deleteCount} characters at {@code position} with {@code insert}. Positions refer
+ * to the content as left by the edits before it in the same batch.
+ */
+@Value
+public class ContentEdit {
+    int position;
+    int deleteCount;
+    String insert;
+}
@@ -0,0 +1,15 @@
+package com.blog.fit.domain;
+
+import java.util.UUID;
+
+import lombok.Value;
+
+/**
+ * A tag or category with the number of published posts it is attached to.
+ */
+@Value
+public class NamedPostCount {
+    UUID id;
+    String name;
+    Long postCount;
+}
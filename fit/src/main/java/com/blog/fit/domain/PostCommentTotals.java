@@ -0,0 +1,12 @@
+package com.blog.fit.domain;
+
+import java.util.UUID;
+
+import lombok.Value;
+
+@Value
+public class PostCommentTotals {
+    UUID postId;
+    long commentCount;
+    long totalCommentLikes;
+}
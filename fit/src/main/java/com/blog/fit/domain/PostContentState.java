@@ -0,0 +1,14 @@
+package com.blog.fit.domain;
+
+import java.util.UUID;
+
+import lombok.Value;
+
+@Value
+public class PostContentState {
+    UUID id;
+    UUID authorId;
+    String title;
+    String content;
+    Long contentVersion;
+}
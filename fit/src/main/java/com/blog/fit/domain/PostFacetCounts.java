@@ -0,0 +1,16 @@
+package com.blog.fit.domain;
+
+import java.util.Map;
+import java.util.UUID;
+
+import lombok.Value;
+
+/**
+ * Published post counts per tag and per category for a filter. Tags and categories without posts are absent.
+ */
+@Value
+public class PostFacetCounts {
+    int total;
+    Map<UUID, Integer> tagCounts;
+    Map<UUID, Integer> categoryCounts;
+}
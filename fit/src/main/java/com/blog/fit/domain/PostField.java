@@ -0,0 +1,63 @@
+package com.blog.fit.domain;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Fields of a post that a client can ask for with {@code ?fields=}, by their JSON name.
+ * The attribute is the one read on the post read model, or null for the author and category, which
+ * are read from two columns each. The excerpt exists only on the read model.
+ */
+public enum PostField {
+    ID("id", "id"),
+    TITLE("title", "title"),
+    CONTENT("content", "content"),
+    AUTHOR("author", null),
+    CATEGORY("category", null),
+    TAGS("tags", "tags"),
+    READING_TIME("readingTime", "readingTime"),
+    CONTENT_VERSION("contentVersion", "contentVersion"),
+    CREATED_AT("createdAt", "createdAt"),
+    UPDATED_AT("updatedAt", "updatedAt"),
+    POST_STATUS("postStatus", "status"),
+    PUBLISH_AT("publishAt", "publishAt"),
+    PHOTO("photo", "photo"),
+    COMMENT_COUNT("commentCount", "commentCount"),
+    TOTAL_COMMENT_LIKES("totalCommentLikes", "totalCommentLikes"),
+    EXCERPT("excerpt", "excerpt");
+
+    private final String name;
+    private final String attribute;
+
+    PostField(String name, String attribute) {
+        this.name = name;
+        this.attribute = attribute;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * Parses a comma separated list of field names; null when the parameter is absent, meaning every field.
+     */
+    public static Set<PostField> fromParameter(String fields) {
+        if (fields == null) {
+            return null;
+        }
+        Set<PostField> selected = EnumSet.noneOf(PostField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            selected.add(Arrays.stream(values())
+                    .filter(field -> field.name.equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown post field: " + trimmed)));
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,18 @@
+package com.blog.fit.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import lombok.Value;
+
+/**
+ * One post and one of its tags, as read when building the filter bitmaps. Untagged posts have a null tag.
+ */
+@Value
+public class PostFilterRow {
+    UUID postId;
+    PostStatus status;
+    UUID categoryId;
+    LocalDateTime createdAt;
+    UUID tagId;
+}
@@ -0,0 +1,12 @@
+package com.blog.fit.domain;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.Value;
+
+@Value
+public class PostIdPage {
+    List<UUID> postIds;
+    String nextCursor;
+}
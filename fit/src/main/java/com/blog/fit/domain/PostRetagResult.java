@@ -0,0 +1,12 @@
+package com.blog.fit.domain;
+
+import lombok.Value;
+
+/**
+ * Outcome of a bulk retag: the posts it was asked for, and those whose tags actually changed.
+ */
+@Value
+public class PostRetagResult {
+    int matched;
+    int updated;
+}
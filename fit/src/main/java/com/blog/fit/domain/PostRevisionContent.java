@@ -0,0 +1,13 @@
+package com.blog.fit.domain;
+
+import java.time.LocalDateTime;
+
+import lombok.Value;
+
+@Value
+public class PostRevisionContent {
+    Integer revisionNumber;
+    String title;
+    String content;
+    LocalDateTime createdAt;
+}
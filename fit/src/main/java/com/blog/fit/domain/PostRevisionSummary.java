@@ -0,0 +1,15 @@
+package com.blog.fit.domain;
+
+import java.time.LocalDateTime;
+
+import lombok.Value;
+
+@Value
+public class PostRevisionSummary {
+    Integer revisionNumber;
+    String title;
+    boolean snapshot;
+    Integer contentLength;
+    Integer checksum;
+    LocalDateTime createdAt;
+}
@@ -0,0 +1,13 @@
+package com.blog.fit.domain;
+
+import java.util.List;
+
+import com.blog.fit.domain.dtos.PostSearchHitDto;
+
+import lombok.Value;
+
+@Value
+public class PostSearchPage {
+    List<PostSearchHitDto> hits;
+    String nextCursor;
+}
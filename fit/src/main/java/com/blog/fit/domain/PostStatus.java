@@ -2,5 +2,6 @@ package com.blog.fit.domain;
 
 public enum PostStatus {
     DRAFT,
+    SCHEDULED,
     PUBLISHED
 }
@@ -0,0 +1,22 @@
+package com.blog.fit.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a post status by name in a plain varchar. Unlike {@code @Enumerated}, this gets no check
+ * constraint listing the values, which ddl-auto=update would never widen when a status is added.
+ */
+@Converter
+public class PostStatusConverter implements AttributeConverter<PostStatus, String> {
+
+    @Override
+    public String convertToDatabaseColumn(PostStatus status) {
+        return status != null ? status.name() : null;
+    }
+
+    @Override
+    public PostStatus convertToEntityAttribute(String name) {
+        return name != null ? PostStatus.valueOf(name) : null;
+    }
+}
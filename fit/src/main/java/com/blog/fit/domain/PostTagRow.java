@@ -0,0 +1,15 @@
+package com.blog.fit.domain;
+
+import java.util.UUID;
+
+import lombok.Value;
+
+/**
+ * One tag of a post, read without loading either entity.
+ */
+@Value
+public class PostTagRow {
+    UUID postId;
+    UUID tagId;
+    String tagName;
+}
@@ -0,0 +1,14 @@
+package com.blog.fit.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import lombok.Value;
+
+@Value
+public class PostTitle {
+    UUID id;
+    String title;
+    PostStatus status;
+    LocalDateTime createdAt;
+}
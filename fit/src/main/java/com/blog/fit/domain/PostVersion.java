@@ -0,0 +1,16 @@
+package com.blog.fit.domain;
+
+import java.time.LocalDateTime;
+
+import lombok.Value;
+
+/**
+ * The parts of a post that change independently of each other: comments move the totals without
+ * touching updatedAt.
+ */
+@Value
+public class PostVersion {
+    LocalDateTime updatedAt;
+    long commentCount;
+    long totalCommentLikes;
+}
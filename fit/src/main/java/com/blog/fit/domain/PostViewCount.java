@@ -0,0 +1,13 @@
+package com.blog.fit.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import lombok.Value;
+
+@Value
+public class PostViewCount {
+    UUID postId;
+    LocalDateTime viewHour;
+    long views;
+}
@@ -0,0 +1,18 @@
+package com.blog.fit.domain;
+
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A tag as stored on the post read model.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostViewTag {
+    private UUID id;
+    private String name;
+}
@@ -0,0 +1,12 @@
+package com.blog.fit.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import lombok.Value;
+
+@Value
+public class ScheduledPost {
+    UUID id;
+    LocalDateTime publishAt;
+}
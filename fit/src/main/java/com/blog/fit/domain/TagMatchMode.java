@@ -0,0 +1,22 @@
+package com.blog.fit.domain;
+
+import java.util.Locale;
+
+/**
+ * How a multi-tag filter combines its tags: posts carrying every tag, or posts carrying at least one.
+ */
+public enum TagMatchMode {
+    ALL,
+    ANY;
+
+    public static TagMatchMode fromParameter(String mode) {
+        if (mode == null || mode.isBlank()) {
+            return ALL;
+        }
+        try {
+            return valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid tag match mode: " + mode);
+        }
+    }
+}
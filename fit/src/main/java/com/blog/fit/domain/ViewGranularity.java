@@ -0,0 +1,34 @@
+package com.blog.fit.domain;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+/**
+ * Period length of the points in a view series.
+ */
+public enum ViewGranularity {
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    ViewGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public LocalDateTime periodOf(LocalDateTime dateTime) {
+        return dateTime.truncatedTo(unit);
+    }
+
+    public static ViewGranularity fromParameter(String granularity) {
+        if (granularity == null || granularity.isBlank()) {
+            return DAY;
+        }
+        try {
+            return valueOf(granularity.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid granularity: " + granularity);
+        }
+    }
+}
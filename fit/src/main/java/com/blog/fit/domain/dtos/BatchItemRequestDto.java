@@ -0,0 +1,25 @@
+package com.blog.fit.domain.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One request of a batch: a URL under /api/v1 with its query string, e.g. {@code /api/v1/posts?size=5}.
+ * The id is echoed back on the matching response.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchItemRequestDto {
+    private String id;
+
+    @Builder.Default
+    private String method = "GET";
+
+    @NotBlank(message = "Request url is required")
+    private String url;
+}
@@ -0,0 +1,27 @@
+package com.blog.fit.domain.dtos;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Status, headers and body of one request of a batch. A JSON body is embedded as it was written,
+ * any other body as a string.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchItemResponseDto {
+    private String id;
+    private int status;
+    private Map<String, String> headers;
+
+    @JsonRawValue
+    private String body;
+}
@@ -0,0 +1,20 @@
+package com.blog.fit.domain.dtos;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchRequestDto {
+
+    @NotEmpty(message = "At least one request is required")
+    private List<@Valid BatchItemRequestDto> requests;
+}
@@ -0,0 +1,19 @@
+package com.blog.fit.domain.dtos;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Responses of a batch, in the order the requests were given.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchResponseDto {
+    private List<BatchItemResponseDto> responses;
+}
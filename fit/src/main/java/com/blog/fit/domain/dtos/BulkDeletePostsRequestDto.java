@@ -0,0 +1,33 @@
+package com.blog.fit.domain.dtos;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import com.blog.fit.domain.PostStatus;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Either post ids or filters; only posts of the caller are ever deleted.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkDeletePostsRequestDto {
+
+    @Builder.Default
+    @Size(max = 10000, message = "Maximum {max} post ids are allowed")
+    private Set<UUID> ids = new HashSet<>();
+
+    private UUID categoryId;
+
+    private UUID tagId;
+
+    private PostStatus status;
+}
@@ -0,0 +1,26 @@
+package com.blog.fit.domain.dtos;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.blog.fit.domain.BulkDeleteStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkDeleteProgressDto {
+    private UUID id;
+    private BulkDeleteStatus status;
+    private Integer matched;
+    private Integer deleted;
+    private Integer commentsDeleted;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
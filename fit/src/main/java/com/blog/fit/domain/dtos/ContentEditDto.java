@@ -0,0 +1,26 @@
+package com.blog.fit.domain.dtos;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ContentEditDto {
+
+    @NotNull(message = "Edit position is required")
+    @Min(value = 0, message = "Edit position must not be negative")
+    private Integer position;
+
+    @Builder.Default
+    @Min(value = 0, message = "Delete count must not be negative")
+    private int deleteCount = 0;
+
+    @Builder.Default
+    private String insert = "";
+}
@@ -1,5 +1,6 @@
 package com.blog.fit.domain.dtos;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -26,4 +27,6 @@ public class CreatePostRequest {
     private Set<UUID> tagIds = new HashSet<>();
 
     private PostStatus status;
+
+    private LocalDateTime publishAt;
 }
@@ -0,0 +1,18 @@
+package com.blog.fit.domain.dtos;
+
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FacetCountDto {
+    private UUID id;
+    private String name;
+    private Integer count;
+}
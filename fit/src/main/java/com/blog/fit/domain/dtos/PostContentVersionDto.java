@@ -0,0 +1,17 @@
+package com.blog.fit.domain.dtos;
+
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PostContentVersionDto {
+    private UUID id;
+    private Long contentVersion;
+}
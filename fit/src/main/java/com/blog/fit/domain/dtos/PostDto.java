@@ -23,8 +23,12 @@ public class PostDto {
     private CategoryDto category;
     private Set<TagDto> tags;
     private Integer readingTime;
+    private Long contentVersion;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private PostStatus postStatus;
+    private LocalDateTime publishAt;
     private String photo;
+    private Long commentCount;
+    private Long totalCommentLikes;
 }
@@ -0,0 +1,18 @@
+package com.blog.fit.domain.dtos;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PostFacetsDto {
+    private Integer total;
+    private List<FacetCountDto> tags;
+    private List<FacetCountDto> categories;
+}
@@ -0,0 +1,21 @@
+package com.blog.fit.domain.dtos;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Posts found for a list of ids, in the order they were asked for, and the ids that were not found.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PostLookupDto<T> {
+    private List<T> posts;
+    private List<UUID> missingIds;
+}
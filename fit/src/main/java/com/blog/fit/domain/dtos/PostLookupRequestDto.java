@@ -0,0 +1,20 @@
+package com.blog.fit.domain.dtos;
+
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PostLookupRequestDto {
+
+    @NotEmpty(message = "At least one post id is required")
+    private List<UUID> ids;
+}
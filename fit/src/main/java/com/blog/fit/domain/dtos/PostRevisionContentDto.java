@@ -0,0 +1,19 @@
+package com.blog.fit.domain.dtos;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PostRevisionContentDto {
+    private Integer revisionNumber;
+    private String title;
+    private String content;
+    private LocalDateTime createdAt;
+}
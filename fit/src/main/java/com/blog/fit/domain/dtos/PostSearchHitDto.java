@@ -0,0 +1,19 @@
+package com.blog.fit.domain.dtos;
+
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PostSearchHitDto {
+    private UUID id;
+    private String title;
+    private String snippet;
+    private Float score;
+}
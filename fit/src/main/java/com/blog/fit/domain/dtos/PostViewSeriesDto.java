@@ -0,0 +1,20 @@
+package com.blog.fit.domain.dtos;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PostViewSeriesDto {
+    private UUID postId;
+    private String title;
+    private Long totalViews;
+    private List<ViewCountDto> points;
+}
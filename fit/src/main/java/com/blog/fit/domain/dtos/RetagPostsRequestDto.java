@@ -0,0 +1,31 @@
+package com.blog.fit.domain.dtos;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RetagPostsRequestDto {
+
+    @NotEmpty(message = "At least one post id is required")
+    @Size(max = 1000, message = "Maximum {max} post ids are allowed")
+    private Set<UUID> postIds;
+
+    @Builder.Default
+    @Size(max = 10, message = "Maximum {max} tags are allowed")
+    private Set<UUID> addTagIds = new HashSet<>();
+
+    @Builder.Default
+    @Size(max = 10, message = "Maximum {max} tags are allowed")
+    private Set<UUID> removeTagIds = new HashSet<>();
+}
@@ -0,0 +1,15 @@
+package com.blog.fit.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RetagPostsResponseDto {
+    private Integer matched;
+    private Integer updated;
+}
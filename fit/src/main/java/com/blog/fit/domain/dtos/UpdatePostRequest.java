@@ -1,5 +1,6 @@
 package com.blog.fit.domain.dtos;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import com.blog.fit.domain.PostStatus;
@@ -25,4 +26,5 @@ public class UpdatePostRequest {
     @Builder.Default
     private Set<UUID> tagIds = new HashSet<>();
     private PostStatus status;
+    private LocalDateTime publishAt;
 }
@@ -1,5 +1,6 @@
 package com.blog.fit.domain.dtos;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -41,5 +42,8 @@ public class UpdatePostRequestDto {
     @NotNull(message = "Status is required")
     private PostStatus status;
 
+    // Required when the status is SCHEDULED
+    private LocalDateTime publishAt;
+
     private String photo;
 }
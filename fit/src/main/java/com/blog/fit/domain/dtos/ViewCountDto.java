@@ -0,0 +1,17 @@
+package com.blog.fit.domain.dtos;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ViewCountDto {
+    private LocalDateTime period;
+    private Long views;
+}
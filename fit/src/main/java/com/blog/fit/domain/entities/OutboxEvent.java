@@ -0,0 +1,38 @@
+package com.blog.fit.domain.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A domain event written in the transaction that caused it, waiting to be handed to the
+ * in-process consumers. The row is deleted once every consumer has processed it.
+ */
+@Entity
+@Table(name = "outbox_events")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Set while the event sits in the dispatch ring; cleared on startup so unfinished events are redelivered
+    private LocalDateTime dispatchedAt;
+
+    // Only this consumer receives the event; null for every consumer. Set on redriven dead letters.
+    private String consumerName;
+}
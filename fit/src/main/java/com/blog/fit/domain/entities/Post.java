@@ -7,13 +7,16 @@ import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.PostStatusConverter;
 
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = @Index(name = "idx_posts_status_publish_at", columnList = "status, publish_at"))
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -30,13 +33,35 @@ public class Post {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
 
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = PostStatusConverter.class)
     @Column(nullable = false)
     private PostStatus status;
 
+    // When a SCHEDULED post goes live; null for every other status
+    @Column(name = "publish_at")
+    private LocalDateTime publishAt;
+
     @Column(nullable = false)
     private Integer readingTime;
 
+    // Bumped on every content change; autosave edits must name the version they were made against
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long contentVersion = 0L;
+
+    // Moved by atomic increments as comments come and go, never by writing the entity, so a post
+    // saved from a stale copy cannot undo them; CommentTotalsReconciler recounts any drift
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long commentCount = 0L;
+
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long totalCommentLikes = 0L;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
@@ -0,0 +1,56 @@
+package com.blog.fit.domain.entities;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.hibernate.Length;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One saved version of a post. Snapshots hold the whole deflated content; every other revision
+ * holds a deflated delta from the revision before it.
+ */
+@Entity
+@Table(name = "post_revisions", uniqueConstraints = @UniqueConstraint(
+        name = "uk_post_revisions_post_revision", columnNames = {"post_id", "revision_number"}))
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class PostRevision {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "post_id", nullable = false)
+    private UUID postId;
+
+    @Column(name = "revision_number", nullable = false)
+    private Integer revisionNumber;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false)
+    private boolean snapshot;
+
+    // Left to the dialect: bytea on Postgres, the long binary type of other databases
+    @JdbcTypeCode(SqlTypes.VARBINARY)
+    @Column(nullable = false, length = Length.LONG32)
+    private byte[] data;
+
+    @Column(nullable = false)
+    private Integer contentLength;
+
+    // CRC32 of the content, to tell whether the stored post still matches the latest revision
+    @Column(nullable = false)
+    private Integer checksum;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,30 @@
+package com.blog.fit.domain.entities;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Decayed view score of a trending post as of the last snapshot, used to warm the trending
+ * counters after a restart.
+ */
+@Entity
+@Table(name = "post_trending_scores")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class PostTrendingScore {
+    @Id
+    @Column(name = "post_id")
+    private UUID postId;
+
+    @Column(nullable = false)
+    private double score;
+
+    @Column(nullable = false)
+    private LocalDateTime snapshotAt;
+}
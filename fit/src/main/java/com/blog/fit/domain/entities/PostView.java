@@ -0,0 +1,110 @@
+package com.blog.fit.domain.entities;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.PostStatusConverter;
+import com.blog.fit.domain.PostViewTag;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Read model of a post: everything the read endpoints show about it in one row, with the author,
+ * category and tag names copied in and the comment totals kept up to date. Written only by
+ * {@link com.blog.fit.readmodel.PostViewProjector}, in the same transaction as the change it reflects.
+ */
+@Entity
+@Table(name = "post_view", indexes = {
+        @Index(name = "idx_post_view_author_status", columnList = "author_id, status"),
+        @Index(name = "idx_post_view_category", columnList = "category_id")})
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class PostView implements Persistable<UUID> {
+    // The id of the post
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private String title;
+
+    // Read from the post rather than copied, since only single posts and full listings show it
+    @Formula("(SELECT p.content FROM posts p WHERE p.id = id)")
+    private String content;
+
+    @Column(nullable = false, length = 300)
+    private String excerpt;
+
+    @Convert(converter = PostStatusConverter.class)
+    @Column(nullable = false)
+    private PostStatus status;
+
+    @Column(name = "publish_at")
+    private LocalDateTime publishAt;
+
+    @Column(nullable = false)
+    private Integer readingTime;
+
+    @Column(nullable = false)
+    private Long contentVersion;
+
+    @Column(name = "author_id", nullable = false)
+    private UUID authorId;
+
+    @Column(nullable = false)
+    private String authorName;
+
+    @Column(name = "category_id", nullable = false)
+    private UUID categoryId;
+
+    @Column(nullable = false)
+    private String categoryName;
+
+    // Sorted by name
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false)
+    @Builder.Default
+    private List<PostViewTag> tags = new ArrayList<>();
+
+    @Column(nullable = false)
+    private long commentCount;
+
+    @Column(nullable = false)
+    private long totalCommentLikes;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    private String photo;
+
+    // Rows are created with the id of their post, so whether they exist cannot be told from the id
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+}
@@ -0,0 +1,40 @@
+package com.blog.fit.domain.entities;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Number of views of one post within one UTC hour.
+ */
+@Entity
+@Table(name = "post_view_rollups")
+@IdClass(PostViewRollup.Key.class)
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class PostViewRollup {
+    @Id
+    @Column(name = "post_id")
+    private UUID postId;
+
+    @Id
+    @Column(name = "view_hour")
+    private LocalDateTime viewHour;
+
+    @Column(nullable = false)
+    private long views;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        private UUID postId;
+        private LocalDateTime viewHour;
+    }
+}
@@ -0,0 +1,18 @@
+package com.blog.fit.domain.events;
+
+import java.util.UUID;
+
+import lombok.Value;
+
+@Value
+public class CategoryChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    UUID categoryId;
+    ChangeType changeType;
+}
@@ -0,0 +1,21 @@
+package com.blog.fit.domain.events;
+
+import java.util.UUID;
+
+import lombok.Value;
+
+@Value
+public class CommentChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED,
+        LIKED,
+        UNLIKED
+    }
+
+    UUID commentId;
+    UUID postId;
+    ChangeType changeType;
+}
@@ -0,0 +1,27 @@
+package com.blog.fit.domain.events;
+
+import java.util.Set;
+import java.util.UUID;
+
+import lombok.Value;
+
+/**
+ * Published after a post is created, updated or deleted, or when a scheduled post goes live.
+ * The category and tag ids cover both the state before and after the change,
+ * so listeners can find every listing the post entered or left.
+ */
+@Value
+public class PostChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED,
+        PUBLISHED
+    }
+
+    UUID postId;
+    ChangeType changeType;
+    Set<UUID> categoryIds;
+    Set<UUID> tagIds;
+}
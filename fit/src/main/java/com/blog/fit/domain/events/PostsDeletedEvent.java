@@ -0,0 +1,18 @@
+package com.blog.fit.domain.events;
+
+import java.util.Set;
+import java.util.UUID;
+
+import lombok.Value;
+
+/**
+ * Published once per chunk of a bulk delete, in place of a {@link PostChangedEvent} per post.
+ * The category and tag ids are those the deleted posts carried, so listeners can find every
+ * listing they left.
+ */
+@Value
+public class PostsDeletedEvent {
+    Set<UUID> postIds;
+    Set<UUID> categoryIds;
+    Set<UUID> tagIds;
+}
@@ -0,0 +1,18 @@
+package com.blog.fit.domain.events;
+
+import java.util.UUID;
+
+import lombok.Value;
+
+@Value
+public class TagChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    UUID tagId;
+    ChangeType changeType;
+}
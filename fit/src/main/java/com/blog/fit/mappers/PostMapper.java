@@ -2,14 +2,31 @@ package com.blog.fit.mappers;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 import org.mapstruct.ReportingPolicy;
 
+import java.util.List;
+
+import com.blog.fit.domain.BulkDeleteProgress;
+import com.blog.fit.domain.ContentEdit;
+import com.blog.fit.domain.PostRetagResult;
+import com.blog.fit.domain.PostRevisionContent;
+import com.blog.fit.domain.PostRevisionSummary;
+import com.blog.fit.domain.PostVersion;
+import com.blog.fit.domain.PostViewTag;
+import com.blog.fit.domain.dtos.BulkDeleteProgressDto;
+import com.blog.fit.domain.dtos.ContentEditDto;
 import com.blog.fit.domain.dtos.CreatePostRequest;
 import com.blog.fit.domain.dtos.CreatePostRequestDto;
 import com.blog.fit.domain.dtos.PostDto;
+import com.blog.fit.domain.dtos.PostRevisionContentDto;
+import com.blog.fit.domain.dtos.PostRevisionDto;
+import com.blog.fit.domain.dtos.RetagPostsResponseDto;
+import com.blog.fit.domain.dtos.TagDto;
 import com.blog.fit.domain.dtos.UpdatePostRequest;
 import com.blog.fit.domain.dtos.UpdatePostRequestDto;
 import com.blog.fit.domain.entities.Post;
+import com.blog.fit.domain.entities.PostView;
 
 @Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
 public interface PostMapper {   
@@ -18,10 +35,37 @@ public interface PostMapper {
     @Mapping(target = "category", source = "category")
     @Mapping(target = "tags", source = "tags")
     @Mapping(target = "photo", source = "photo")
+    @Mapping(target = "postStatus", source = "status")
     PostDto toDto(Post post);
 
+    @Mapping(target = "author.id", source = "authorId")
+    @Mapping(target = "author.name", source = "authorName")
+    @Mapping(target = "category.id", source = "categoryId")
+    @Mapping(target = "category.name", source = "categoryName")
+    @Mapping(target = "postStatus", source = "status")
+    PostDto toDto(PostView postView);
+
+    TagDto toTagDto(PostViewTag tag);
+
+    PostVersion toVersion(PostDto postDto);
+
+    // Copies a freshly built read model row onto the stored one
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "content", ignore = true)
+    void updateView(PostView source, @MappingTarget PostView target);
+
     CreatePostRequest toCreatePostRequest(CreatePostRequestDto dto);
 
     UpdatePostRequest toUpdatePostRequest(UpdatePostRequestDto dto);
 
+    List<ContentEdit> toContentEdits(List<ContentEditDto> dtos);
+
+    PostRevisionDto toRevisionDto(PostRevisionSummary revision);
+
+    PostRevisionContentDto toRevisionContentDto(PostRevisionContent revision);
+
+    BulkDeleteProgressDto toBulkDeleteProgressDto(BulkDeleteProgress progress);
+
+    RetagPostsResponseDto toRetagResponseDto(PostRetagResult result);
+
 }
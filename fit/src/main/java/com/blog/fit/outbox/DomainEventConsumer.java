@@ -0,0 +1,12 @@
+package com.blog.fit.outbox;
+
+/**
+ * Receives the domain events recorded in the outbox, on a thread of its own and after the
+ * change has committed. Delivery is at least once, so handling the same event twice must be harmless.
+ */
+public interface DomainEventConsumer {
+
+    String getConsumerName();
+
+    void consume(Object event);
+}
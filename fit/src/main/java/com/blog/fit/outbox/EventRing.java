@@ -0,0 +1,100 @@
+package com.blog.fit.outbox;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded ring of dispatched events with one publisher and several consumers, each reading at its
+ * own cursor. A slot is only reused once every consumer has moved past it and the publisher has
+ * reclaimed it, so the publisher is refused rather than overwriting events still in use.
+ * Sequences start at 1; a cursor holds the last sequence its consumer finished.
+ */
+class EventRing {
+
+    // A null consumer name delivers to every consumer
+    record Dispatched(long outboxId, Object event, String consumerName) {
+    }
+
+    private final Dispatched[] slots;
+    private final int mask;
+    private final AtomicLong[] cursors;
+    private final Object signal = new Object();
+    private volatile long published;
+    // Only touched by the publisher
+    private long reclaimed;
+
+    EventRing(int capacity, int consumers) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Event ring size must be a power of two");
+        }
+        this.slots = new Dispatched[capacity];
+        this.mask = capacity - 1;
+        this.cursors = new AtomicLong[consumers];
+        for (int i = 0; i < consumers; i++) {
+            cursors[i] = new AtomicLong();
+        }
+    }
+
+    /**
+     * Appends an event, or returns false when the ring is full of unreclaimed events.
+     * Must only be called from the publishing thread.
+     */
+    boolean publish(Dispatched event) {
+        long next = published + 1;
+        if (next - reclaimed > slots.length) {
+            return false;
+        }
+        slots[(int) next & mask] = event;
+        published = next;
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+        return true;
+    }
+
+    long published() {
+        return published;
+    }
+
+    Dispatched get(long sequence) {
+        return slots[(int) sequence & mask];
+    }
+
+    long cursor(int consumer) {
+        return cursors[consumer].get();
+    }
+
+    void advance(int consumer, long sequence) {
+        cursors[consumer].set(sequence);
+    }
+
+    /**
+     * Frees the slots up to {@code sequence}, which every consumer must have passed.
+     * Must only be called from the publishing thread.
+     */
+    void reclaim(long sequence) {
+        reclaimed = sequence;
+    }
+
+    long reclaimed() {
+        return reclaimed;
+    }
+
+    long slowestCursor() {
+        long slowest = Long.MAX_VALUE;
+        for (AtomicLong cursor : cursors) {
+            slowest = Math.min(slowest, cursor.get());
+        }
+        return cursors.length == 0 ? published : slowest;
+    }
+
+    /**
+     * Waits until {@code sequence} is published, at most {@code timeoutMillis}.
+     */
+    void awaitPublished(long sequence, long timeoutMillis) throws InterruptedException {
+        synchronized (signal) {
+            if (published < sequence) {
+                signal.wait(timeoutMillis);
+            }
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.blog.fit.outbox;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.blog.fit.domain.entities.OutboxDeadLetter;
+import com.blog.fit.domain.entities.OutboxEvent;
+import com.blog.fit.domain.events.CommentChangedEvent;
+import com.blog.fit.domain.events.PostChangedEvent;
+import com.blog.fit.domain.events.PostsDeletedEvent;
+import com.blog.fit.repositories.OutboxDeadLetterRepository;
+import com.blog.fit.repositories.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves outbox events into an in-memory ring that every {@link DomainEventConsumer} reads on its
+ * own thread, so consumers never hold up the transaction that wrote the event.
+ * Undispatched rows are polled in id order and marked as dispatched; a row is deleted once all
+ * consumers have passed it, and rows that cannot be read are logged and deleted right away.
+ * On startup every remaining row is dispatched again, which makes delivery at least once.
+ * When the slowest consumer is a full ring behind, polling stops and events wait in the table.
+ * An event a consumer still fails on after a few attempts is kept as a dead letter for that
+ * consumer, which moves on; {@link #redrive} puts dead letters back in the outbox for it alone.
+ */
+@Component
+@Slf4j
+public class OutboxDispatcher {
+
+    private static final Map<String, Class<?>> EVENT_TYPES = Map.of(
+            PostChangedEvent.class.getSimpleName(), PostChangedEvent.class,
+            PostsDeletedEvent.class.getSimpleName(), PostsDeletedEvent.class,
+            CommentChangedEvent.class.getSimpleName(), CommentChangedEvent.class);
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final long IDLE_WAIT_MILLIS = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxDeadLetterRepository outboxDeadLetterRepository;
+    private final ObjectMapper objectMapper;
+    private final List<DomainEventConsumer> consumers;
+    private final int batchSize;
+    private final EventRing ring;
+    private final List<Thread> workers = new ArrayList<>();
+    private final Counter failures;
+    private volatile boolean running;
+
+    public OutboxDispatcher(
+            OutboxEventRepository outboxEventRepository,
+            OutboxDeadLetterRepository outboxDeadLetterRepository,
+            ObjectMapper objectMapper,
+            List<DomainEventConsumer> consumers,
+            @Value("${blog.outbox.ring-size:1024}") int ringSize,
+            @Value("${blog.outbox.batch-size:200}") int batchSize,
+            MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxDeadLetterRepository = outboxDeadLetterRepository;
+        this.objectMapper = objectMapper;
+        this.consumers = List.copyOf(consumers);
+        this.batchSize = batchSize;
+        this.ring = new EventRing(ringSize, consumers.size());
+        this.failures = Counter.builder("outbox.consumer.failures")
+                .description("Outbox events a consumer gave up on after retrying and left as dead letters")
+                .register(meterRegistry);
+        for (int i = 0; i < this.consumers.size(); i++) {
+            int consumer = i;
+            Gauge.builder("outbox.consumer.lag", ring, events -> events.published() - events.cursor(consumer))
+                    .tag("consumer", this.consumers.get(i).getConsumerName())
+                    .description("Dispatched events the consumer has not processed yet")
+                    .register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void start() {
+        int redelivered = outboxEventRepository.clearDispatched();
+        if (redelivered > 0) {
+            log.info("Redelivering {} outbox events that were not processed before shutdown", redelivered);
+        }
+        running = true;
+        for (int i = 0; i < consumers.size(); i++) {
+            int consumer = i;
+            Thread worker = Thread.ofPlatform()
+                    .name("outbox-" + consumers.get(i).getConsumerName())
+                    .daemon()
+                    .start(() -> consume(consumer));
+            workers.add(worker);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${blog.outbox.poll-interval:200ms}")
+    @Transactional
+    public void poll() {
+        if (!running) {
+            return;
+        }
+        deleteProcessed();
+
+        List<OutboxEvent> batch = outboxEventRepository.findByDispatchedAtIsNullOrderByIdAsc(Limit.of(batchSize));
+        List<Long> dispatched = new ArrayList<>(batch.size());
+        List<Long> unreadable = new ArrayList<>();
+        for (OutboxEvent row : batch) {
+            Object event = deserialize(row);
+            if (event == null) {
+                unreadable.add(row.getId());
+            } else if (ring.publish(new EventRing.Dispatched(row.getId(), event, row.getConsumerName()))) {
+                dispatched.add(row.getId());
+            } else {
+                break;
+            }
+        }
+        if (!dispatched.isEmpty()) {
+            outboxEventRepository.markDispatched(dispatched, LocalDateTime.now());
+        }
+        if (!unreadable.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(unreadable);
+        }
+    }
+
+    public List<OutboxDeadLetter> getDeadLetters() {
+        return outboxDeadLetterRepository.findAllByOrderByIdAsc();
+    }
+
+    /**
+     * Moves the dead letters of the given consumer, or of every consumer when null, back into the
+     * outbox, addressed to the consumer that failed on them. Returns how many were moved.
+     */
+    @Transactional
+    public int redrive(String consumerName) {
+        List<OutboxDeadLetter> deadLetters = consumerName != null
+                ? outboxDeadLetterRepository.findAllByConsumerNameOrderByIdAsc(consumerName)
+                : outboxDeadLetterRepository.findAllByOrderByIdAsc();
+        LocalDateTime now = LocalDateTime.now();
+        outboxEventRepository.saveAll(deadLetters.stream()
+                .map(deadLetter -> OutboxEvent.builder()
+                        .eventType(deadLetter.getEventType())
+                        .payload(deadLetter.getPayload())
+                        .consumerName(deadLetter.getConsumerName())
+                        .createdAt(now)
+                        .build())
+                .toList());
+        outboxDeadLetterRepository.deleteAllInBatch(deadLetters);
+        return deadLetters.size();
+    }
+
+    public void discardDeadLetter(long id) {
+        outboxDeadLetterRepository.deleteById(id);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+            worker.join(IDLE_WAIT_MILLIS);
+        }
+    }
+
+    private void deleteProcessed() {
+        long processed = ring.slowestCursor();
+        long reclaimed = ring.reclaimed();
+        if (processed <= reclaimed) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>((int) (processed - reclaimed));
+        for (long sequence = reclaimed + 1; sequence <= processed; sequence++) {
+            ids.add(ring.get(sequence).outboxId());
+        }
+        outboxEventRepository.deleteAllByIdInBatch(ids);
+        ring.reclaim(processed);
+    }
+
+    private void consume(int consumer) {
+        DomainEventConsumer target = consumers.get(consumer);
+        while (running) {
+            long next = ring.cursor(consumer) + 1;
+            try {
+                if (next > ring.published()) {
+                    ring.awaitPublished(next, IDLE_WAIT_MILLIS);
+                    continue;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            EventRing.Dispatched dispatched = ring.get(next);
+            if (dispatched.consumerName() == null || dispatched.consumerName().equals(target.getConsumerName())) {
+                deliver(target, dispatched);
+            }
+            ring.advance(consumer, next);
+        }
+    }
+
+    // Gives up after a few attempts so one bad event cannot stall the consumer for good
+    private void deliver(DomainEventConsumer consumer, EventRing.Dispatched dispatched) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                consumer.consume(dispatched.event());
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    failures.increment();
+                    log.error("{} failed to process outbox event {}, keeping it as a dead letter",
+                            consumer.getConsumerName(), dispatched.outboxId(), e);
+                    deadLetter(consumer, dispatched, e);
+                } else {
+                    log.warn("{} failed to process outbox event {}, retrying", consumer.getConsumerName(), dispatched.outboxId(), e);
+                }
+            }
+        }
+    }
+
+    private void deadLetter(DomainEventConsumer consumer, EventRing.Dispatched dispatched, RuntimeException failure) {
+        String error = String.valueOf(failure);
+        try {
+            outboxDeadLetterRepository.save(OutboxDeadLetter.builder()
+                    .consumerName(consumer.getConsumerName())
+                    .eventType(dispatched.event().getClass().getSimpleName())
+                    .payload(objectMapper.writeValueAsString(dispatched.event()))
+                    .error(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error)
+                    .failedAt(LocalDateTime.now())
+                    .build());
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("Could not keep outbox event {} as a dead letter for {}, dropping it",
+                    dispatched.outboxId(), consumer.getConsumerName(), e);
+        }
+    }
+
+    private Object deserialize(OutboxEvent row) {
+        Class<?> type = EVENT_TYPES.get(row.getEventType());
+        if (type == null) {
+            log.error("Skipping outbox event {} of unknown type {}", row.getId(), row.getEventType());
+            return null;
+        }
+        try {
+            return objectMapper.readValue(row.getPayload(), type);
+        } catch (JsonProcessingException e) {
+            log.error("Skipping unreadable outbox event {}", row.getId(), e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.blog.fit.outbox;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.blog.fit.domain.entities.OutboxDeadLetter;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Lets operators inspect outbox dead letters, redrive them once the consumer is fixed, or discard them.
+ */
+@Component
+@Endpoint(id = "outbox")
+@RequiredArgsConstructor
+public class OutboxEndpoint {
+
+    private final OutboxDispatcher outboxDispatcher;
+
+    @ReadOperation
+    public List<OutboxDeadLetter> deadLetters() {
+        return outboxDispatcher.getDeadLetters();
+    }
+
+    // Without a consumer, every dead letter is redriven
+    @WriteOperation
+    public Map<String, Integer> redrive(@Nullable String consumer) {
+        return Map.of("redriven", outboxDispatcher.redrive(consumer));
+    }
+
+    @DeleteOperation
+    public void discard(@Selector long id) {
+        outboxDispatcher.discardDeadLetter(id);
+    }
+}
@@ -0,0 +1,135 @@
+package com.blog.fit.readmodel;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.blog.fit.cache.ContentVersions;
+import com.blog.fit.cache.PostDtoCache;
+import com.blog.fit.cache.PostResponseCache;
+import com.blog.fit.domain.PostCommentTotals;
+import com.blog.fit.repositories.CommentRepository;
+import com.blog.fit.repositories.PostRepository;
+import com.blog.fit.repositories.PostViewRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Recounts the comment totals kept on posts against the comments themselves, so a counter that
+ * drifted (a failed write, a manual fix in the database) does not stay wrong. Posts are walked in
+ * id order {@code blog.posts.comment-totals.chunk-size} at a time; only posts whose totals differ
+ * are recounted, in the database and in one transaction per chunk, and the read model rows of the
+ * chunk are brought in line with the posts. Every post whose totals or row changed is dropped from
+ * the response caches, and the posts collection version is bumped for listings.
+ */
+@Component
+@Slf4j
+public class CommentTotalsReconciler {
+
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final PostViewRepository postViewRepository;
+    private final PostDtoCache postDtoCache;
+    private final PostResponseCache postResponseCache;
+    private final ContentVersions contentVersions;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Counter corrected;
+
+    public CommentTotalsReconciler(
+            PostRepository postRepository,
+            CommentRepository commentRepository,
+            PostViewRepository postViewRepository,
+            PostDtoCache postDtoCache,
+            PostResponseCache postResponseCache,
+            ContentVersions contentVersions,
+            TransactionTemplate transactionTemplate,
+            @Value("${blog.posts.comment-totals.chunk-size:500}") int chunkSize,
+            MeterRegistry meterRegistry) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.postViewRepository = postViewRepository;
+        this.postDtoCache = postDtoCache;
+        this.postResponseCache = postResponseCache;
+        this.contentVersions = contentVersions;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.corrected = Counter.builder("posts.comment-totals.corrected")
+                .description("Posts whose comment totals were recounted after drifting")
+                .register(meterRegistry);
+    }
+
+    // Starts soon after startup, which also fills in the totals of posts created before they were kept
+    @Scheduled(initialDelayString = "${blog.posts.comment-totals.initial-delay:1m}",
+            fixedDelayString = "${blog.posts.comment-totals.reconcile-interval:1h}")
+    public void reconcile() {
+        long started = System.currentTimeMillis();
+        int checked = 0;
+        int fixed = 0;
+        UUID after = FIRST_ID;
+        List<PostCommentTotals> chunk;
+        do {
+            chunk = postRepository.findCommentTotalsAfter(after, Limit.of(chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            checked += chunk.size();
+            fixed += reconcile(chunk);
+            after = chunk.get(chunk.size() - 1).getPostId();
+        } while (chunk.size() == chunkSize);
+        log.info("Checked comment totals of {} posts, recounted {} in {} ms",
+                checked, fixed, System.currentTimeMillis() - started);
+    }
+
+    private int reconcile(List<PostCommentTotals> chunk) {
+        List<UUID> ids = chunk.stream().map(PostCommentTotals::getPostId).toList();
+        Map<UUID, PostCommentTotals> actual = commentRepository.findTotalsByPostIdIn(ids).stream()
+                .collect(Collectors.toMap(PostCommentTotals::getPostId, Function.identity()));
+        List<UUID> drifted = chunk.stream()
+                .filter(stored -> !matches(stored, actual.get(stored.getPostId())))
+                .map(PostCommentTotals::getPostId)
+                .toList();
+        // Recounted rather than set from the totals read above, which comments written since have made stale
+        List<UUID> staleViews = transactionTemplate.execute(status -> {
+            if (!drifted.isEmpty()) {
+                postRepository.recountCommentTotals(drifted);
+            }
+            List<UUID> stale = postViewRepository.findIdsWithStaleCommentTotals(ids);
+            if (!stale.isEmpty()) {
+                postViewRepository.syncCommentTotals(stale);
+            }
+            return stale;
+        });
+        Set<UUID> changed = new HashSet<>(drifted);
+        changed.addAll(staleViews);
+        for (UUID id : changed) {
+            postDtoCache.invalidate(id);
+            postResponseCache.invalidate(id);
+        }
+        if (!changed.isEmpty()) {
+            contentVersions.bump(ContentVersions.Collection.POSTS);
+        }
+        corrected.increment(drifted.size());
+        return drifted.size();
+    }
+
+    private static boolean matches(PostCommentTotals stored, PostCommentTotals actual) {
+        long comments = actual != null ? actual.getCommentCount() : 0;
+        long likes = actual != null ? actual.getTotalCommentLikes() : 0;
+        return stored.getCommentCount() == comments && stored.getTotalCommentLikes() == likes;
+    }
+}
@@ -0,0 +1,214 @@
+package com.blog.fit.readmodel;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.blog.fit.domain.PostCommentTotals;
+import com.blog.fit.domain.PostTagRow;
+import com.blog.fit.domain.PostViewTag;
+import com.blog.fit.domain.entities.Post;
+import com.blog.fit.domain.entities.PostView;
+import com.blog.fit.domain.entities.Tag;
+import com.blog.fit.domain.events.CategoryChangedEvent;
+import com.blog.fit.domain.events.CommentChangedEvent;
+import com.blog.fit.domain.events.PostChangedEvent;
+import com.blog.fit.domain.events.PostsDeletedEvent;
+import com.blog.fit.domain.events.TagChangedEvent;
+import com.blog.fit.mappers.PostMapper;
+import com.blog.fit.repositories.PostRepository;
+import com.blog.fit.repositories.PostViewRepository;
+import com.blog.fit.repositories.TagRepository;
+import com.blog.fit.search.PostSearchIndex;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the post_view read model in step with posts, comments, tags and categories. Changes are
+ * applied just before the transaction that made them commits, so a row is never behind its post
+ * once the change is visible, and a failure here rolls the change back. Changes made outside a
+ * transaction are applied in one of their own. On startup, posts whose row is missing or older
+ * than the post are rebuilt, which covers posts written before the read model existed.
+ */
+@Component
+@Slf4j
+public class PostViewProjector {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int EXCERPT_LENGTH = 280;
+    private static final Comparator<PostViewTag> TAG_ORDER =
+            Comparator.comparing(PostViewTag::getName).thenComparing(PostViewTag::getId);
+
+    private final PostViewRepository postViewRepository;
+    private final PostRepository postRepository;
+    private final TagRepository tagRepository;
+    private final PostMapper postMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    public PostViewProjector(
+            PostViewRepository postViewRepository,
+            PostRepository postRepository,
+            TagRepository tagRepository,
+            PostMapper postMapper,
+            TransactionTemplate transactionTemplate,
+            EntityManager entityManager) {
+        this.postViewRepository = postViewRepository;
+        this.postRepository = postRepository;
+        this.tagRepository = tagRepository;
+        this.postMapper = postMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long started = System.currentTimeMillis();
+        int removed = transactionTemplate.execute(status -> postViewRepository.deleteWithoutPost());
+        List<UUID> ids = postViewRepository.findPostIdsWithoutCurrentView();
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<UUID> batch = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            transactionTemplate.executeWithoutResult(status -> refresh(batch));
+        }
+        log.info("Rebuilt {} and removed {} post read model rows in {} ms",
+                ids.size(), removed, System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (event.getChangeType() == PostChangedEvent.ChangeType.DELETED) {
+                postViewRepository.deleteAllByIdIn(Set.of(event.getPostId()));
+            } else {
+                refresh(Set.of(event.getPostId()));
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onPostsDeleted(PostsDeletedEvent event) {
+        transactionTemplate.executeWithoutResult(status -> postViewRepository.deleteAllByIdIn(event.getPostIds()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        // Edits can change the likes too, so every change recounts the post's totals
+        transactionTemplate.executeWithoutResult(status -> postViewRepository.updateCommentTotals(event.getPostId()));
+    }
+
+    // Tags in use cannot be deleted, so only renames reach existing rows. The name is replaced in
+    // the rows alone, without loading the posts, and each batch of rows is detached once written.
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTagChanged(TagChangedEvent event) {
+        if (event.getChangeType() != TagChangedEvent.ChangeType.UPDATED) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Tag tag = tagRepository.findById(event.getTagId()).orElse(null);
+            if (tag == null) {
+                return;
+            }
+            List<UUID> ids = postRepository.findIdsByTagId(tag.getId());
+            for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+                List<PostView> views = postViewRepository.findAllById(
+                        ids.subList(from, Math.min(from + BATCH_SIZE, ids.size())));
+                for (PostView view : views) {
+                    view.setTags(view.getTags().stream()
+                            .map(viewTag -> viewTag.getId().equals(tag.getId())
+                                    ? new PostViewTag(tag.getId(), tag.getName())
+                                    : viewTag)
+                            .sorted(TAG_ORDER)
+                            .toList());
+                }
+                entityManager.flush();
+                views.forEach(entityManager::detach);
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.getChangeType() != CategoryChangedEvent.ChangeType.UPDATED) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> postViewRepository.updateCategoryName(event.getCategoryId()));
+    }
+
+    /**
+     * Rebuilds the rows of the given posts from the tables they are read from, and removes the rows
+     * of posts that no longer exist. Must run inside a transaction.
+     */
+    void refresh(Collection<UUID> postIds) {
+        Map<UUID, PostView> stored = postViewRepository.findAllById(postIds).stream()
+                .collect(Collectors.toMap(PostView::getId, Function.identity()));
+        // Tags are read from the join table, which bulk retagging writes without touching the post
+        Map<UUID, List<PostViewTag>> tags = postRepository.findTagRowsByPostIdIn(postIds).stream()
+                .collect(Collectors.groupingBy(PostTagRow::getPostId, Collectors.mapping(
+                        row -> new PostViewTag(row.getTagId(), row.getTagName()), Collectors.toList())));
+        // Read from the table rather than the entity, which misses increments made since it was loaded
+        Map<UUID, PostCommentTotals> commentTotals = postRepository.findCommentTotalsByIdIn(postIds).stream()
+                .collect(Collectors.toMap(PostCommentTotals::getPostId, Function.identity()));
+
+        Set<UUID> missing = new HashSet<>(postIds);
+        for (Post post : postRepository.findAllWithAuthorAndCategoryByIdIn(postIds)) {
+            missing.remove(post.getId());
+            PostCommentTotals totals = commentTotals.get(post.getId());
+            List<PostViewTag> postTags = tags.getOrDefault(post.getId(), List.of()).stream()
+                    .sorted(TAG_ORDER)
+                    .toList();
+            PostView view = PostView.builder()
+                    .id(post.getId())
+                    .title(post.getTitle())
+                    .excerpt(excerpt(post.getContent()))
+                    .status(post.getStatus())
+                    .publishAt(post.getPublishAt())
+                    .readingTime(post.getReadingTime())
+                    .contentVersion(post.getContentVersion())
+                    .authorId(post.getAuthor().getId())
+                    .authorName(post.getAuthor().getName())
+                    .categoryId(post.getCategory().getId())
+                    .categoryName(post.getCategory().getName())
+                    .tags(postTags)
+                    .commentCount(totals != null ? totals.getCommentCount() : 0)
+                    .totalCommentLikes(totals != null ? totals.getTotalCommentLikes() : 0)
+                    .createdAt(post.getCreatedAt())
+                    .updatedAt(post.getUpdatedAt())
+                    .photo(post.getPhoto())
+                    .build();
+
+            PostView existing = stored.get(post.getId());
+            if (existing != null) {
+                postMapper.updateView(view, existing);
+            } else {
+                postViewRepository.save(view);
+            }
+        }
+        if (!missing.isEmpty()) {
+            postViewRepository.deleteAllByIdIn(missing);
+        }
+    }
+
+    // The start of the content as plain text, stripped like the search index does, cut at a word boundary
+    static String excerpt(String content) {
+        String text = PostSearchIndex.stripHtml(content);
+        if (text.length() <= EXCERPT_LENGTH) {
+            return text;
+        }
+        int end = text.lastIndexOf(' ', EXCERPT_LENGTH);
+        return text.substring(0, end > 0 ? end : EXCERPT_LENGTH) + "…";
+    }
+}
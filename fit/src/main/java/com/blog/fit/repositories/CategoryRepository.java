@@ -1,19 +1,43 @@
 package com.blog.fit.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.blog.fit.domain.NamedPostCount;
 import com.blog.fit.domain.entities.Category;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, UUID> {
     
     @Query("SELECT c FROM Category c LEFT JOIN c.posts")
     List<Category> findAllWithPostCount();
 
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = "reference-queries")
+    })
+    List<Category> findAllByOrderByNameAsc();
+
+    @Query("SELECT new com.blog.fit.domain.NamedPostCount(c.id, c.name, COUNT(p)) FROM Category c "
+            + "LEFT JOIN c.posts p ON p.status = com.blog.fit.domain.PostStatus.PUBLISHED GROUP BY c.id, c.name")
+    List<NamedPostCount> findAllPublishedPostCounts();
+
+    @Query("SELECT new com.blog.fit.domain.NamedPostCount(c.id, c.name, COUNT(p)) FROM Category c "
+            + "LEFT JOIN c.posts p ON p.status = com.blog.fit.domain.PostStatus.PUBLISHED "
+            + "WHERE c.id IN :ids GROUP BY c.id, c.name")
+    List<NamedPostCount> findPublishedPostCountsByIdIn(Collection<UUID> ids);
+
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = "reference-queries")
+    })
     boolean existsByNameIgnoreCase(String name);
 }
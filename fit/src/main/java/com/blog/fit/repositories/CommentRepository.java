@@ -1,18 +1,21 @@
 package com.blog.fit.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.blog.fit.domain.PostCommentTotals;
 import com.blog.fit.domain.entities.Comment;
 import com.blog.fit.domain.entities.Post;
 import com.blog.fit.domain.entities.User;
 
 @Repository
-public interface CommentRepository extends JpaRepository<Comment, UUID> {
+public interface CommentRepository extends JpaRepository<Comment, UUID>, CommentRepositoryCustom {
     
     List<Comment> findAllByOrderByCreatedAtDesc();
     
@@ -20,6 +23,21 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
     
     List<Comment> findAllByUserOrderByCreatedAtDesc(User user);
     
-    @Query("SELECT COUNT(c) FROM Comment c WHERE c.post = :post")
-    Long countCommentsByPost(Post post);
+    @Query("SELECT new com.blog.fit.domain.PostCommentTotals(c.post.id, COUNT(c), COALESCE(SUM(c.likes), 0L)) "
+            + "FROM Comment c WHERE c.post.id IN :postIds GROUP BY c.post.id")
+    List<PostCommentTotals> findTotalsByPostIdIn(Collection<UUID> postIds);
+
+    // In the row itself, so concurrent likes cannot overwrite each other; cleared so the comment is read again
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Comment c SET c.likes = c.likes + 1 WHERE c.id = :id")
+    int incrementLikes(UUID id);
+
+    // Matches no row once the likes are down to zero
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Comment c SET c.likes = c.likes - 1 WHERE c.id = :id AND c.likes > 0")
+    int decrementLikes(UUID id);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.post.id IN :postIds")
+    int deleteAllByPostIdIn(Collection<UUID> postIds);
 }
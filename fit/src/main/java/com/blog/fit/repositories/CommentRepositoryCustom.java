@@ -0,0 +1,18 @@
+package com.blog.fit.repositories;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import com.blog.fit.domain.CommentField;
+
+import jakarta.persistence.Tuple;
+
+public interface CommentRepositoryCustom {
+    /**
+     * Reads only the columns behind the given fields, newest first, joining the user only when asked for.
+     * Every tuple has the comment id under "id"; scalar fields are aliased by their JSON name and the
+     * user as "userId"/"userName". Null filters match every comment.
+     */
+    List<Tuple> findFields(Set<CommentField> fields, UUID commentId, UUID postId, UUID userId);
+}
@@ -0,0 +1,66 @@
+package com.blog.fit.repositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import com.blog.fit.domain.CommentField;
+import com.blog.fit.domain.entities.Comment;
+import com.blog.fit.domain.entities.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+public class CommentRepositoryCustomImpl implements CommentRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Tuple> findFields(Set<CommentField> fields, UUID commentId, UUID postId, UUID userId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Comment> comment = query.from(Comment.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(comment.get("id").alias("id"));
+        for (CommentField field : fields) {
+            switch (field) {
+                case ID -> {
+                }
+                case USER -> {
+                    Join<Comment, User> user = comment.join("user");
+                    selections.add(user.get("id").alias("userId"));
+                    selections.add(user.get("name").alias("userName"));
+                }
+                // The foreign key column, without a join to the post
+                case POST_ID -> selections.add(comment.get("post").get("id").alias("postId"));
+                default -> selections.add(comment.get(field.getName()).alias(field.getName()));
+            }
+        }
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (commentId != null) {
+            predicates.add(cb.equal(comment.get("id"), commentId));
+        }
+        if (postId != null) {
+            predicates.add(cb.equal(comment.get("post").get("id"), postId));
+        }
+        if (userId != null) {
+            predicates.add(cb.equal(comment.get("user").get("id"), userId));
+        }
+
+        query.multiselect(selections)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(comment.get("createdAt")));
+        return entityManager.createQuery(query).getResultList();
+    }
+}
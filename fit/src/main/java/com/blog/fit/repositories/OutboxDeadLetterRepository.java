@@ -0,0 +1,16 @@
+package com.blog.fit.repositories;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.blog.fit.domain.entities.OutboxDeadLetter;
+
+@Repository
+public interface OutboxDeadLetterRepository extends JpaRepository<OutboxDeadLetter, Long> {
+
+    List<OutboxDeadLetter> findAllByOrderByIdAsc();
+
+    List<OutboxDeadLetter> findAllByConsumerNameOrderByIdAsc(String consumerName);
+}
@@ -0,0 +1,27 @@
+package com.blog.fit.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.blog.fit.domain.entities.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    List<OutboxEvent> findByDispatchedAtIsNullOrderByIdAsc(Limit limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.dispatchedAt = :dispatchedAt WHERE e.id IN :ids")
+    int markDispatched(Collection<Long> ids, LocalDateTime dispatchedAt);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.dispatchedAt = NULL WHERE e.dispatchedAt IS NOT NULL")
+    int clearDispatched();
+}
@@ -1,24 +1,178 @@
 package com.blog.fit.repositories;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.blog.fit.domain.PostCommentTotals;
+import com.blog.fit.domain.PostContentState;
+import com.blog.fit.domain.PostFilterRow;
 import com.blog.fit.domain.PostStatus;
-import com.blog.fit.domain.entities.Category;
+import com.blog.fit.domain.PostTagRow;
+import com.blog.fit.domain.PostTitle;
+import com.blog.fit.domain.PostVersion;
+import com.blog.fit.domain.ScheduledPost;
 import com.blog.fit.domain.entities.Post;
-import com.blog.fit.domain.entities.Tag;
-import com.blog.fit.domain.entities.User;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface PostRepository extends JpaRepository<Post, UUID> {
-    List<Post> findAllByStatusAndCategoryAndTagsContaining(PostStatus status, Category categoryId, Tag tagId);
-    List<Post> findAllByStatusAndCategory(PostStatus status, Category category);
-    List<Post> findAllByStatusAndTagsContaining(PostStatus status, Tag tagId);
-    List<Post> findAllByStatus(PostStatus status);
-    List<Post> findAllByAuthorAndStatus(User author, PostStatus status);
+public interface PostRepository extends JpaRepository<Post, UUID>, PostRepositoryCustom {
     Optional<Post> findById(UUID postId);
+
+    @Query("SELECT DISTINCT p FROM Post p JOIN FETCH p.author JOIN FETCH p.category LEFT JOIN FETCH p.tags WHERE p.id IN :ids")
+    List<Post> findAllWithAssociationsByIdIn(Collection<UUID> ids);
+
+    @Query("SELECT p.updatedAt FROM Post p WHERE p.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(UUID id);
+
+    // Holds the post row until the transaction ends, so writers of the same post take turns
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id FROM Post p WHERE p.id = :id")
+    Optional<UUID> lockById(UUID id);
+
+    @Query("SELECT new com.blog.fit.domain.PostVersion(p.updatedAt, p.commentCount, p.totalCommentLikes) "
+            + "FROM Post p WHERE p.id = :id")
+    Optional<PostVersion> findVersionById(UUID id);
+
+    @Query("SELECT p.id FROM Post p WHERE p.updatedAt >= :since ORDER BY p.updatedAt, p.id")
+    List<UUID> findIdsUpdatedSince(LocalDateTime since);
+
+    long countByStatus(PostStatus status);
+
+    @Query("SELECT new com.blog.fit.domain.PostTitle(p.id, p.title, p.status, p.createdAt) FROM Post p WHERE p.id = :id")
+    Optional<PostTitle> findTitleById(UUID id);
+
+    @Query("SELECT new com.blog.fit.domain.PostTitle(p.id, p.title, p.status, p.createdAt) FROM Post p WHERE p.author.id = :authorId")
+    List<PostTitle> findTitlesByAuthorId(UUID authorId);
+
+    @Query("SELECT new com.blog.fit.domain.PostTitle(p.id, p.title, p.status, p.createdAt) FROM Post p WHERE p.status = :status")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<PostTitle> streamTitlesByStatus(PostStatus status);
+
+    @Query("SELECT new com.blog.fit.domain.PostFilterRow(p.id, p.status, p.category.id, p.createdAt, t.id) "
+            + "FROM Post p LEFT JOIN p.tags t ORDER BY p.createdAt, p.id")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<PostFilterRow> streamFilterRows();
+
+    @Query("SELECT new com.blog.fit.domain.PostFilterRow(p.id, p.status, p.category.id, p.createdAt, t.id) "
+            + "FROM Post p LEFT JOIN p.tags t WHERE p.id = :id")
+    List<PostFilterRow> findFilterRowsById(UUID id);
+
+    @Query("SELECT new com.blog.fit.domain.ScheduledPost(p.id, p.publishAt) FROM Post p "
+            + "WHERE p.status = com.blog.fit.domain.PostStatus.SCHEDULED AND p.publishAt < :before ORDER BY p.publishAt")
+    List<ScheduledPost> findScheduledBefore(LocalDateTime before);
+
+    /**
+     * Publishes the post if it is still scheduled and due; only one caller ever gets 1 back. The
+     * post is dated from its publication, so it sorts among the posts published around it.
+     */
+    @Modifying
+    @Query("UPDATE Post p SET p.status = com.blog.fit.domain.PostStatus.PUBLISHED, p.publishAt = NULL, "
+            + "p.createdAt = :now, p.updatedAt = :now "
+            + "WHERE p.id = :id AND p.status = com.blog.fit.domain.PostStatus.SCHEDULED AND p.publishAt <= :now")
+    int publishIfDue(UUID id, LocalDateTime now);
+
+    @Query("SELECT new com.blog.fit.domain.PostContentState(p.id, p.author.id, p.title, p.content, p.contentVersion) FROM Post p WHERE p.id = :id")
+    Optional<PostContentState> findContentStateById(UUID id);
+
+    /**
+     * Replaces the content only if nobody changed it since {@code expectedVersion}.
+     */
+    @Modifying
+    @Query("UPDATE Post p SET p.content = :content, p.readingTime = :readingTime, p.contentVersion = :version, p.updatedAt = :now "
+            + "WHERE p.id = :id AND p.contentVersion = :expectedVersion")
+    int updateContentIfVersion(UUID id, String content, int readingTime, long version, long expectedVersion, LocalDateTime now);
+
+    @Query("SELECT p.author.id FROM Post p WHERE p.id = :id")
+    Optional<UUID> findAuthorIdById(UUID id);
+
+    @Query("SELECT p.id FROM Post p WHERE p.author.id = :authorId AND p.id IN :ids")
+    List<UUID> findIdsByAuthorIdAndIdIn(UUID authorId, Collection<UUID> ids);
+
+    @Query("SELECT new com.blog.fit.domain.PostFilterRow(p.id, p.status, p.category.id, p.createdAt, t.id) "
+            + "FROM Post p LEFT JOIN p.tags t WHERE p.id IN :ids")
+    List<PostFilterRow> findFilterRowsByIdIn(Collection<UUID> ids);
+
+    // The join table has no entity, so its rows are removed natively before the posts
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_tags"))
+    @Query(value = "DELETE FROM post_tags WHERE post_id IN (:postIds)", nativeQuery = true)
+    int deleteTagLinksByPostIdIn(Collection<UUID> postIds);
+
+    @Query("SELECT new com.blog.fit.domain.PostTagRow(p.id, t.id, t.name) FROM Post p JOIN p.tags t WHERE p.id IN :postIds")
+    List<PostTagRow> findTagRowsByPostIdIn(Collection<UUID> postIds);
+
+    @Query("SELECT p FROM Post p JOIN FETCH p.author JOIN FETCH p.category WHERE p.id IN :ids")
+    List<Post> findAllWithAuthorAndCategoryByIdIn(Collection<UUID> ids);
+
+    @Query("SELECT p.id FROM Post p JOIN p.tags t WHERE t.id = :tagId")
+    List<UUID> findIdsByTagId(UUID tagId);
+
+    @Query("SELECT p.commentCount FROM Post p WHERE p.id = :id")
+    Optional<Long> findCommentCountById(UUID id);
+
+    @Query("SELECT new com.blog.fit.domain.PostCommentTotals(p.id, p.commentCount, p.totalCommentLikes) "
+            + "FROM Post p WHERE p.id IN :ids")
+    List<PostCommentTotals> findCommentTotalsByIdIn(Collection<UUID> ids);
+
+    @Query("SELECT new com.blog.fit.domain.PostCommentTotals(p.id, p.commentCount, p.totalCommentLikes) "
+            + "FROM Post p WHERE p.id > :after ORDER BY p.id")
+    List<PostCommentTotals> findCommentTotalsAfter(UUID after, Limit limit);
+
+    // Relative to the stored values, so concurrent comments and likes cannot overwrite each other
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + :comments, "
+            + "p.totalCommentLikes = p.totalCommentLikes + :likes WHERE p.id = :id")
+    int addCommentTotals(UUID id, long comments, long likes);
+
+    @Modifying
+    @Query("UPDATE Post p SET "
+            + "p.commentCount = (SELECT COUNT(c) FROM Comment c WHERE c.post.id = p.id), "
+            + "p.totalCommentLikes = (SELECT COALESCE(SUM(c.likes), 0L) FROM Comment c WHERE c.post.id = p.id) "
+            + "WHERE p.id IN :ids")
+    int recountCommentTotals(Collection<UUID> ids);
+
+    @Query("SELECT t.id FROM Post p JOIN p.tags t WHERE p.id = :id")
+    Set<UUID> findTagIdsById(UUID id);
+
+    /**
+     * Links every given post to every given tag it is not linked to yet. Tag ids that do not exist are skipped.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_tags"))
+    @Query(value = "INSERT INTO post_tags (post_id, tag_id) SELECT p.id, t.id FROM posts p CROSS JOIN tags t "
+            + "WHERE p.id IN (:postIds) AND t.id IN (:tagIds) "
+            + "AND NOT EXISTS (SELECT 1 FROM post_tags pt WHERE pt.post_id = p.id AND pt.tag_id = t.id)", nativeQuery = true)
+    int insertTagLinks(Collection<UUID> postIds, Collection<UUID> tagIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_tags"))
+    @Query(value = "DELETE FROM post_tags WHERE post_id IN (:postIds) AND tag_id IN (:tagIds)", nativeQuery = true)
+    int deleteTagLinks(Collection<UUID> postIds, Collection<UUID> tagIds);
+
+    @Query("SELECT p.id FROM Post p JOIN p.tags t WHERE p.id IN :postIds GROUP BY p.id HAVING COUNT(t) > :maxTags")
+    List<UUID> findIdsWithMoreTagsThan(Collection<UUID> postIds, long maxTags);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.updatedAt = :updatedAt WHERE p.id IN :ids")
+    int setUpdatedAtByIdIn(Collection<UUID> ids, LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("DELETE FROM Post p WHERE p.id IN :ids")
+    int deleteAllByIdIn(Collection<UUID> ids);
 }
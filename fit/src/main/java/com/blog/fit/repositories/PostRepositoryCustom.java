@@ -0,0 +1,16 @@
+package com.blog.fit.repositories;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.blog.fit.domain.PostCursor;
+import com.blog.fit.domain.PostStatus;
+
+public interface PostRepositoryCustom {
+    List<PostCursor> findPublishedKeys(UUID categoryId, UUID tagId, PostCursor after, Integer limit);
+
+    /**
+     * Ids of the author's posts matching every given filter; null filters match everything.
+     */
+    List<UUID> findIdsByAuthor(UUID authorId, UUID categoryId, UUID tagId, PostStatus status);
+}
@@ -0,0 +1,87 @@
+package com.blog.fit.repositories;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.blog.fit.domain.PostCursor;
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.entities.Post;
+import com.blog.fit.domain.entities.Tag;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class PostRepositoryCustomImpl implements PostRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PostCursor> findPublishedKeys(UUID categoryId, UUID tagId, PostCursor after, Integer limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Post> post = query.from(Post.class);
+        Path<UUID> id = post.get("id");
+        Path<LocalDateTime> createdAt = post.get("createdAt");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(post.get("status"), PostStatus.PUBLISHED));
+        if (categoryId != null) {
+            predicates.add(cb.equal(post.get("category").get("id"), categoryId));
+        }
+        if (tagId != null) {
+            Join<Post, Tag> tags = post.join("tags");
+            predicates.add(cb.equal(tags.get("id"), tagId));
+        }
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(createdAt, after.getCreatedAt()),
+                    cb.and(cb.equal(createdAt, after.getCreatedAt()), cb.lessThan(id, after.getId()))));
+        }
+
+        query.multiselect(id, createdAt)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(createdAt), cb.desc(id));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (limit != null) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList().stream()
+                .map(row -> new PostCursor(row.get(createdAt), row.get(id)))
+                .toList();
+    }
+
+    @Override
+    public List<UUID> findIdsByAuthor(UUID authorId, UUID categoryId, UUID tagId, PostStatus status) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UUID> query = cb.createQuery(UUID.class);
+        Root<Post> post = query.from(Post.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(post.get("author").get("id"), authorId));
+        if (categoryId != null) {
+            predicates.add(cb.equal(post.get("category").get("id"), categoryId));
+        }
+        if (tagId != null) {
+            Join<Post, Tag> tags = post.join("tags");
+            predicates.add(cb.equal(tags.get("id"), tagId));
+        }
+        if (status != null) {
+            predicates.add(cb.equal(post.get("status"), status));
+        }
+
+        query.select(post.get("id")).where(predicates.toArray(Predicate[]::new));
+        return entityManager.createQuery(query).getResultList();
+    }
+}
@@ -0,0 +1,35 @@
+package com.blog.fit.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.blog.fit.domain.PostRevisionSummary;
+import com.blog.fit.domain.entities.PostRevision;
+
+@Repository
+public interface PostRevisionRepository extends JpaRepository<PostRevision, Long> {
+
+    @Query("SELECT new com.blog.fit.domain.PostRevisionSummary(r.revisionNumber, r.title, r.snapshot, r.contentLength, r.checksum, r.createdAt) "
+            + "FROM PostRevision r WHERE r.postId = :postId ORDER BY r.revisionNumber DESC")
+    List<PostRevisionSummary> findSummariesByPostId(UUID postId);
+
+    Optional<PostRevisionSummary> findFirstByPostIdOrderByRevisionNumberDesc(UUID postId);
+
+    // The snapshot a revision is rebuilt from
+    @Query("SELECT MAX(r.revisionNumber) FROM PostRevision r "
+            + "WHERE r.postId = :postId AND r.snapshot = true AND r.revisionNumber <= :revisionNumber")
+    Optional<Integer> findSnapshotNumber(UUID postId, int revisionNumber);
+
+    List<PostRevision> findByPostIdAndRevisionNumberBetweenOrderByRevisionNumberAsc(UUID postId, int from, int to);
+
+    @Modifying
+    @Query("DELETE FROM PostRevision r WHERE r.postId IN :postIds")
+    int deleteAllByPostIdIn(Collection<UUID> postIds);
+}
@@ -0,0 +1,12 @@
+package com.blog.fit.repositories;
+
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.blog.fit.domain.entities.PostTrendingScore;
+
+@Repository
+public interface PostTrendingScoreRepository extends JpaRepository<PostTrendingScore, UUID> {
+}
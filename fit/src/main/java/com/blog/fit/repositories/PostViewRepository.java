@@ -0,0 +1,55 @@
+package com.blog.fit.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.entities.PostView;
+
+@Repository
+public interface PostViewRepository extends JpaRepository<PostView, UUID>, PostViewRepositoryCustom {
+    List<PostView> findAllByAuthorIdAndStatus(UUID authorId, PostStatus status);
+
+    @Modifying
+    @Query("DELETE FROM PostView v WHERE v.id IN :ids")
+    int deleteAllByIdIn(Collection<UUID> ids);
+
+    @Modifying
+    @Query("UPDATE PostView v SET "
+            + "v.commentCount = (SELECT p.commentCount FROM Post p WHERE p.id = :postId), "
+            + "v.totalCommentLikes = (SELECT p.totalCommentLikes FROM Post p WHERE p.id = :postId) "
+            + "WHERE v.id = :postId")
+    int updateCommentTotals(UUID postId);
+
+    @Query("SELECT v.id FROM PostView v JOIN Post p ON p.id = v.id WHERE v.id IN :ids "
+            + "AND (p.commentCount <> v.commentCount OR p.totalCommentLikes <> v.totalCommentLikes)")
+    List<UUID> findIdsWithStaleCommentTotals(Collection<UUID> ids);
+
+    @Modifying
+    @Query("UPDATE PostView v SET "
+            + "v.commentCount = (SELECT p.commentCount FROM Post p WHERE p.id = v.id), "
+            + "v.totalCommentLikes = (SELECT p.totalCommentLikes FROM Post p WHERE p.id = v.id) "
+            + "WHERE v.id IN :ids AND EXISTS (SELECT p.id FROM Post p WHERE p.id = v.id "
+            + "AND (p.commentCount <> v.commentCount OR p.totalCommentLikes <> v.totalCommentLikes))")
+    int syncCommentTotals(Collection<UUID> ids);
+
+    @Modifying
+    @Query("UPDATE PostView v SET v.categoryName = (SELECT c.name FROM Category c WHERE c.id = :categoryId) "
+            + "WHERE v.categoryId = :categoryId")
+    int updateCategoryName(UUID categoryId);
+
+    // Posts written without going through the projector, e.g. before the read model existed
+    @Query("SELECT p.id FROM Post p WHERE NOT EXISTS "
+            + "(SELECT v.id FROM PostView v WHERE v.id = p.id AND v.updatedAt = p.updatedAt)")
+    List<UUID> findPostIdsWithoutCurrentView();
+
+    @Modifying
+    @Query("DELETE FROM PostView v WHERE NOT EXISTS (SELECT p.id FROM Post p WHERE p.id = v.id)")
+    int deleteWithoutPost();
+}
@@ -0,0 +1,19 @@
+package com.blog.fit.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import com.blog.fit.domain.PostField;
+
+import jakarta.persistence.Tuple;
+
+public interface PostViewRepositoryCustom {
+    /**
+     * Reads only the columns behind the given fields from the read model.
+     * Every tuple has the post id under "id"; scalar fields and the tags are aliased by their JSON name,
+     * the author and category as "authorId"/"authorName" and "categoryId"/"categoryName".
+     */
+    List<Tuple> findFieldsByIdIn(Collection<UUID> ids, Set<PostField> fields);
+}
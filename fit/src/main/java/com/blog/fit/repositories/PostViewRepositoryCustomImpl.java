@@ -0,0 +1,52 @@
+package com.blog.fit.repositories;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import com.blog.fit.domain.PostField;
+import com.blog.fit.domain.entities.PostView;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+public class PostViewRepositoryCustomImpl implements PostViewRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Tuple> findFieldsByIdIn(Collection<UUID> ids, Set<PostField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<PostView> post = query.from(PostView.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(post.get("id").alias("id"));
+        for (PostField field : fields) {
+            switch (field) {
+                case ID -> {
+                }
+                case AUTHOR -> {
+                    selections.add(post.get("authorId").alias("authorId"));
+                    selections.add(post.get("authorName").alias("authorName"));
+                }
+                case CATEGORY -> {
+                    selections.add(post.get("categoryId").alias("categoryId"));
+                    selections.add(post.get("categoryName").alias("categoryName"));
+                }
+                default -> selections.add(post.get(field.getAttribute()).alias(field.getName()));
+            }
+        }
+
+        query.multiselect(selections).where(post.get("id").in(ids));
+        return entityManager.createQuery(query).getResultList();
+    }
+}
@@ -0,0 +1,21 @@
+package com.blog.fit.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.blog.fit.domain.PostViewCount;
+import com.blog.fit.domain.entities.PostViewRollup;
+
+@Repository
+public interface PostViewRollupRepository extends JpaRepository<PostViewRollup, PostViewRollup.Key> {
+
+    @Query("SELECT new com.blog.fit.domain.PostViewCount(r.postId, r.viewHour, r.views) FROM PostViewRollup r "
+            + "WHERE r.postId IN :postIds AND r.viewHour >= :from AND r.viewHour < :to ORDER BY r.viewHour")
+    List<PostViewCount> findViewCounts(Collection<UUID> postIds, LocalDateTime from, LocalDateTime to);
+}
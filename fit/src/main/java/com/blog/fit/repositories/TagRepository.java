@@ -1,20 +1,51 @@
 package com.blog.fit.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.blog.fit.domain.NamedPostCount;
 import com.blog.fit.domain.entities.Tag;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface TagRepository extends JpaRepository<Tag, UUID> {
     
     @Query("SELECT t FROM Tag t LEFT JOIN FETCH t.posts")
     List<Tag> findAllWithPostCount();
 
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = "reference-queries")
+    })
+    List<Tag> findAllByOrderByNameAsc();
+
+    @Query("SELECT new com.blog.fit.domain.NamedPostCount(t.id, t.name, COUNT(p)) FROM Tag t "
+            + "LEFT JOIN t.posts p ON p.status = com.blog.fit.domain.PostStatus.PUBLISHED GROUP BY t.id, t.name")
+    List<NamedPostCount> findAllPublishedPostCounts();
+
+    @Query("SELECT new com.blog.fit.domain.NamedPostCount(t.id, t.name, COUNT(p)) FROM Tag t "
+            + "LEFT JOIN t.posts p ON p.status = com.blog.fit.domain.PostStatus.PUBLISHED "
+            + "WHERE t.id IN :ids GROUP BY t.id, t.name")
+    List<NamedPostCount> findPublishedPostCountsByIdIn(Collection<UUID> ids);
+
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = "reference-queries")
+    })
     Optional<Tag> findByName(String name);
+
+    @Override
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = "reference-queries")
+    })
+    List<Tag> findAllById(Iterable<UUID> ids);
 }
@@ -0,0 +1,170 @@
+package com.blog.fit.revisions;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Deflated encodings of post content: whole snapshots, and deltas that rebuild a new version from
+ * the previous one. A delta is a list of "copy a range of the old text" and "insert this text"
+ * operations on UTF-16 chars, so its size follows the size of the edit rather than of the post.
+ * Matches are found by indexing the old text in fixed blocks and extending every block match in
+ * both directions, the way rsync and xdelta do.
+ */
+public final class ContentDelta {
+
+    private static final int BLOCK = 16;
+    private static final byte COPY = 0;
+    private static final byte INSERT = 1;
+    private static final byte END = 2;
+
+    private ContentDelta() {
+    }
+
+    public static byte[] snapshot(String content) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static String restore(byte[] snapshot) {
+        try (InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(snapshot))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static byte[] diff(String base, String target) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            new Encoder(base, target, out).encode();
+            out.writeByte(END);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static String apply(String base, byte[] delta) {
+        StringBuilder target = new StringBuilder();
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(delta)))) {
+            for (byte op = in.readByte(); op != END; op = in.readByte()) {
+                if (op == COPY) {
+                    int offset = in.readInt();
+                    target.append(base, offset, offset + in.readInt());
+                } else {
+                    for (int length = in.readInt(); length > 0; length--) {
+                        target.append(in.readChar());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return target.toString();
+    }
+
+    private static final class Encoder {
+
+        private final String base;
+        private final String target;
+        private final DataOutputStream out;
+        // Offset of the first block of the base text with a given hash
+        private final Map<Integer, Integer> blocks = new HashMap<>();
+        // Start of the target text not yet covered by an operation
+        private int pending;
+
+        Encoder(String base, String target, DataOutputStream out) {
+            this.base = base;
+            this.target = target;
+            this.out = out;
+        }
+
+        void encode() throws IOException {
+            // Most edits touch one region, so the shared start and end are copied without a lookup
+            int prefix = 0;
+            int limit = Math.min(base.length(), target.length());
+            while (prefix < limit && base.charAt(prefix) == target.charAt(prefix)) {
+                prefix++;
+            }
+            int suffix = 0;
+            while (suffix < limit - prefix
+                    && base.charAt(base.length() - 1 - suffix) == target.charAt(target.length() - 1 - suffix)) {
+                suffix++;
+            }
+            copy(0, prefix);
+            pending = prefix;
+
+            int baseEnd = base.length() - suffix;
+            int targetEnd = target.length() - suffix;
+            for (int offset = prefix; offset + BLOCK <= baseEnd; offset += BLOCK) {
+                blocks.putIfAbsent(hash(base, offset), offset);
+            }
+            int position = prefix;
+            while (position + BLOCK <= targetEnd) {
+                Integer match = blocks.get(hash(target, position));
+                if (match == null || !base.regionMatches(match, target, position, BLOCK)) {
+                    position++;
+                    continue;
+                }
+                int start = match;
+                int end = match + BLOCK;
+                int targetStart = position;
+                while (start > prefix && targetStart > pending && base.charAt(start - 1) == target.charAt(targetStart - 1)) {
+                    start--;
+                    targetStart--;
+                }
+                while (end < baseEnd && position + (end - match) < targetEnd
+                        && base.charAt(end) == target.charAt(position + (end - match))) {
+                    end++;
+                }
+                insert(targetStart);
+                copy(start, end - start);
+                position += end - match;
+                pending = position;
+            }
+            insert(targetEnd);
+            copy(baseEnd, suffix);
+        }
+
+        private void copy(int offset, int length) throws IOException {
+            if (length > 0) {
+                out.writeByte(COPY);
+                out.writeInt(offset);
+                out.writeInt(length);
+            }
+        }
+
+        // Emits the target text from the pending position up to end. Written as UTF-16 chars, since
+        // operation boundaries may split a surrogate pair
+        private void insert(int end) throws IOException {
+            if (end > pending) {
+                out.writeByte(INSERT);
+                out.writeInt(end - pending);
+                out.writeChars(target.substring(pending, end));
+                pending = end;
+            }
+        }
+
+        private static int hash(String text, int offset) {
+            int hash = 0;
+            for (int i = offset; i < offset + BLOCK; i++) {
+                hash = 31 * hash + text.charAt(i);
+            }
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.blog.fit.scheduling;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.blog.fit.domain.PostFilterRow;
+import com.blog.fit.domain.ScheduledPost;
+import com.blog.fit.domain.events.PostChangedEvent;
+import com.blog.fit.repositories.PostRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publishes SCHEDULED posts when their {@code publishAt} comes. Schedules due within the preload
+ * window are held in a timing wheel, filled from the (status, publish_at) index at startup and on
+ * every reload, so waiting schedules cost no queries.
+ * A post is published by a conditional update that only matches while it is still scheduled and
+ * due, and its change event is written in the same transaction. However often a schedule fires,
+ * on however many instances, the post goes live and its event is delivered once; a schedule that
+ * was moved, cancelled or rolled back just fires without effect.
+ */
+@Component
+@Slf4j
+public class ScheduledPostPublisher {
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+
+    private final PostRepository postRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration preloadWindow;
+    private final TimingWheel<ScheduledPost> wheel;
+    // Latest schedule of every post in the wheel; older wheel entries of the post are stale
+    private final Map<UUID, LocalDateTime> schedules = new HashMap<>();
+    private final Counter published;
+
+    public ScheduledPostPublisher(
+            PostRepository postRepository,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            @Value("${blog.scheduling.tick:1s}") Duration tick,
+            @Value("${blog.scheduling.wheel-size:64}") int wheelSize,
+            @Value("${blog.scheduling.preload-window:24h}") Duration preloadWindow,
+            MeterRegistry meterRegistry) {
+        this.postRepository = postRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.preloadWindow = preloadWindow;
+        this.wheel = new TimingWheel<>(tick.toMillis(), wheelSize, System.currentTimeMillis());
+        this.published = Counter.builder("posts.scheduled.published")
+                .description("Scheduled posts published on time")
+                .register(meterRegistry);
+        Gauge.builder("posts.scheduled.pending", this, publisher -> publisher.pending())
+                .description("Schedules waiting in the timing wheel")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers the schedule of a post; schedules beyond the preload window are left to a later reload.
+     */
+    public void schedule(UUID postId, LocalDateTime publishAt) {
+        if (publishAt.isBefore(LocalDateTime.now().plus(preloadWindow))) {
+            add(new ScheduledPost(postId, publishAt), toMillis(publishAt));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+            initialDelayString = "${blog.scheduling.reload-interval:1h}",
+            fixedDelayString = "${blog.scheduling.reload-interval:1h}")
+    @Transactional(readOnly = true)
+    public void reload() {
+        List<ScheduledPost> due = postRepository.findScheduledBefore(LocalDateTime.now().plus(preloadWindow));
+        due.forEach(post -> add(post, toMillis(post.getPublishAt())));
+        log.debug("Loaded {} post schedules", due.size());
+    }
+
+    @Scheduled(fixedDelayString = "${blog.scheduling.tick:1s}")
+    public void publishDue() {
+        List<ScheduledPost> due = new ArrayList<>();
+        synchronized (this) {
+            wheel.advance(System.currentTimeMillis(), post -> {
+                if (schedules.remove(post.getId(), post.getPublishAt())) {
+                    due.add(post);
+                }
+            });
+        }
+        due.forEach(this::publish);
+    }
+
+    private void publish(ScheduledPost post) {
+        try {
+            Boolean changed = transactionTemplate.execute(status -> {
+                if (postRepository.publishIfDue(post.getId(), LocalDateTime.now()) == 0) {
+                    return false;
+                }
+                List<PostFilterRow> rows = postRepository.findFilterRowsById(post.getId());
+                Set<UUID> tagIds = rows.stream()
+                        .map(PostFilterRow::getTagId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet());
+                eventPublisher.publishEvent(new PostChangedEvent(
+                        post.getId(),
+                        PostChangedEvent.ChangeType.PUBLISHED,
+                        Set.of(rows.get(0).getCategoryId()),
+                        tagIds));
+                return true;
+            });
+            if (Boolean.TRUE.equals(changed)) {
+                published.increment();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not publish scheduled post {}, retrying in {}", post.getId(), RETRY_DELAY, e);
+            synchronized (this) {
+                schedules.putIfAbsent(post.getId(), post.getPublishAt());
+                wheel.add(post, System.currentTimeMillis() + RETRY_DELAY.toMillis());
+            }
+        }
+    }
+
+    private synchronized void add(ScheduledPost post, long deadline) {
+        LocalDateTime previous = schedules.put(post.getId(), post.getPublishAt());
+        if (!post.getPublishAt().equals(previous)) {
+            wheel.add(post, deadline);
+        }
+    }
+
+    private synchronized int pending() {
+        return wheel.size();
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,127 @@
+package com.blog.fit.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel. The innermost wheel has one slot per tick; every outer wheel has
+ * slots as wide as a full turn of the wheel inside it and is created on first use. Adding and
+ * expiring an entry is constant work per wheel, however many entries are pending: an outer slot
+ * is only touched when its turn comes, and its entries then cascade to the finer wheels below.
+ * Entries expire on the first tick at or after their deadline, never earlier.
+ * Not thread-safe.
+ */
+public class TimingWheel<T> {
+
+    private record Entry<T>(T item, long deadline) {
+    }
+
+    private final long tickMillis;
+    private final int wheelSize;
+    // Slots of every wheel, innermost first; a slot list is created when something lands in it
+    private final List<List<Entry<T>>[]> wheels = new ArrayList<>();
+    private final List<T> expired = new ArrayList<>();
+    // Last tick the wheel has advanced to
+    private long currentTime;
+    private int size;
+
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis < 1 || wheelSize < 2) {
+            throw new IllegalArgumentException("Timing wheel needs a positive tick and at least two slots");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+    }
+
+    public void add(T item, long deadline) {
+        size++;
+        insert(new Entry<>(item, deadline));
+    }
+
+    /**
+     * Moves the wheel forward to {@code now} and hands every item whose deadline has passed to
+     * {@code action}, earliest tick first.
+     */
+    public void advance(long now, Consumer<T> action) {
+        if (size == 0) {
+            currentTime = Math.max(currentTime, now - Math.floorMod(now, tickMillis));
+            return;
+        }
+        while (currentTime + tickMillis <= now) {
+            currentTime += tickMillis;
+            // Outer wheels first, so entries cascading into this tick are expired below
+            for (int level = Math.min(wheels.size(), levelsTurning()) - 1; level >= 0; level--) {
+                List<Entry<T>> slot = takeSlot(level);
+                if (slot != null) {
+                    slot.forEach(this::insert);
+                }
+            }
+            if (!expired.isEmpty()) {
+                size -= expired.size();
+                List<T> items = new ArrayList<>(expired);
+                expired.clear();
+                items.forEach(action);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Number of wheels whose slot boundary the current tick lies on
+    private int levelsTurning() {
+        int levels = 1;
+        long slotWidth = tickMillis * wheelSize;
+        while (levels < wheels.size() && currentTime % slotWidth == 0) {
+            levels++;
+            slotWidth *= wheelSize;
+        }
+        return levels;
+    }
+
+    private List<Entry<T>> takeSlot(int level) {
+        long slotWidth = slotWidth(level);
+        int index = (int) Math.floorMod(currentTime / slotWidth, (long) wheelSize);
+        List<Entry<T>> slot = wheels.get(level)[index];
+        wheels.get(level)[index] = null;
+        return slot;
+    }
+
+    private void insert(Entry<T> entry) {
+        // The tick the entry expires on, rounded up so it never fires early
+        long dueTick = Math.ceilDiv(entry.deadline(), tickMillis) * tickMillis;
+        if (dueTick <= currentTime) {
+            expired.add(entry.item());
+            return;
+        }
+        long slotWidth = tickMillis;
+        int level = 0;
+        // The lowest wheel whose turn still reaches the due tick
+        while (dueTick / slotWidth - currentTime / slotWidth >= wheelSize) {
+            slotWidth *= wheelSize;
+            level++;
+        }
+        while (wheels.size() <= level) {
+            @SuppressWarnings("unchecked")
+            List<Entry<T>>[] slots = new List[wheelSize];
+            wheels.add(slots);
+        }
+        int index = (int) Math.floorMod(dueTick / slotWidth, (long) wheelSize);
+        List<Entry<T>>[] slots = wheels.get(level);
+        if (slots[index] == null) {
+            slots[index] = new ArrayList<>();
+        }
+        slots[index].add(entry);
+    }
+
+    private long slotWidth(int level) {
+        long slotWidth = tickMillis;
+        for (int i = 0; i < level; i++) {
+            slotWidth *= wheelSize;
+        }
+        return slotWidth;
+    }
+}
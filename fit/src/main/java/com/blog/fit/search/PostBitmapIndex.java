@@ -0,0 +1,347 @@
+package com.blog.fit.search;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.blog.fit.domain.PostCursor;
+import com.blog.fit.domain.PostFacetCounts;
+import com.blog.fit.domain.PostFilterRow;
+import com.blog.fit.domain.PostIdPage;
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.TagMatchMode;
+import com.blog.fit.domain.events.PostChangedEvent;
+import com.blog.fit.domain.events.PostsDeletedEvent;
+import com.blog.fit.repositories.PostRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compressed bitmaps of post ordinals per status, category and tag, so tag and category
+ * filters are answered with in-memory intersections and unions.
+ * Ordinals are handed out in creation order, so walking a result bitmap from its highest
+ * ordinal down yields the newest posts first. Deleted posts keep their ordinal slot until
+ * the next rebuild at startup compacts them away.
+ */
+@Component
+@Slf4j
+public class PostBitmapIndex {
+
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final PostRepository postRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private State state = new State();
+    // Non-null while a rebuild runs; posts changed meanwhile are re-applied once it is swapped in
+    private volatile Set<UUID> changedDuringRebuild;
+
+    public PostBitmapIndex(PostRepository postRepository, MeterRegistry meterRegistry) {
+        this.postRepository = postRepository;
+        Gauge.builder("posts.bitmaps.bytes", this, PostBitmapIndex::sizeInBytes)
+                .description("Memory used by the post filter bitmaps")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns a newest-first page of published post ids in {@code categoryId} (when given) that carry
+     * all or any of {@code tagIds} and none of {@code excludedTagIds}, continuing after {@code after}.
+     */
+    public PostIdPage find(UUID categoryId, Collection<UUID> tagIds, TagMatchMode mode,
+            Collection<UUID> excludedTagIds, PostCursor after, Integer pageSize) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = state.match(categoryId, tagIds, mode, excludedTagIds);
+            int limit = pageSize != null ? pageSize : Integer.MAX_VALUE;
+            List<UUID> postIds = new ArrayList<>(Math.min(limit, matches.getCardinality()));
+
+            // previousValue reads its argument as unsigned, so a negative start must not reach it
+            int start = after != null ? state.positionBefore(after) : state.size - 1;
+            long ordinal = start >= 0 ? matches.previousValue(start) : -1;
+            int last = -1;
+            while (ordinal >= 0 && postIds.size() < limit) {
+                last = (int) ordinal;
+                postIds.add(state.ids[last]);
+                ordinal = last > 0 ? matches.previousValue(last - 1) : -1;
+            }
+
+            String nextCursor = ordinal >= 0 ? state.cursorOf(last).encode() : null;
+            return new PostIdPage(postIds, nextCursor);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts published posts per tag and per category within the filter. Category counts ignore the
+     * category filter itself, so a reader on one category page still sees how the other categories compare.
+     */
+    public PostFacetCounts countFacets(UUID categoryId, Collection<UUID> tagIds, TagMatchMode mode,
+            Collection<UUID> excludedTagIds) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = state.match(categoryId, tagIds, mode, excludedTagIds);
+            RoaringBitmap matchesInAnyCategory = categoryId != null
+                    ? state.match(null, tagIds, mode, excludedTagIds)
+                    : matches;
+            return new PostFacetCounts(
+                    matches.getCardinality(),
+                    intersectionCounts(matches, state.byTag),
+                    intersectionCounts(matchesInAnyCategory, state.byCategory));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        Set<UUID> changed = ConcurrentHashMap.newKeySet();
+        changedDuringRebuild = changed;
+
+        State rebuilt = new State();
+        try (Stream<PostFilterRow> rows = postRepository.streamFilterRows()) {
+            rows.forEach(rebuilt::add);
+        }
+        rebuilt.optimize();
+
+        lock.writeLock().lock();
+        try {
+            state = rebuilt;
+            changedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        changed.forEach(this::refresh);
+        log.info("Built filter bitmaps for {} posts in {} ms", rebuilt.ordinals.size(), System.currentTimeMillis() - started);
+    }
+
+    // Ahead of the caches built from these bitmaps, so they never reload from the old ones after invalidating
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onPostChanged(PostChangedEvent event) {
+        Set<UUID> changed = changedDuringRebuild;
+        if (changed != null) {
+            changed.add(event.getPostId());
+        }
+        refresh(event.getPostId());
+    }
+
+    // The posts are gone, so they are dropped under one lock without reading anything back
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onPostsDeleted(PostsDeletedEvent event) {
+        Set<UUID> changed = changedDuringRebuild;
+        if (changed != null) {
+            changed.addAll(event.getPostIds());
+        }
+        lock.writeLock().lock();
+        try {
+            event.getPostIds().forEach(state::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void refresh(UUID postId) {
+        List<PostFilterRow> rows = postRepository.findFilterRowsById(postId);
+        lock.writeLock().lock();
+        try {
+            state.remove(postId);
+            rows.forEach(state::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Map<UUID, Integer> intersectionCounts(RoaringBitmap matches, Map<UUID, RoaringBitmap> bitmaps) {
+        Map<UUID, Integer> counts = new HashMap<>();
+        bitmaps.forEach((id, bitmap) -> {
+            int count = RoaringBitmap.andCardinality(matches, bitmap);
+            if (count > 0) {
+                counts.put(id, count);
+            }
+        });
+        return counts;
+    }
+
+    private long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            return state.sizeInBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(
+                Math.floorDiv(micros, 1_000_000), (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static final class State {
+
+        private UUID[] ids = new UUID[1024];
+        private long[] createdAt = new long[1024];
+        private int size;
+        private final Map<UUID, Integer> ordinals = new HashMap<>();
+        private final Map<PostStatus, RoaringBitmap> byStatus = new EnumMap<>(PostStatus.class);
+        private final Map<UUID, RoaringBitmap> byCategory = new HashMap<>();
+        private final Map<UUID, RoaringBitmap> byTag = new HashMap<>();
+
+        // A post spans one row per tag; the first row assigns its ordinal. A post whose date moved,
+        // as a scheduled post does when it is published, gets a new ordinal at its new position.
+        void add(PostFilterRow row) {
+            Integer ordinal = ordinals.get(row.getPostId());
+            if (ordinal == null || createdAt[ordinal] != toMicros(row.getCreatedAt())) {
+                ordinal = append(row.getPostId(), row.getCreatedAt());
+            }
+            byStatus.computeIfAbsent(row.getStatus(), ignored -> new RoaringBitmap()).add(ordinal);
+            byCategory.computeIfAbsent(row.getCategoryId(), ignored -> new RoaringBitmap()).add(ordinal);
+            if (row.getTagId() != null) {
+                byTag.computeIfAbsent(row.getTagId(), ignored -> new RoaringBitmap()).add(ordinal);
+            }
+        }
+
+        // Keeps the ordinal and its key, so a re-added post and cursors pointing at it stay in place
+        void remove(UUID postId) {
+            Integer ordinal = ordinals.get(postId);
+            if (ordinal == null) {
+                return;
+            }
+            byStatus.values().forEach(bitmap -> bitmap.remove(ordinal));
+            removeFrom(byCategory, ordinal);
+            removeFrom(byTag, ordinal);
+        }
+
+        RoaringBitmap match(UUID categoryId, Collection<UUID> tagIds, TagMatchMode mode,
+                Collection<UUID> excludedTagIds) {
+            RoaringBitmap matches = byStatus.getOrDefault(PostStatus.PUBLISHED, EMPTY);
+            if (categoryId != null) {
+                matches = RoaringBitmap.and(matches, byCategory.getOrDefault(categoryId, EMPTY));
+            }
+            if (!tagIds.isEmpty()) {
+                List<RoaringBitmap> tagged = bitmapsOf(tagIds);
+                if (mode == TagMatchMode.ANY) {
+                    matches = RoaringBitmap.and(matches, RoaringBitmap.or(tagged.iterator()));
+                } else {
+                    // Smallest first, so the running intersection shrinks as early as possible
+                    tagged.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+                    for (RoaringBitmap bitmap : tagged) {
+                        matches = RoaringBitmap.and(matches, bitmap);
+                    }
+                }
+            }
+            if (!excludedTagIds.isEmpty()) {
+                matches = RoaringBitmap.andNot(matches, RoaringBitmap.or(bitmapsOf(excludedTagIds).iterator()));
+            }
+            return matches;
+        }
+
+        /**
+         * Returns the highest ordinal that sorts before the cursor: the ordinal just below the cursor's
+         * post, or a binary search on creation time when that post is no longer indexed.
+         */
+        int positionBefore(PostCursor cursor) {
+            Integer ordinal = ordinals.get(cursor.getId());
+            if (ordinal != null) {
+                return ordinal - 1;
+            }
+            long key = toMicros(cursor.getCreatedAt());
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int compare = Long.compare(createdAt[middle], key);
+                if (compare == 0) {
+                    compare = ids[middle].compareTo(cursor.getId());
+                }
+                if (compare < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low - 1;
+        }
+
+        PostCursor cursorOf(int ordinal) {
+            return new PostCursor(fromMicros(createdAt[ordinal]), ids[ordinal]);
+        }
+
+        void optimize() {
+            byStatus.values().forEach(RoaringBitmap::runOptimize);
+            byCategory.values().forEach(RoaringBitmap::runOptimize);
+            byTag.values().forEach(RoaringBitmap::runOptimize);
+        }
+
+        long sizeInBytes() {
+            return Stream.of(byStatus.values(), byCategory.values(), byTag.values())
+                    .flatMap(Collection::stream)
+                    .mapToLong(RoaringBitmap::getSizeInBytes)
+                    .sum();
+        }
+
+        private int append(UUID postId, LocalDateTime postCreatedAt) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                createdAt = Arrays.copyOf(createdAt, size * 2);
+            }
+            ids[size] = postId;
+            createdAt[size] = toMicros(postCreatedAt);
+            ordinals.put(postId, size);
+            return size++;
+        }
+
+        private List<RoaringBitmap> bitmapsOf(Collection<UUID> keys) {
+            List<RoaringBitmap> bitmaps = new ArrayList<>(keys.size());
+            for (UUID key : keys) {
+                bitmaps.add(byTag.getOrDefault(key, EMPTY));
+            }
+            return bitmaps;
+        }
+
+        private static void removeFrom(Map<UUID, RoaringBitmap> bitmaps, int ordinal) {
+            Iterator<RoaringBitmap> iterator = bitmaps.values().iterator();
+            while (iterator.hasNext()) {
+                RoaringBitmap bitmap = iterator.next();
+                bitmap.remove(ordinal);
+                if (bitmap.isEmpty()) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.blog.fit.search;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.blog.fit.domain.PostCursor;
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.entities.Post;
+import com.blog.fit.domain.events.PostChangedEvent;
+import com.blog.fit.domain.events.PostsDeletedEvent;
+import com.blog.fit.outbox.DomainEventConsumer;
+import com.blog.fit.repositories.PostRepository;
+import com.blog.fit.services.PostService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the search index in step with the posts table. On startup only the posts changed since
+ * the index checkpoint are replayed; a full build from the database happens when there is no
+ * checkpoint or the index no longer holds as many posts as are published. While running, every
+ * post change from the outbox updates one document and the buffer is committed periodically.
+ */
+@Component
+@Slf4j
+public class PostIndexer implements DomainEventConsumer {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final PostSearchIndex postSearchIndex;
+    private final PostRepository postRepository;
+    private final PostService postService;
+    private final Duration replayOverlap;
+
+    public PostIndexer(
+            PostSearchIndex postSearchIndex,
+            PostRepository postRepository,
+            PostService postService,
+            @Value("${blog.search.replay-overlap:1m}") Duration replayOverlap) {
+        this.postSearchIndex = postSearchIndex;
+        this.postRepository = postRepository;
+        this.postService = postService;
+        this.replayOverlap = replayOverlap;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        long started = System.currentTimeMillis();
+        LocalDateTime checkpoint = postSearchIndex.getCheckpoint();
+        if (checkpoint != null) {
+            // Step back so transactions that committed out of updatedAt order are not missed
+            int replayed = replay(checkpoint.minus(replayOverlap));
+            log.info("Replayed {} post changes since {} into the search index in {} ms",
+                    replayed, checkpoint, System.currentTimeMillis() - started);
+        }
+
+        long published = postRepository.countByStatus(PostStatus.PUBLISHED);
+        if (checkpoint == null || postSearchIndex.getDocumentCount() != published) {
+            postSearchIndex.deleteAll();
+            int indexed = rebuild();
+            log.info("Indexed {} published posts for search in {} ms", indexed, System.currentTimeMillis() - started);
+        }
+        postSearchIndex.commit();
+    }
+
+    @Scheduled(fixedDelayString = "${blog.search.commit-interval:30s}")
+    public void commit() {
+        postSearchIndex.commit();
+    }
+
+    @Override
+    public String getConsumerName() {
+        return "search-index";
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void consume(Object domainEvent) {
+        if (domainEvent instanceof PostsDeletedEvent deleted) {
+            postSearchIndex.delete(deleted.getPostIds());
+            return;
+        }
+        if (!(domainEvent instanceof PostChangedEvent event)) {
+            return;
+        }
+        if (event.getChangeType() == PostChangedEvent.ChangeType.DELETED) {
+            postSearchIndex.delete(event.getPostId());
+            return;
+        }
+        List<Post> posts = postService.getPostsByIds(List.of(event.getPostId()));
+        if (posts.isEmpty()) {
+            postSearchIndex.delete(event.getPostId());
+        } else {
+            postSearchIndex.index(posts.get(0));
+        }
+    }
+
+    private int rebuild() {
+        int indexed = 0;
+        PostCursor after = null;
+        List<PostCursor> keys;
+        do {
+            keys = postRepository.findPublishedKeys(null, null, after, BATCH_SIZE);
+            if (keys.isEmpty()) {
+                break;
+            }
+            postSearchIndex.indexAll(postService.getPostsByIds(keys.stream().map(PostCursor::getId).toList()));
+            indexed += keys.size();
+            after = keys.get(keys.size() - 1);
+        } while (keys.size() == BATCH_SIZE);
+        return indexed;
+    }
+
+    private int replay(LocalDateTime since) {
+        List<UUID> ids = postRepository.findIdsUpdatedSince(since);
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<UUID> batch = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            postSearchIndex.indexAll(postService.getPostsByIds(batch));
+        }
+        return ids.size();
+    }
+}
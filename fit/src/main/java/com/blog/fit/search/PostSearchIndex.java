@@ -0,0 +1,367 @@
+package com.blog.fit.search;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.charfilter.HTMLStripCharFilter;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.ConcurrentMergeScheduler;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.TieredMergePolicy;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.blog.fit.domain.PostSearchPage;
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.dtos.PostSearchHitDto;
+import com.blog.fit.domain.entities.Post;
+import com.blog.fit.domain.entities.Tag;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-process Lucene index over the title and content of published posts.
+ * Content is stripped of HTML before indexing and the plain text is stored, so snippets
+ * are highlighted from postings offsets without going back to the database.
+ * Text is analyzed with the English analyzer (stop words, Porter stemming) and ranked with BM25.
+ *
+ * <p>Segments live on disk and are memory-mapped, so the index is served from the page cache
+ * rather than the heap. Recent changes are searchable straight away from the writer's buffer and
+ * become durable on {@link #commit()}, which also records the newest indexed {@code updatedAt}
+ * as the checkpoint a restart replays from.
+ *
+ * <p>Hits are ordered by score and then by post id, and a page cursor carries both, so the next
+ * page starts at the same place even when the last post of the previous page is gone.
+ */
+@Component
+public class PostSearchIndex {
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_CONTENT = "content";
+    private static final String FIELD_CATEGORY = "categoryId";
+    private static final String FIELD_TAG = "tagId";
+
+    private static final float TITLE_BOOST = 2.0f;
+    private static final char CURSOR_SEPARATOR = '|';
+    private static final String CHECKPOINT_KEY = "indexedUpTo";
+    private static final String FORMAT_KEY = "format";
+    // Bumped when documents change shape; an index written in another format is rebuilt from scratch
+    private static final String FORMAT = "2";
+
+    private static final Sort RANKING = new Sort(SortField.FIELD_SCORE, new SortField(FIELD_ID, SortField.Type.STRING));
+
+    private static final FieldType HIGHLIGHTED_TEXT = new FieldType(TextField.TYPE_STORED);
+    static {
+        HIGHLIGHTED_TEXT.setIndexOptions(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS);
+        HIGHLIGHTED_TEXT.freeze();
+    }
+
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final Timer searchTimer;
+    private final AtomicReference<LocalDateTime> indexedUpTo = new AtomicReference<>();
+
+    public PostSearchIndex(
+            @Value("${blog.search.index-path:data/search-index}") Path indexPath,
+            @Value("${blog.search.ram-buffer:16MB}") DataSize ramBuffer,
+            MeterRegistry meterRegistry) throws IOException {
+        this.directory = new MMapDirectory(Files.createDirectories(indexPath));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)
+                .setRAMBufferSizeMB(ramBuffer.toBytes() / (1024.0 * 1024.0))
+                .setMergePolicy(new TieredMergePolicy())
+                .setMergeScheduler(new ConcurrentMergeScheduler()));
+        Map<String, String> commitData = new HashMap<>();
+        writer.getLiveCommitData().forEach(entry -> commitData.put(entry.getKey(), entry.getValue()));
+        if (FORMAT.equals(commitData.get(FORMAT_KEY)) && commitData.containsKey(CHECKPOINT_KEY)) {
+            indexedUpTo.set(LocalDateTime.parse(commitData.get(CHECKPOINT_KEY)));
+        }
+        this.searcherManager = new SearcherManager(writer, null);
+        this.searchTimer = Timer.builder("posts.search")
+                .description("Full-text post search latency")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("posts.search.documents", writer, indexWriter -> indexWriter.getDocStats().numDocs)
+                .description("Posts in the search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Adds or replaces the post in the index; posts that are not published are removed from it.
+     */
+    public void index(Post post) {
+        indexAll(List.of(post));
+    }
+
+    public void indexAll(Collection<Post> posts) {
+        try {
+            for (Post post : posts) {
+                Term idTerm = new Term(FIELD_ID, post.getId().toString());
+                if (post.getStatus() == PostStatus.PUBLISHED) {
+                    writer.updateDocument(idTerm, toDocument(post));
+                } else {
+                    writer.deleteDocuments(idTerm);
+                }
+                advanceCheckpoint(post.getUpdatedAt());
+            }
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void delete(UUID postId) {
+        delete(List.of(postId));
+    }
+
+    /**
+     * Removes the posts and commits once for all of them, straight away: a deletion carries no
+     * {@code updatedAt}, so replaying from the checkpoint could not recover it after a crash.
+     */
+    public void delete(Collection<UUID> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        try {
+            writer.deleteDocuments(postIds.stream()
+                    .map(postId -> new Term(FIELD_ID, postId.toString()))
+                    .toArray(Term[]::new));
+            searcherManager.maybeRefreshBlocking();
+            commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void deleteAll() {
+        try {
+            writer.deleteAll();
+            indexedUpTo.set(null);
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Makes buffered changes durable, recording the newest indexed {@code updatedAt} as the checkpoint.
+     */
+    public void commit() {
+        try {
+            if (!writer.hasUncommittedChanges()) {
+                return;
+            }
+            LocalDateTime checkpoint = indexedUpTo.get();
+            if (checkpoint != null) {
+                writer.setLiveCommitData(Map.of(CHECKPOINT_KEY, checkpoint.toString(), FORMAT_KEY, FORMAT).entrySet());
+            }
+            writer.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the {@code updatedAt} up to which posts were indexed, or null when the index has never been built.
+     */
+    public LocalDateTime getCheckpoint() {
+        return indexedUpTo.get();
+    }
+
+    public int getDocumentCount() {
+        return writer.getDocStats().numDocs;
+    }
+
+    /**
+     * Runs a query in simple query syntax ("quoted phrases", -exclusions, prefix*) over title and content.
+     * All terms are required. Pages continue after the score and id of the last hit of the previous page.
+     */
+    public PostSearchPage search(String text, UUID categoryId, UUID tagId, String cursor, int pageSize) {
+        Query query = buildQuery(text, categoryId, tagId);
+        return searchTimer.record(() -> {
+            try {
+                IndexSearcher searcher = searcherManager.acquire();
+                try {
+                    return search(searcher, query, cursor, pageSize);
+                } finally {
+                    searcherManager.release(searcher);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        commit();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private PostSearchPage search(IndexSearcher searcher, Query query, String cursor, int pageSize)
+            throws IOException {
+        FieldDoc after = cursor != null ? decodeCursor(searcher, cursor) : null;
+        TopDocs topDocs = searcher.searchAfter(after, query, pageSize + 1, RANKING, true);
+
+        ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+        boolean hasMore = scoreDocs.length > pageSize;
+        if (hasMore) {
+            scoreDocs = Arrays.copyOf(scoreDocs, pageSize);
+        }
+        TopDocs page = new TopDocs(topDocs.totalHits, scoreDocs);
+
+        UnifiedHighlighter highlighter = UnifiedHighlighter.builder(searcher, analyzer)
+                .withFormatter(new DefaultPassageFormatter("<mark>", "</mark>", "... ", true))
+                .withMaxNoHighlightPassages(1)
+                .build();
+        String[] snippets = highlighter.highlight(FIELD_CONTENT, query, page, 1);
+
+        List<PostSearchHitDto> hits = new ArrayList<>(scoreDocs.length);
+        String lastId = null;
+        for (int i = 0; i < scoreDocs.length; i++) {
+            Document document = searcher.storedFields().document(scoreDocs[i].doc, Set.of(FIELD_ID, FIELD_TITLE));
+            lastId = document.get(FIELD_ID);
+            hits.add(PostSearchHitDto.builder()
+                    .id(UUID.fromString(lastId))
+                    .title(document.get(FIELD_TITLE))
+                    .snippet(snippets[i])
+                    .score(scoreDocs[i].score)
+                    .build());
+        }
+
+        String nextCursor = hasMore ? encodeCursor(scoreDocs[pageSize - 1].score, lastId) : null;
+        return new PostSearchPage(hits, nextCursor);
+    }
+
+    private void advanceCheckpoint(LocalDateTime updatedAt) {
+        if (updatedAt != null) {
+            indexedUpTo.accumulateAndGet(updatedAt,
+                    (current, candidate) -> current == null || candidate.isAfter(current) ? candidate : current);
+        }
+    }
+
+    private Query buildQuery(String text, UUID categoryId, UUID tagId) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, Map.of(FIELD_TITLE, TITLE_BOOST, FIELD_CONTENT, 1.0f));
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(parser.parse(text), BooleanClause.Occur.MUST);
+        if (categoryId != null) {
+            query.add(new TermQuery(new Term(FIELD_CATEGORY, categoryId.toString())), BooleanClause.Occur.FILTER);
+        }
+        if (tagId != null) {
+            query.add(new TermQuery(new Term(FIELD_TAG, tagId.toString())), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    // Lucene doc ids shift with merges, so cursors hold the sort values themselves, never a doc id
+    private static FieldDoc decodeCursor(IndexSearcher searcher, String cursor) {
+        float score;
+        String postId;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(CURSOR_SEPARATOR);
+            score = Float.intBitsToFloat(Integer.parseUnsignedInt(raw.substring(0, separator), 16));
+            postId = UUID.fromString(raw.substring(separator + 1)).toString();
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        // Only the cursor's own post ties on both values; the last doc id places it before the page
+        int lastDoc = searcher.getIndexReader().maxDoc() - 1;
+        return new FieldDoc(lastDoc, score, new Object[] {score, new BytesRef(postId)});
+    }
+
+    private static String encodeCursor(float score, String postId) {
+        String raw = Integer.toHexString(Float.floatToIntBits(score)) + CURSOR_SEPARATOR + postId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Document toDocument(Post post) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, post.getId().toString(), Field.Store.YES));
+        document.add(new SortedDocValuesField(FIELD_ID, new BytesRef(post.getId().toString())));
+        document.add(new Field(FIELD_TITLE, post.getTitle(), HIGHLIGHTED_TEXT));
+        document.add(new Field(FIELD_CONTENT, stripHtml(post.getContent()), HIGHLIGHTED_TEXT));
+        document.add(new StringField(FIELD_CATEGORY, post.getCategory().getId().toString(), Field.Store.NO));
+        for (Tag tag : post.getTags()) {
+            document.add(new StringField(FIELD_TAG, tag.getId().toString(), Field.Store.NO));
+        }
+        return document;
+    }
+
+    /**
+     * The text of the given HTML without markup, with whitespace collapsed to single spaces.
+     */
+    public static String stripHtml(String html) {
+        if (html == null) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder(html.length());
+        char[] buffer = new char[4096];
+        try (Reader reader = new HTMLStripCharFilter(new StringReader(html))) {
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                text.append(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return text.toString().replaceAll("\\s+", " ").trim();
+    }
+}
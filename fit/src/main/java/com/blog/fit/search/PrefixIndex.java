@@ -0,0 +1,269 @@
+package com.blog.fit.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Character trie that answers "best entries under this prefix" without walking the subtree.
+ * Every node keeps the highest weighted entries of its whole subtree, so a lookup costs one
+ * step per prefix character. Entries are registered under several keys (typically the words
+ * of their text) and can be replaced or removed; only the nodes on the affected paths are updated.
+ */
+class PrefixIndex {
+
+    static final Comparator<Entry> RANKING = Comparator.comparingLong(Entry::weight).reversed()
+            .thenComparing(Entry::text)
+            .thenComparing(Entry::id);
+
+    record Entry(UUID id, String text, String normalized, long weight, Collection<String> keys) {
+    }
+
+    private final int maxKeyLength;
+    private final int nodeCapacity;
+    private final Node root = new Node();
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    PrefixIndex(int maxKeyLength, int nodeCapacity) {
+        this.maxKeyLength = maxKeyLength;
+        this.nodeCapacity = nodeCapacity;
+    }
+
+    void put(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(entry.id());
+            entries.put(entry.id(), entry);
+            for (String key : entry.keys()) {
+                List<Node> path = descend(truncate(key), true);
+                Node terminal = path.get(path.size() - 1);
+                if (terminal.entries == null) {
+                    terminal.entries = new ArrayList<>(1);
+                }
+                terminal.entries.add(entry);
+                for (Node node : path) {
+                    node.offer(entry, nodeCapacity);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} of the best entries registered under a key starting with
+     * {@code prefix} that also pass {@code filter}. Only the top candidates kept on the prefix
+     * node are considered, so a selective filter can return fewer than {@code limit} entries.
+     */
+    List<Entry> search(String prefix, int limit, Predicate<Entry> filter) {
+        lock.readLock().lock();
+        try {
+            List<Node> path = descend(truncate(prefix), false);
+            if (path == null) {
+                return List.of();
+            }
+            Node node = path.get(path.size() - 1);
+            List<Entry> result = new ArrayList<>(Math.min(limit, node.topSize));
+            for (int i = 0; i < node.topSize && result.size() < limit; i++) {
+                if (filter.test(node.top[i])) {
+                    result.add(node.top[i]);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeEntry(UUID id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String key : entry.keys()) {
+            String truncated = truncate(key);
+            List<Node> path = descend(truncated, false);
+            if (path == null) {
+                continue;
+            }
+            Node terminal = path.get(path.size() - 1);
+            if (terminal.entries != null) {
+                terminal.entries.removeIf(candidate -> candidate == entry);
+                if (terminal.entries.isEmpty()) {
+                    terminal.entries = null;
+                }
+            }
+            for (int depth = path.size() - 1; depth >= 0; depth--) {
+                Node node = path.get(depth);
+                if (depth > 0 && node.isEmpty()) {
+                    path.get(depth - 1).removeChild(truncated.charAt(depth - 1));
+                } else if (node.contains(entry)) {
+                    node.recompute(nodeCapacity);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the nodes from the root to the end of {@code key}, or null when the key is absent
+     * and {@code create} is false.
+     */
+    private List<Node> descend(String key, boolean create) {
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                if (!create) {
+                    return null;
+                }
+                child = node.addChild(key.charAt(i));
+            }
+            node = child;
+            path.add(node);
+        }
+        return path;
+    }
+
+    private String truncate(String key) {
+        return key.length() > maxKeyLength ? key.substring(0, maxKeyLength) : key;
+    }
+
+    private static final class Node {
+
+        private static final Entry[] NO_ENTRIES = new Entry[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] labels = new char[0];
+        private Node[] children = NO_CHILDREN;
+        private List<Entry> entries;
+        private Entry[] top = NO_ENTRIES;
+        private int topSize;
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node addChild(char label) {
+            int insertAt = -Arrays.binarySearch(labels, label) - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            Node child = new Node();
+            newLabels[insertAt] = label;
+            newChildren[insertAt] = child;
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+        void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, labels.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        boolean isEmpty() {
+            return entries == null && children.length == 0;
+        }
+
+        boolean contains(Entry entry) {
+            for (int i = 0; i < topSize; i++) {
+                if (top[i] == entry) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void offer(Entry entry, int capacity) {
+            if (contains(entry)) {
+                return;
+            }
+            if (topSize == capacity && RANKING.compare(entry, top[topSize - 1]) >= 0) {
+                return;
+            }
+            if (top.length < capacity) {
+                top = Arrays.copyOf(top, Math.min(capacity, Math.max(4, top.length * 2)));
+            }
+            int position = topSize < capacity ? topSize : capacity - 1;
+            while (position > 0 && RANKING.compare(entry, top[position - 1]) < 0) {
+                top[position] = top[position - 1];
+                position--;
+            }
+            top[position] = entry;
+            if (topSize < capacity) {
+                topSize++;
+            }
+        }
+
+        // Rebuilds this node's ranking from its own entries and the rankings of its children
+        void recompute(int capacity) {
+            PriorityQueue<Entry> best = new PriorityQueue<>(capacity + 1, RANKING.reversed());
+            if (entries != null) {
+                entries.forEach(entry -> keepBest(best, entry, capacity));
+            }
+            for (Node child : children) {
+                for (int i = 0; i < child.topSize; i++) {
+                    keepBest(best, child.top[i], capacity);
+                }
+            }
+            Entry[] ranked = best.toArray(NO_ENTRIES);
+            Arrays.sort(ranked, RANKING);
+            top = ranked;
+            topSize = ranked.length;
+        }
+
+        private static void keepBest(PriorityQueue<Entry> best, Entry entry, int capacity) {
+            if (best.contains(entry)) {
+                return;
+            }
+            best.offer(entry);
+            if (best.size() > capacity) {
+                best.poll();
+            }
+        }
+    }
+}
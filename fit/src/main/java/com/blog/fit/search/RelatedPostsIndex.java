@@ -0,0 +1,330 @@
+package com.blog.fit.search;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.blog.fit.domain.PostFilterRow;
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.events.PostChangedEvent;
+import com.blog.fit.domain.events.PostsDeletedEvent;
+import com.blog.fit.outbox.DomainEventConsumer;
+import com.blog.fit.repositories.PostRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Precomputed "related posts" for every published post, so a post page reads its recommendations
+ * with one map lookup. Posts score by the tags they share, each tag weighted by how rare it is,
+ * plus a bonus for sharing the category; lists that stay short are filled with the newest posts
+ * of the same category.
+ * Lists are computed in parallel on the common fork-join pool. A change to the tags, category,
+ * date or visibility of a post recomputes the post and every post sharing one of its old or new
+ * tags; any other edit only recomputes the post itself. A periodic rebuild picks up the slower
+ * drift of tag weights.
+ */
+@Component
+@Slf4j
+public class RelatedPostsIndex implements DomainEventConsumer {
+
+    private static final double CATEGORY_WEIGHT = 1.0;
+    private static final int SEQUENTIAL_THRESHOLD = 64;
+
+    private record Features(UUID id, UUID categoryId, Set<UUID> tagIds, long createdAt) {
+    }
+
+    private record Candidate(Features post, double score) {
+    }
+
+    private static final Comparator<Features> NEWEST_FIRST = Comparator.comparingLong(Features::createdAt).reversed()
+            .thenComparing(Features::id);
+    private static final Comparator<Candidate> RANKING = Comparator.comparingDouble(Candidate::score).reversed()
+            .thenComparing(Candidate::post, NEWEST_FIRST);
+
+    private final PostRepository postRepository;
+    private final int size;
+    // Serializes every change to the model below; readers only touch the concurrent maps
+    private final Lock refreshLock = new ReentrantLock();
+    private final Map<UUID, Features> posts = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<UUID>> postsByTag = new HashMap<>();
+    private final Map<UUID, NavigableSet<Features>> postsByCategory = new HashMap<>();
+    private final Map<UUID, List<UUID>> related = new ConcurrentHashMap<>();
+    // Non-null while a rebuild loads from the database; posts changed meanwhile are re-applied afterwards
+    private volatile Set<UUID> changedDuringRebuild;
+
+    public RelatedPostsIndex(
+            PostRepository postRepository,
+            @Value("${blog.related.size:5}") int size,
+            MeterRegistry meterRegistry) {
+        this.postRepository = postRepository;
+        this.size = size;
+        Gauge.builder("posts.related.entries", related, Map::size)
+                .description("Published posts with precomputed related posts")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the related published posts of {@code postId}, best first, or empty when the post
+     * is not published.
+     */
+    public Optional<List<UUID>> findRelated(UUID postId) {
+        List<UUID> relatedIds = related.get(postId);
+        if (relatedIds == null || !posts.containsKey(postId)) {
+            return Optional.empty();
+        }
+        // A post unpublished since the list was computed is dropped until the list is refreshed
+        return Optional.of(relatedIds.stream().filter(posts::containsKey).toList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+            initialDelayString = "${blog.related.rebuild-interval:1h}",
+            fixedDelayString = "${blog.related.rebuild-interval:1h}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        Set<UUID> changed = ConcurrentHashMap.newKeySet();
+        changedDuringRebuild = changed;
+
+        Map<UUID, Features> loaded;
+        try (Stream<PostFilterRow> rows = postRepository.streamFilterRows()) {
+            loaded = toFeatures(rows.filter(row -> row.getStatus() == PostStatus.PUBLISHED).toList());
+        }
+
+        refreshLock.lock();
+        try {
+            // Posts are replaced in place rather than cleared, so lookups keep working during the swap
+            posts.keySet().retainAll(loaded.keySet());
+            postsByTag.clear();
+            postsByCategory.clear();
+            loaded.values().forEach(this::add);
+            changedDuringRebuild = null;
+            related.keySet().retainAll(posts.keySet());
+            ForkJoinPool.commonPool().invoke(new RefreshTask(new ArrayList<>(posts.keySet()), 0, posts.size()));
+        } finally {
+            refreshLock.unlock();
+        }
+        changed.forEach(postId -> refresh(postId, Set.of()));
+        log.info("Computed related posts for {} posts in {} ms", loaded.size(), System.currentTimeMillis() - started);
+    }
+
+    @Override
+    public String getConsumerName() {
+        return "related-posts";
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void consume(Object domainEvent) {
+        if (domainEvent instanceof PostsDeletedEvent deleted) {
+            Set<UUID> changed = changedDuringRebuild;
+            if (changed != null) {
+                changed.addAll(deleted.getPostIds());
+            }
+            removeAll(deleted.getPostIds(), deleted.getTagIds());
+            return;
+        }
+        if (!(domainEvent instanceof PostChangedEvent event)) {
+            return;
+        }
+        Set<UUID> changed = changedDuringRebuild;
+        if (changed != null) {
+            changed.add(event.getPostId());
+        }
+        refresh(event.getPostId(), event.getTagIds());
+    }
+
+    private void refresh(UUID postId, Collection<UUID> previousTagIds) {
+        List<PostFilterRow> rows = postRepository.findFilterRowsById(postId).stream()
+                .filter(row -> row.getStatus() == PostStatus.PUBLISHED)
+                .toList();
+        Features updated = toFeatures(rows).get(postId);
+
+        refreshLock.lock();
+        try {
+            Features previous = posts.get(postId);
+            if (previous == null && updated == null) {
+                // A draft that stays a draft is not part of the model
+                return;
+            }
+            if (previous != null && previous.equals(updated)) {
+                // A title or content edit leaves the model as it was, so no other list can move
+                related.put(postId, computeRelated(previous));
+                return;
+            }
+            Set<UUID> affectedTagIds = new HashSet<>(previousTagIds);
+            if (previous != null) {
+                affectedTagIds.addAll(previous.tagIds());
+                remove(previous);
+            }
+            Set<UUID> affected = new HashSet<>();
+            if (updated != null) {
+                add(updated);
+                affectedTagIds.addAll(updated.tagIds());
+                affected.add(postId);
+            } else {
+                related.remove(postId);
+            }
+            for (UUID tagId : affectedTagIds) {
+                affected.addAll(postsByTag.getOrDefault(tagId, Set.of()));
+            }
+            ForkJoinPool.commonPool().invoke(new RefreshTask(new ArrayList<>(affected), 0, affected.size()));
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // Takes the posts out of the model together, so each list they appeared in is recomputed once
+    private void removeAll(Set<UUID> postIds, Collection<UUID> previousTagIds) {
+        refreshLock.lock();
+        try {
+            Set<UUID> affectedTagIds = new HashSet<>(previousTagIds);
+            for (UUID postId : postIds) {
+                Features previous = posts.get(postId);
+                if (previous != null) {
+                    affectedTagIds.addAll(previous.tagIds());
+                    remove(previous);
+                }
+                related.remove(postId);
+            }
+            Set<UUID> affected = new HashSet<>();
+            for (UUID tagId : affectedTagIds) {
+                affected.addAll(postsByTag.getOrDefault(tagId, Set.of()));
+            }
+            ForkJoinPool.commonPool().invoke(new RefreshTask(new ArrayList<>(affected), 0, affected.size()));
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void add(Features post) {
+        posts.put(post.id(), post);
+        for (UUID tagId : post.tagIds()) {
+            postsByTag.computeIfAbsent(tagId, ignored -> new HashSet<>()).add(post.id());
+        }
+        postsByCategory.computeIfAbsent(post.categoryId(), ignored -> new TreeSet<>(NEWEST_FIRST)).add(post);
+    }
+
+    private void remove(Features post) {
+        posts.remove(post.id());
+        for (UUID tagId : post.tagIds()) {
+            Set<UUID> tagged = postsByTag.get(tagId);
+            tagged.remove(post.id());
+            if (tagged.isEmpty()) {
+                postsByTag.remove(tagId);
+            }
+        }
+        NavigableSet<Features> categorized = postsByCategory.get(post.categoryId());
+        categorized.remove(post);
+        if (categorized.isEmpty()) {
+            postsByCategory.remove(post.categoryId());
+        }
+    }
+
+    // Only reads the model, which no one changes while a refresh holds the lock
+    private List<UUID> computeRelated(Features post) {
+        Map<UUID, Double> scores = new HashMap<>();
+        for (UUID tagId : post.tagIds()) {
+            Set<UUID> tagged = postsByTag.get(tagId);
+            double weight = 1 + Math.log((double) posts.size() / tagged.size());
+            for (UUID other : tagged) {
+                if (!other.equals(post.id())) {
+                    scores.merge(other, weight, Double::sum);
+                }
+            }
+        }
+
+        PriorityQueue<Candidate> best = new PriorityQueue<>(size + 1, RANKING.reversed());
+        scores.forEach((otherId, score) -> {
+            Features other = posts.get(otherId);
+            double total = other.categoryId().equals(post.categoryId()) ? score + CATEGORY_WEIGHT : score;
+            best.offer(new Candidate(other, total));
+            if (best.size() > size) {
+                best.poll();
+            }
+        });
+        List<Candidate> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+
+        List<UUID> result = new ArrayList<>(size);
+        ranked.forEach(candidate -> result.add(candidate.post().id()));
+        if (result.size() < size) {
+            for (Features other : postsByCategory.get(post.categoryId())) {
+                if (result.size() == size) {
+                    break;
+                }
+                if (!other.id().equals(post.id()) && !scores.containsKey(other.id())) {
+                    result.add(other.id());
+                }
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    private static Map<UUID, Features> toFeatures(List<PostFilterRow> rows) {
+        Map<UUID, Features> features = new LinkedHashMap<>();
+        for (PostFilterRow row : rows) {
+            Features post = features.computeIfAbsent(row.getPostId(), id -> new Features(
+                    id, row.getCategoryId(), new HashSet<>(), row.getCreatedAt().toEpochSecond(ZoneOffset.UTC)));
+            if (row.getTagId() != null) {
+                post.tagIds().add(row.getTagId());
+            }
+        }
+        return features;
+    }
+
+    private final class RefreshTask extends RecursiveAction {
+
+        private final List<UUID> postIds;
+        private final int from;
+        private final int to;
+
+        RefreshTask(List<UUID> postIds, int from, int to) {
+            this.postIds = postIds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    Features post = posts.get(postIds.get(i));
+                    if (post != null) {
+                        related.put(post.id(), computeRelated(post));
+                    }
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RefreshTask(postIds, from, middle), new RefreshTask(postIds, middle, to));
+        }
+    }
+}
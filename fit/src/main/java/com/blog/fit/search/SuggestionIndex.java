@@ -0,0 +1,218 @@
+package com.blog.fit.search;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.blog.fit.domain.NamedPostCount;
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.PostTitle;
+import com.blog.fit.domain.dtos.SuggestionDto;
+import com.blog.fit.domain.events.CategoryChangedEvent;
+import com.blog.fit.domain.events.PostChangedEvent;
+import com.blog.fit.domain.events.PostsDeletedEvent;
+import com.blog.fit.domain.events.TagChangedEvent;
+import com.blog.fit.outbox.DomainEventConsumer;
+import com.blog.fit.repositories.CategoryRepository;
+import com.blog.fit.repositories.PostRepository;
+import com.blog.fit.repositories.TagRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Typeahead suggestions for tags, categories and published post titles, answered from memory.
+ * Tags and categories rank by their number of published posts, titles by recency.
+ * Every word of a name is a key, so "heal" finds "GutHealth"; earlier words of a multi-word
+ * query must match words of the suggestion as well.
+ */
+@Component
+public class SuggestionIndex implements DomainEventConsumer {
+
+    public enum Type {
+        TAGS,
+        CATEGORIES,
+        POSTS
+    }
+
+    public static final int MAX_LIMIT = 20;
+
+    private static final int MAX_KEY_LENGTH = 32;
+    private static final int CANDIDATES_PER_PREFIX = 32;
+
+    private final Map<Type, PrefixIndex> indexes = new EnumMap<>(Type.class);
+    private final TagRepository tagRepository;
+    private final CategoryRepository categoryRepository;
+    private final PostRepository postRepository;
+
+    public SuggestionIndex(
+            TagRepository tagRepository,
+            CategoryRepository categoryRepository,
+            PostRepository postRepository,
+            MeterRegistry meterRegistry) {
+        this.tagRepository = tagRepository;
+        this.categoryRepository = categoryRepository;
+        this.postRepository = postRepository;
+        for (Type type : Type.values()) {
+            PrefixIndex index = new PrefixIndex(MAX_KEY_LENGTH, CANDIDATES_PER_PREFIX);
+            indexes.put(type, index);
+            Gauge.builder("suggestions.entries", index, PrefixIndex::size)
+                    .tag("type", type.name().toLowerCase(Locale.ROOT))
+                    .description("Names available for typeahead suggestions")
+                    .register(meterRegistry);
+        }
+    }
+
+    public List<SuggestionDto> suggest(Type type, String query, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Suggestion limit must be between 1 and " + MAX_LIMIT);
+        }
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        String[] tokens = normalized.split(" ");
+        return indexes.get(type).search(tokens[tokens.length - 1], limit, entry -> matchesAll(entry, tokens))
+                .stream()
+                .map(entry -> new SuggestionDto(entry.id(), entry.text()))
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        tagRepository.findAllPublishedPostCounts().forEach(tag -> putNamed(Type.TAGS, tag));
+        categoryRepository.findAllPublishedPostCounts().forEach(category -> putNamed(Type.CATEGORIES, category));
+        try (Stream<PostTitle> titles = postRepository.streamTitlesByStatus(PostStatus.PUBLISHED)) {
+            titles.forEach(this::putTitle);
+        }
+    }
+
+    @Override
+    public String getConsumerName() {
+        return "suggestions";
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void consume(Object domainEvent) {
+        if (domainEvent instanceof PostsDeletedEvent deleted) {
+            deleted.getPostIds().forEach(indexes.get(Type.POSTS)::remove);
+            refreshNamed(Type.TAGS, deleted.getTagIds(), tagRepository::findPublishedPostCountsByIdIn);
+            refreshNamed(Type.CATEGORIES, deleted.getCategoryIds(), categoryRepository::findPublishedPostCountsByIdIn);
+            return;
+        }
+        if (!(domainEvent instanceof PostChangedEvent event)) {
+            return;
+        }
+        postRepository.findTitleById(event.getPostId()).ifPresentOrElse(
+                this::putTitle,
+                () -> indexes.get(Type.POSTS).remove(event.getPostId()));
+        refreshNamed(Type.TAGS, event.getTagIds(), tagRepository::findPublishedPostCountsByIdIn);
+        refreshNamed(Type.CATEGORIES, event.getCategoryIds(), categoryRepository::findPublishedPostCountsByIdIn);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onTagChanged(TagChangedEvent event) {
+        refreshNamed(Type.TAGS, Set.of(event.getTagId()), tagRepository::findPublishedPostCountsByIdIn);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        refreshNamed(Type.CATEGORIES, Set.of(event.getCategoryId()), categoryRepository::findPublishedPostCountsByIdIn);
+    }
+
+    // Ids that no longer come back from the database were deleted
+    private void refreshNamed(Type type, Collection<UUID> ids, Function<Collection<UUID>, List<NamedPostCount>> loader) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Set<UUID> missing = new HashSet<>(ids);
+        for (NamedPostCount count : loader.apply(ids)) {
+            putNamed(type, count);
+            missing.remove(count.getId());
+        }
+        missing.forEach(indexes.get(type)::remove);
+    }
+
+    private void putNamed(Type type, NamedPostCount named) {
+        String normalized = normalize(named.getName());
+        Set<String> keys = keysOf(normalized);
+        // Also key the name with its words joined, so a prefix of "GutHealth" typed as-is still matches
+        keys.add(normalized.replace(" ", ""));
+        indexes.get(type).put(new PrefixIndex.Entry(
+                named.getId(), named.getName(), normalized, named.getPostCount(), keys));
+    }
+
+    private void putTitle(PostTitle title) {
+        if (title.getStatus() != PostStatus.PUBLISHED) {
+            indexes.get(Type.POSTS).remove(title.getId());
+            return;
+        }
+        String normalized = normalize(title.getTitle());
+        long weight = title.getCreatedAt().toEpochSecond(ZoneOffset.UTC);
+        indexes.get(Type.POSTS).put(new PrefixIndex.Entry(
+                title.getId(), title.getTitle(), normalized, weight, keysOf(normalized)));
+    }
+
+    private static Set<String> keysOf(String normalized) {
+        Set<String> keys = new LinkedHashSet<>();
+        List<String> stopWords = new ArrayList<>();
+        for (String word : normalized.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (EnglishAnalyzer.ENGLISH_STOP_WORDS_SET.contains(word)) {
+                stopWords.add(word);
+            } else {
+                keys.add(word);
+            }
+        }
+        if (keys.isEmpty()) {
+            keys.addAll(stopWords);
+        }
+        return keys;
+    }
+
+    private static boolean matchesAll(PrefixIndex.Entry entry, String[] tokens) {
+        String words = " " + entry.normalized();
+        String joined = entry.normalized().replace(" ", "");
+        for (String token : tokens) {
+            if (!words.contains(" " + token) && !joined.startsWith(token)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Lower-cases, splits camel case and replaces punctuation with single spaces
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replaceAll("(\\p{Ll})(\\p{Lu})", "$1 $2")
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}]+", " ")
+                .trim();
+    }
+}
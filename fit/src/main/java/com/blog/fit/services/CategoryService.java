@@ -8,6 +8,7 @@ import com.blog.fit.domain.entities.Category;
 
 public interface CategoryService {
     List<Category> listCategories();
+    List<Category> listCategoriesSortedByName();
     Category createCategory(Category category);
     void deleteCategory(UUID id);
     Category getCategoryById(UUID id);
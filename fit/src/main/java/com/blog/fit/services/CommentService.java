@@ -1,8 +1,11 @@
 package com.blog.fit.services;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
+import com.blog.fit.domain.CommentField;
 import com.blog.fit.domain.dtos.CreateCommentRequest;
 import com.blog.fit.domain.entities.Comment;
 import com.blog.fit.domain.entities.User;
@@ -18,4 +21,10 @@ public interface CommentService {
     Comment likeComment(UUID commentId);
     Comment unlikeComment(UUID commentId);
     Long getCommentCountByPost(UUID postId);
+
+    /**
+     * Comments with only the given fields, keyed by JSON name, newest first; null filters match every comment.
+     */
+    List<Map<String, Object>> getCommentFields(UUID postId, UUID userId, Set<CommentField> fields);
+    Map<String, Object> getCommentFieldsById(UUID commentId, Set<CommentField> fields);
 }
@@ -0,0 +1,12 @@
+package com.blog.fit.services;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import com.blog.fit.domain.ViewGranularity;
+import com.blog.fit.domain.dtos.PostViewSeriesDto;
+
+public interface PostAnalyticsService {
+    List<PostViewSeriesDto> getViewSeries(UUID authorId, LocalDate from, LocalDate to, ViewGranularity granularity);
+}
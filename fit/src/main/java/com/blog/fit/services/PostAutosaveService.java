@@ -0,0 +1,20 @@
+package com.blog.fit.services;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import com.blog.fit.domain.ContentEdit;
+
+public interface PostAutosaveService {
+    /**
+     * Applies edits made by the author against {@code baseVersion} and returns the new content version.
+     */
+    long applyEdits(UUID postId, UUID userId, long baseVersion, List<ContentEdit> edits);
+
+    /**
+     * Drops unsaved edits of a post whose content is being replaced or deleted, returning the
+     * newest content version handed out for it, if any.
+     */
+    OptionalLong discard(UUID postId);
+}
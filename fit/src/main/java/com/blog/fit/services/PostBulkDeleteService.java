@@ -0,0 +1,17 @@
+package com.blog.fit.services;
+
+import java.util.Set;
+import java.util.UUID;
+
+import com.blog.fit.domain.BulkDeleteProgress;
+import com.blog.fit.domain.PostStatus;
+
+public interface PostBulkDeleteService {
+    /**
+     * Queues the deletion of the user's posts with the given ids, or else of the user's posts
+     * matching every given filter, and returns the job's progress.
+     */
+    BulkDeleteProgress startBulkDelete(UUID userId, Set<UUID> ids, UUID categoryId, UUID tagId, PostStatus status);
+
+    BulkDeleteProgress getBulkDelete(UUID jobId, UUID userId);
+}
@@ -0,0 +1,22 @@
+package com.blog.fit.services;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import com.blog.fit.domain.PostRevisionContent;
+import com.blog.fit.domain.PostRevisionSummary;
+
+public interface PostRevisionService {
+    /**
+     * Records the state of a post after its title or content changed. The previous values are
+     * null for a new post.
+     */
+    void recordRevision(UUID postId, String previousTitle, String previousContent, String title, String content);
+
+    List<PostRevisionSummary> listRevisions(UUID postId, UUID userId);
+
+    PostRevisionContent getRevision(UUID postId, int revisionNumber, UUID userId);
+
+    void deleteRevisions(Collection<UUID> postIds);
+}
@@ -1,20 +1,59 @@
 package com.blog.fit.services;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
+import com.blog.fit.domain.PostFacetCounts;
+import com.blog.fit.domain.PostField;
+import com.blog.fit.domain.PostIdPage;
+import com.blog.fit.domain.PostRetagResult;
+import com.blog.fit.domain.PostVersion;
+import com.blog.fit.domain.TagMatchMode;
 import com.blog.fit.domain.dtos.CreatePostRequest;
 import com.blog.fit.domain.dtos.UpdatePostRequest;
 import com.blog.fit.domain.entities.Post;
+import com.blog.fit.domain.entities.PostView;
 import com.blog.fit.domain.entities.User;
 
 public interface PostService {
-    List<Post> getAllPosts(UUID categoryId, UUID tagId);
-    List<Post> getDraftPosts(User user);
+    PostIdPage getPublishedPostIds(UUID categoryId, UUID tagId, String cursor, Integer pageSize);
+    PostIdPage filterPublishedPostIds(UUID categoryId, Set<UUID> tagIds, TagMatchMode mode,
+            Set<UUID> excludedTagIds, String cursor, Integer pageSize);
+    PostFacetCounts countFacets(UUID categoryId, Set<UUID> tagIds, TagMatchMode mode, Set<UUID> excludedTagIds);
+    List<Post> getPostsByIds(Collection<UUID> ids);
+
+    /**
+     * Read model rows of the given posts, in no particular order; unknown ids are skipped.
+     */
+    List<PostView> getPostViews(Collection<UUID> ids);
+    PostView getPostView(UUID id);
+    List<PostView> getDraftPostViews(UUID authorId);
+
+    /**
+     * Posts with only the given fields, keyed by JSON name, by post id in the order of the ids; unknown ids are skipped.
+     */
+    Map<UUID, Map<String, Object>> getPostFields(List<UUID> ids, Set<PostField> fields);
+    List<Map<String, Object>> getDraftPostFields(UUID userId, Set<PostField> fields);
 
     Post createPost(User user, CreatePostRequest createPostRequest);
     Post updatePost(UUID id, UpdatePostRequest updatePostRequest);
     
     Post getPostById(UUID id);
+    LocalDateTime getPostUpdatedAt(UUID id);
+    PostVersion getPostVersion(UUID id);
     void deletePostById(UUID id);
+
+    /**
+     * Makes the title and content of a past revision current again, as a new revision.
+     */
+    Post restoreRevision(UUID id, int revisionNumber, UUID userId);
+
+    /**
+     * Adds and removes tags on many of the user's posts at once, in one transaction.
+     */
+    PostRetagResult retagPosts(UUID userId, Set<UUID> postIds, Set<UUID> addTagIds, Set<UUID> removeTagIds);
 }
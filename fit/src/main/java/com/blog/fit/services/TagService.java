@@ -8,6 +8,7 @@ import com.blog.fit.domain.entities.Tag;
 
 public interface TagService {
     List<Tag> getTags();
+    List<Tag> getTagsSortedByName();
     Tag getTagById(UUID id);
     List<Tag> getTagsByIds(Set<UUID> ids);
     Tag createTag(String name);
@@ -4,10 +4,13 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import com.blog.fit.cache.ReferenceDataCacheEvictor;
 import com.blog.fit.domain.dtos.UpdateCategoryRequest;
 import com.blog.fit.domain.entities.Category;
+import com.blog.fit.domain.events.CategoryChangedEvent;
 import com.blog.fit.repositories.CategoryRepository;
 import com.blog.fit.services.CategoryService;
 
@@ -20,6 +23,8 @@ import lombok.RequiredArgsConstructor;
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ReferenceDataCacheEvictor cacheEvictor;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<Category> listCategories() {
@@ -27,14 +32,21 @@ public class CategoryServiceImpl implements CategoryService {
 
 }
 
+    @Override
+    public List<Category> listCategoriesSortedByName() {
+        return categoryRepository.findAllByOrderByNameAsc();
+    }
+
     @Override
     public Category createCategory(Category category) {
         String categoryName = category.getName();
         if (categoryRepository.existsByNameIgnoreCase(categoryName)) {
             throw new IllegalArgumentException("Category with name '" + categoryName + "' already exists.");
         }
-        return categoryRepository.save(category);
-                
+        Category savedCategory = categoryRepository.save(category);
+        cacheEvictor.evictReferenceQueries();
+        eventPublisher.publishEvent(new CategoryChangedEvent(savedCategory.getId(), CategoryChangedEvent.ChangeType.CREATED));
+        return savedCategory;
     }
 
     @Override
@@ -45,6 +57,8 @@ public class CategoryServiceImpl implements CategoryService {
                 throw new IllegalArgumentException("Cannot delete category with existing posts.");
             }
             categoryRepository.deleteById(id);
+            cacheEvictor.evictCategory(id);
+            eventPublisher.publishEvent(new CategoryChangedEvent(id, CategoryChangedEvent.ChangeType.DELETED));
         }
     }
 
@@ -61,8 +75,11 @@ public class CategoryServiceImpl implements CategoryService {
                 .orElseThrow(() -> new EntityNotFoundException("Category not found with ID: " + id));
 
         updatedCategory.setName(updateCategoryRequest.getName());
+        Category savedCategory = categoryRepository.save(updatedCategory);
+        cacheEvictor.evictCategory(id);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id, CategoryChangedEvent.ChangeType.UPDATED));
         
-        return categoryRepository.save(updatedCategory);
+        return savedCategory;
 
     }
 }
\ No newline at end of file
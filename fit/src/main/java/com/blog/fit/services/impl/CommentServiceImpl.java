@@ -1,20 +1,29 @@
 package com.blog.fit.services.impl;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.blog.fit.domain.CommentField;
+import com.blog.fit.domain.dtos.AuthorDto;
 import com.blog.fit.domain.dtos.CreateCommentRequest;
 import com.blog.fit.domain.entities.Comment;
 import com.blog.fit.domain.entities.Post;
 import com.blog.fit.domain.entities.User;
+import com.blog.fit.domain.events.CommentChangedEvent;
 import com.blog.fit.repositories.CommentRepository;
+import com.blog.fit.repositories.PostRepository;
 import com.blog.fit.services.CommentService;
 import com.blog.fit.services.PostService;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -22,7 +31,9 @@ import lombok.RequiredArgsConstructor;
 public class CommentServiceImpl implements CommentService {
 
     private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
     private final PostService postService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -56,7 +67,10 @@ public class CommentServiceImpl implements CommentService {
                 .post(post)
                 .build();
 
-        return commentRepository.save(comment);
+        Comment savedComment = commentRepository.save(comment);
+        addCommentTotals(postId, 1, savedComment.getLikes());
+        publishCommentChanged(savedComment, CommentChangedEvent.ChangeType.CREATED);
+        return savedComment;
     }
 
     @Override
@@ -71,10 +85,13 @@ public class CommentServiceImpl implements CommentService {
 
         comment.setContent(request.getContent());
         if (request.getLikes() != null) {
+            addCommentTotals(comment.getPost().getId(), 0, request.getLikes() - comment.getLikes());
             comment.setLikes(request.getLikes());
         }
 
-        return commentRepository.save(comment);
+        Comment savedComment = commentRepository.save(comment);
+        publishCommentChanged(savedComment, CommentChangedEvent.ChangeType.UPDATED);
+        return savedComment;
     }
 
     @Override
@@ -88,6 +105,8 @@ public class CommentServiceImpl implements CommentService {
         }
 
         commentRepository.delete(comment);
+        addCommentTotals(comment.getPost().getId(), -1, -comment.getLikes());
+        publishCommentChanged(comment, CommentChangedEvent.ChangeType.DELETED);
     }
 
     @Override
@@ -100,25 +119,73 @@ public class CommentServiceImpl implements CommentService {
     @Override
     @Transactional
     public Comment likeComment(UUID commentId) {
+        boolean liked = commentRepository.incrementLikes(commentId) > 0;
         Comment comment = getCommentById(commentId);
-        comment.setLikes(comment.getLikes() + 1);
-        return commentRepository.save(comment);
+        if (liked) {
+            addCommentTotals(comment.getPost().getId(), 0, 1);
+            publishCommentChanged(comment, CommentChangedEvent.ChangeType.LIKED);
+        }
+        return comment;
     }
 
     @Override
     @Transactional
     public Comment unlikeComment(UUID commentId) {
+        boolean unliked = commentRepository.decrementLikes(commentId) > 0;
         Comment comment = getCommentById(commentId);
-        if (comment.getLikes() > 0) {
-            comment.setLikes(comment.getLikes() - 1);
+        if (unliked) {
+            addCommentTotals(comment.getPost().getId(), 0, -1);
+            publishCommentChanged(comment, CommentChangedEvent.ChangeType.UNLIKED);
         }
-        return commentRepository.save(comment);
+        return comment;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Long getCommentCountByPost(UUID postId) {
-        Post post = postService.getPostById(postId);
-        return commentRepository.countCommentsByPost(post);
+        return postRepository.findCommentCountById(postId)
+                .orElseThrow(() -> new EntityNotFoundException("Post not found with ID: " + postId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getCommentFields(UUID postId, UUID userId, Set<CommentField> fields) {
+        if (postId != null) {
+            postService.getPostUpdatedAt(postId);
+        }
+        return commentRepository.findFields(fields, null, postId, userId).stream()
+                .map(row -> toFields(row, fields))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getCommentFieldsById(UUID commentId, Set<CommentField> fields) {
+        return commentRepository.findFields(fields, commentId, null, null).stream()
+                .findFirst()
+                .map(row -> toFields(row, fields))
+                .orElseThrow(() -> new EntityNotFoundException("Comment with id " + commentId + " not found"));
+    }
+
+    // Same values and JSON names as CommentDto, in its order
+    private static Map<String, Object> toFields(Tuple row, Set<CommentField> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (CommentField field : fields) {
+            values.put(field.getName(), field == CommentField.USER
+                    ? new AuthorDto(row.get("userId", UUID.class), row.get("userName", String.class))
+                    : row.get(field.getName()));
+        }
+        return values;
+    }
+
+    // The post's counters are moved in the same transaction as the comment
+    private void addCommentTotals(UUID postId, long comments, long likes) {
+        if (comments != 0 || likes != 0) {
+            postRepository.addCommentTotals(postId, comments, likes);
+        }
+    }
+
+    private void publishCommentChanged(Comment comment, CommentChangedEvent.ChangeType changeType) {
+        eventPublisher.publishEvent(new CommentChangedEvent(comment.getId(), comment.getPost().getId(), changeType));
     }
 }
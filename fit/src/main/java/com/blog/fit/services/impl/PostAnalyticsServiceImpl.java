@@ -0,0 +1,74 @@
+package com.blog.fit.services.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.blog.fit.domain.PostTitle;
+import com.blog.fit.domain.PostViewCount;
+import com.blog.fit.domain.ViewGranularity;
+import com.blog.fit.domain.dtos.PostViewSeriesDto;
+import com.blog.fit.domain.dtos.ViewCountDto;
+import com.blog.fit.repositories.PostRepository;
+import com.blog.fit.repositories.PostViewRollupRepository;
+import com.blog.fit.services.PostAnalyticsService;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class PostAnalyticsServiceImpl implements PostAnalyticsService {
+
+    private static final int MAX_RANGE_DAYS = 366;
+
+    private final PostRepository postRepository;
+    private final PostViewRollupRepository postViewRollupRepository;
+
+    // Dates are UTC and both ends are inclusive; periods without views are left out of the series
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostViewSeriesDto> getViewSeries(UUID authorId, LocalDate from, LocalDate to, ViewGranularity granularity) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("The start date must not be after the end date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("View series can cover at most " + MAX_RANGE_DAYS + " days");
+        }
+
+        List<PostTitle> posts = postRepository.findTitlesByAuthorId(authorId);
+        if (posts.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Map<LocalDateTime, Long>> periodsByPost = new HashMap<>();
+        List<PostViewCount> counts = postViewRollupRepository.findViewCounts(
+                posts.stream().map(PostTitle::getId).toList(), from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        for (PostViewCount count : counts) {
+            periodsByPost.computeIfAbsent(count.getPostId(), ignored -> new LinkedHashMap<>())
+                    .merge(granularity.periodOf(count.getViewHour()), count.getViews(), Long::sum);
+        }
+
+        List<PostViewSeriesDto> series = new ArrayList<>(posts.size());
+        for (PostTitle post : posts) {
+            List<ViewCountDto> points = new ArrayList<>();
+            long total = 0;
+            for (Map.Entry<LocalDateTime, Long> period : periodsByPost.getOrDefault(post.getId(), Map.of()).entrySet()) {
+                points.add(new ViewCountDto(period.getKey(), period.getValue()));
+                total += period.getValue();
+            }
+            series.add(new PostViewSeriesDto(post.getId(), post.getTitle(), total, points));
+        }
+        series.sort(Comparator.comparing(PostViewSeriesDto::getTotalViews).reversed()
+                .thenComparing(PostViewSeriesDto::getTitle));
+        return series;
+    }
+}
@@ -0,0 +1,254 @@
+package com.blog.fit.services.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.blog.fit.domain.ContentEdit;
+import com.blog.fit.domain.PostContentState;
+import com.blog.fit.domain.PostFilterRow;
+import com.blog.fit.domain.events.PostChangedEvent;
+import com.blog.fit.repositories.PostRepository;
+import com.blog.fit.services.PostAutosaveService;
+import com.blog.fit.services.PostRevisionService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies autosave edits to an in-memory copy of the post content and writes it back once the
+ * editor pauses for {@code blog.autosave.quiet-period}, or at the latest after
+ * {@code blog.autosave.max-delay}, so a burst of autosaves costs one write.
+ * Every accepted batch moves the content version on by one, and a batch made against any other
+ * version is rejected. The write only succeeds if the stored version is still the one the copy was
+ * loaded at; otherwise the post was replaced in the meantime and the unsaved edits are dropped.
+ */
+@Service
+@Slf4j
+public class PostAutosaveServiceImpl implements PostAutosaveService {
+
+    private static final int MAX_CONTENT_LENGTH = 50000;
+
+    private final PostRepository postRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final PostRevisionService postRevisionService;
+    private final long quietPeriodMillis;
+    private final long maxDelayMillis;
+    private final Map<UUID, Draft> drafts = new ConcurrentHashMap<>();
+    private final Counter edits;
+    private final Counter writes;
+
+    public PostAutosaveServiceImpl(
+            PostRepository postRepository,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            PostRevisionService postRevisionService,
+            @Value("${blog.autosave.quiet-period:3s}") Duration quietPeriod,
+            @Value("${blog.autosave.max-delay:15s}") Duration maxDelay,
+            MeterRegistry meterRegistry) {
+        this.postRepository = postRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.postRevisionService = postRevisionService;
+        this.quietPeriodMillis = quietPeriod.toMillis();
+        this.maxDelayMillis = maxDelay.toMillis();
+        this.edits = Counter.builder("posts.autosave.edits")
+                .description("Autosave edit batches applied")
+                .register(meterRegistry);
+        this.writes = Counter.builder("posts.autosave.writes")
+                .description("Autosaved content written to the database")
+                .register(meterRegistry);
+        Gauge.builder("posts.autosave.pending", drafts, Map::size)
+                .description("Posts with autosaved content held in memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public long applyEdits(UUID postId, UUID userId, long baseVersion, List<ContentEdit> contentEdits) {
+        while (true) {
+            Draft draft = drafts.get(postId);
+            if (draft == null) {
+                PostContentState state = postRepository.findContentStateById(postId)
+                        .orElseThrow(() -> new EntityNotFoundException("Post not found with ID: " + postId));
+                Draft loaded = new Draft(state.getAuthorId(), state.getContent(), state.getContentVersion());
+                draft = Objects.requireNonNullElse(drafts.putIfAbsent(postId, loaded), loaded);
+            }
+            synchronized (draft) {
+                // Flushed and dropped since it was looked up; start over from the stored content
+                if (draft.closed) {
+                    continue;
+                }
+                if (!draft.authorId.equals(userId)) {
+                    throw new IllegalArgumentException("User can only edit their own posts");
+                }
+                if (draft.version != baseVersion) {
+                    throw new IllegalStateException(
+                            "Content is at version " + draft.version + ", edits were made against " + baseVersion);
+                }
+                StringBuilder content = new StringBuilder(draft.content);
+                for (ContentEdit edit : contentEdits) {
+                    apply(content, edit);
+                }
+                if (content.length() > MAX_CONTENT_LENGTH) {
+                    throw new IllegalArgumentException("Content must be at most " + MAX_CONTENT_LENGTH + " characters");
+                }
+                long now = System.currentTimeMillis();
+                draft.content = content;
+                draft.version++;
+                if (draft.firstUnsavedAt == 0) {
+                    draft.firstUnsavedAt = now;
+                }
+                draft.lastEditAt = now;
+                edits.increment();
+                return draft.version;
+            }
+        }
+    }
+
+    @Override
+    public OptionalLong discard(UUID postId) {
+        Draft draft = drafts.remove(postId);
+        if (draft == null) {
+            return OptionalLong.empty();
+        }
+        synchronized (draft) {
+            draft.closed = true;
+            return OptionalLong.of(draft.version);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${blog.autosave.flush-interval:1s}")
+    public void flushDue() {
+        long now = System.currentTimeMillis();
+        drafts.forEach((postId, draft) -> {
+            boolean due;
+            synchronized (draft) {
+                if (draft.firstUnsavedAt == 0 && now - draft.lastEditAt >= quietPeriodMillis) {
+                    // Loaded for edits that were all rejected
+                    draft.closed = true;
+                    drafts.remove(postId, draft);
+                    return;
+                }
+                due = draft.firstUnsavedAt != 0
+                        && (now - draft.lastEditAt >= quietPeriodMillis || now - draft.firstUnsavedAt >= maxDelayMillis);
+            }
+            if (due) {
+                flush(postId, draft);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        drafts.forEach(this::flush);
+    }
+
+    private void flush(UUID postId, Draft draft) {
+        String content;
+        long version;
+        long expectedVersion;
+        synchronized (draft) {
+            if (draft.closed || draft.firstUnsavedAt == 0) {
+                return;
+            }
+            content = draft.content.toString();
+            version = draft.version;
+            expectedVersion = draft.savedVersion;
+        }
+
+        boolean saved;
+        try {
+            saved = Boolean.TRUE.equals(transactionTemplate.execute(status -> write(postId, content, version, expectedVersion)));
+        } catch (RuntimeException e) {
+            log.warn("Could not write autosaved content of post {}, retrying", postId, e);
+            return;
+        }
+
+        synchronized (draft) {
+            if (saved) {
+                writes.increment();
+                draft.savedVersion = version;
+                if (draft.version != version) {
+                    // Edited while the write ran; the newer edits wait for the next round
+                    draft.firstUnsavedAt = System.currentTimeMillis();
+                    return;
+                }
+                draft.firstUnsavedAt = 0;
+            } else {
+                log.warn("Post {} was changed outside autosave, dropping {} unsaved versions",
+                        postId, draft.version - expectedVersion);
+            }
+            // Nothing left to write; the next edit loads the stored content again
+            draft.closed = true;
+            drafts.remove(postId, draft);
+        }
+    }
+
+    private boolean write(UUID postId, String content, long version, long expectedVersion) {
+        PostContentState previous = postRepository.findContentStateById(postId).orElse(null);
+        if (previous == null || previous.getContentVersion() != expectedVersion) {
+            return false;
+        }
+        int updated = postRepository.updateContentIfVersion(
+                postId, content, PostServiceImpl.calculateReadingTime(content), version, expectedVersion, LocalDateTime.now());
+        if (updated == 0) {
+            return false;
+        }
+        postRevisionService.recordRevision(postId, previous.getTitle(), previous.getContent(), previous.getTitle(), content);
+        List<PostFilterRow> rows = postRepository.findFilterRowsById(postId);
+        Set<UUID> tagIds = rows.stream()
+                .map(PostFilterRow::getTagId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        eventPublisher.publishEvent(new PostChangedEvent(
+                postId, PostChangedEvent.ChangeType.UPDATED, Set.of(rows.get(0).getCategoryId()), tagIds));
+        return true;
+    }
+
+    private static void apply(StringBuilder content, ContentEdit edit) {
+        int end = edit.getPosition() + edit.getDeleteCount();
+        if (edit.getPosition() < 0 || edit.getDeleteCount() < 0 || end > content.length()) {
+            throw new IllegalArgumentException("Edit at " + edit.getPosition() + " deleting " + edit.getDeleteCount()
+                    + " characters is outside content of length " + content.length());
+        }
+        content.replace(edit.getPosition(), end, edit.getInsert() != null ? edit.getInsert() : "");
+    }
+
+    private static final class Draft {
+        private final UUID authorId;
+        private CharSequence content;
+        private long version;
+        // Version the stored content is at
+        private long savedVersion;
+        // When the oldest unsaved edit was made, 0 when everything is saved
+        private long firstUnsavedAt;
+        private long lastEditAt;
+        private boolean closed;
+
+        Draft(UUID authorId, String content, long version) {
+            this.authorId = authorId;
+            this.content = content;
+            this.version = version;
+            this.savedVersion = version;
+            this.lastEditAt = System.currentTimeMillis();
+        }
+    }
+}
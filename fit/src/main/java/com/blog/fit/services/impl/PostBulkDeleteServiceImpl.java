@@ -0,0 +1,228 @@
+package com.blog.fit.services.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.blog.fit.domain.BulkDeleteProgress;
+import com.blog.fit.domain.BulkDeleteStatus;
+import com.blog.fit.domain.PostFilterRow;
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.events.PostsDeletedEvent;
+import com.blog.fit.repositories.CommentRepository;
+import com.blog.fit.repositories.PostRepository;
+import com.blog.fit.services.PostAutosaveService;
+import com.blog.fit.services.PostBulkDeleteService;
+import com.blog.fit.services.PostRevisionService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes many posts of one author without loading them as entities. The posts are resolved to
+ * ids up front and removed {@code blog.posts.bulk-delete.chunk-size} at a time, each chunk in its
+ * own transaction: comments, tag links and revisions go first with one statement per table, then
+ * the posts themselves. One delete event for the chunk is written in the same transaction, so caches,
+ * search indexes and the outbox see exactly the posts that were removed in one go, and a failure only
+ * rolls back the chunk it happened in.
+ * Jobs run one at a time in the background; their progress is kept in memory for
+ * {@code blog.posts.bulk-delete.retention} after they finish.
+ */
+@Service
+@Slf4j
+public class PostBulkDeleteServiceImpl implements PostBulkDeleteService {
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final PostRevisionService postRevisionService;
+    private final PostAutosaveService postAutosaveService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Duration retention;
+    private final Map<UUID, Job> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "post-bulk-delete"));
+    private final Counter deletedPosts;
+
+    public PostBulkDeleteServiceImpl(
+            PostRepository postRepository,
+            CommentRepository commentRepository,
+            PostRevisionService postRevisionService,
+            PostAutosaveService postAutosaveService,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            @Value("${blog.posts.bulk-delete.chunk-size:500}") int chunkSize,
+            @Value("${blog.posts.bulk-delete.retention:1h}") Duration retention,
+            MeterRegistry meterRegistry) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.postRevisionService = postRevisionService;
+        this.postAutosaveService = postAutosaveService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.retention = retention;
+        this.deletedPosts = Counter.builder("posts.bulk-delete.deleted")
+                .description("Posts removed by bulk deletes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public BulkDeleteProgress startBulkDelete(UUID userId, Set<UUID> ids, UUID categoryId, UUID tagId, PostStatus status) {
+        boolean byIds = ids != null && !ids.isEmpty();
+        if (!byIds && categoryId == null && tagId == null && status == null) {
+            throw new IllegalArgumentException("Post ids or at least one filter are required");
+        }
+        if (byIds && (categoryId != null || tagId != null || status != null)) {
+            throw new IllegalArgumentException("Post ids cannot be combined with filters");
+        }
+
+        Job job = new Job(UUID.randomUUID(), userId);
+        synchronized (jobs) {
+            boolean running = jobs.values().stream()
+                    .anyMatch(other -> other.userId.equals(userId) && other.finishedAt == null);
+            if (running) {
+                throw new IllegalStateException("A bulk delete of this user's posts is already running");
+            }
+            jobs.put(job.id, job);
+        }
+        Set<UUID> requestedIds = byIds ? Set.copyOf(ids) : null;
+        executor.execute(() -> run(job, requestedIds, categoryId, tagId, status));
+        return job.progress();
+    }
+
+    @Override
+    public BulkDeleteProgress getBulkDelete(UUID jobId, UUID userId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new EntityNotFoundException("Bulk delete not found with ID: " + jobId);
+        }
+        if (!job.userId.equals(userId)) {
+            throw new IllegalArgumentException("User can only view their own bulk deletes");
+        }
+        return job.progress();
+    }
+
+    @Scheduled(fixedDelayString = "${blog.posts.bulk-delete.cleanup-interval:5m}")
+    public void removeFinished() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> {
+            LocalDateTime finishedAt = job.finishedAt;
+            return finishedAt != null && finishedAt.isBefore(cutoff);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Chunks already deleted stay deleted; the rest of a running job is dropped with the executor
+        executor.shutdownNow();
+    }
+
+    private void run(Job job, Set<UUID> requestedIds, UUID categoryId, UUID tagId, PostStatus status) {
+        job.status = BulkDeleteStatus.RUNNING;
+        job.startedAt = LocalDateTime.now();
+        try {
+            List<UUID> postIds = requestedIds != null
+                    ? findOwnIds(job.userId, requestedIds)
+                    : postRepository.findIdsByAuthor(job.userId, categoryId, tagId, status);
+            // The tag join yields one row per post, but a post could still show up twice
+            List<UUID> uniqueIds = List.copyOf(new LinkedHashSet<>(postIds));
+            job.matched = uniqueIds.size();
+            for (List<UUID> chunk : chunks(uniqueIds)) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IllegalStateException("Bulk delete was interrupted by shutdown");
+                }
+                int[] deleted = transactionTemplate.execute(transaction -> deleteChunk(chunk));
+                job.deleted += deleted[0];
+                job.commentsDeleted += deleted[1];
+                deletedPosts.increment(deleted[0]);
+                chunk.forEach(postAutosaveService::discard);
+            }
+            job.status = BulkDeleteStatus.COMPLETED;
+        } catch (RuntimeException e) {
+            log.warn("Bulk delete {} failed after {} of {} posts", job.id, job.deleted, job.matched, e);
+            job.error = e.getMessage();
+            job.status = BulkDeleteStatus.FAILED;
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    private List<UUID> findOwnIds(UUID userId, Set<UUID> ids) {
+        List<UUID> ownIds = new ArrayList<>();
+        for (List<UUID> chunk : chunks(List.copyOf(ids))) {
+            ownIds.addAll(postRepository.findIdsByAuthorIdAndIdIn(userId, chunk));
+        }
+        return ownIds;
+    }
+
+    // Returns the number of posts and comments removed
+    private int[] deleteChunk(List<UUID> postIds) {
+        Map<UUID, List<PostFilterRow>> rowsByPost = postRepository.findFilterRowsByIdIn(postIds).stream()
+                .collect(Collectors.groupingBy(PostFilterRow::getPostId));
+        // Posts deleted elsewhere since the ids were resolved are skipped
+        Set<UUID> existing = rowsByPost.keySet();
+        if (existing.isEmpty()) {
+            return new int[] {0, 0};
+        }
+        int comments = commentRepository.deleteAllByPostIdIn(existing);
+        postRepository.deleteTagLinksByPostIdIn(existing);
+        postRevisionService.deleteRevisions(existing);
+        int posts = postRepository.deleteAllByIdIn(existing);
+        List<PostFilterRow> rows = rowsByPost.values().stream().flatMap(List::stream).toList();
+        eventPublisher.publishEvent(new PostsDeletedEvent(
+                Set.copyOf(existing),
+                rows.stream().map(PostFilterRow::getCategoryId).collect(Collectors.toSet()),
+                rows.stream().map(PostFilterRow::getTagId).filter(Objects::nonNull).collect(Collectors.toSet())));
+        return new int[] {posts, comments};
+    }
+
+    private List<List<UUID>> chunks(List<UUID> ids) {
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static final class Job {
+        private final UUID id;
+        private final UUID userId;
+        private volatile BulkDeleteStatus status = BulkDeleteStatus.QUEUED;
+        private volatile int matched;
+        private volatile int deleted;
+        private volatile int commentsDeleted;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        Job(UUID id, UUID userId) {
+            this.id = id;
+            this.userId = userId;
+        }
+
+        BulkDeleteProgress progress() {
+            return new BulkDeleteProgress(id, status, matched, deleted, commentsDeleted, startedAt, finishedAt, error);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.blog.fit.services.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.blog.fit.domain.PostRevisionContent;
+import com.blog.fit.domain.PostRevisionSummary;
+import com.blog.fit.domain.entities.PostRevision;
+import com.blog.fit.repositories.PostRepository;
+import com.blog.fit.repositories.PostRevisionRepository;
+import com.blog.fit.revisions.ContentDelta;
+import com.blog.fit.services.PostRevisionService;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Stores every revision as a delta from the one before, with a full snapshot every
+ * {@code blog.revisions.snapshot-every} revisions, so rebuilding any revision applies a bounded
+ * number of deltas. A snapshot is also written when it is smaller than the delta, and when the
+ * stored post no longer matches the latest revision, e.g. for posts written before revisions existed.
+ */
+@Service
+public class PostRevisionServiceImpl implements PostRevisionService {
+
+    private final PostRevisionRepository postRevisionRepository;
+    private final PostRepository postRepository;
+    private final int snapshotEvery;
+
+    public PostRevisionServiceImpl(
+            PostRevisionRepository postRevisionRepository,
+            PostRepository postRepository,
+            @Value("${blog.revisions.snapshot-every:20}") int snapshotEvery) {
+        this.postRevisionRepository = postRevisionRepository;
+        this.postRepository = postRepository;
+        this.snapshotEvery = snapshotEvery;
+    }
+
+    @Override
+    @Transactional
+    public void recordRevision(UUID postId, String previousTitle, String previousContent, String title, String content) {
+        // The next number is read from the latest revision, so concurrent saves of the post must not interleave
+        postRepository.lockById(postId);
+        Optional<PostRevisionSummary> latest = postRevisionRepository.findFirstByPostIdOrderByRevisionNumberDesc(postId);
+        boolean chained = previousContent != null && latest
+                .filter(revision -> revision.getContentLength() == previousContent.length())
+                .filter(revision -> revision.getChecksum() == checksum(previousContent))
+                .isPresent();
+        boolean unchanged = content.equals(previousContent) && title.equals(previousTitle);
+        if (chained && unchanged) {
+            return;
+        }
+
+        int revisionNumber = latest.map(PostRevisionSummary::getRevisionNumber).orElse(0) + 1;
+        if (!chained && previousContent != null) {
+            // The stored post is the base of the delta, so it is kept as a revision of its own first
+            save(postId, revisionNumber++, previousTitle, previousContent, true, ContentDelta.snapshot(previousContent));
+            if (unchanged) {
+                return;
+            }
+            chained = true;
+        }
+
+        byte[] data = null;
+        if (chained) {
+            int snapshotNumber = postRevisionRepository.findSnapshotNumber(postId, revisionNumber - 1).orElse(0);
+            if (revisionNumber - snapshotNumber < snapshotEvery) {
+                data = ContentDelta.diff(previousContent, content);
+            }
+        }
+        // Only compress the whole content when the delta could be the larger of the two
+        if (data == null || data.length * 2 > content.length()) {
+            byte[] snapshot = ContentDelta.snapshot(content);
+            if (data == null || snapshot.length <= data.length) {
+                save(postId, revisionNumber, title, content, true, snapshot);
+                return;
+            }
+        }
+        save(postId, revisionNumber, title, content, false, data);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostRevisionSummary> listRevisions(UUID postId, UUID userId) {
+        checkAuthor(postId, userId);
+        return postRevisionRepository.findSummariesByPostId(postId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PostRevisionContent getRevision(UUID postId, int revisionNumber, UUID userId) {
+        checkAuthor(postId, userId);
+        EntityNotFoundException notFound = new EntityNotFoundException(
+                "Revision " + revisionNumber + " not found for post with ID: " + postId);
+        int snapshotNumber = postRevisionRepository.findSnapshotNumber(postId, revisionNumber).orElseThrow(() -> notFound);
+        List<PostRevision> chain = postRevisionRepository
+                .findByPostIdAndRevisionNumberBetweenOrderByRevisionNumberAsc(postId, snapshotNumber, revisionNumber);
+        PostRevision revision = chain.get(chain.size() - 1);
+        if (revision.getRevisionNumber() != revisionNumber) {
+            throw notFound;
+        }
+
+        String content = ContentDelta.restore(chain.get(0).getData());
+        for (PostRevision delta : chain.subList(1, chain.size())) {
+            content = ContentDelta.apply(content, delta.getData());
+        }
+        return new PostRevisionContent(revision.getRevisionNumber(), revision.getTitle(), content, revision.getCreatedAt());
+    }
+
+    @Override
+    @Transactional
+    public void deleteRevisions(Collection<UUID> postIds) {
+        postRevisionRepository.deleteAllByPostIdIn(postIds);
+    }
+
+    private void checkAuthor(UUID postId, UUID userId) {
+        UUID authorId = postRepository.findAuthorIdById(postId)
+                .orElseThrow(() -> new EntityNotFoundException("Post not found with ID: " + postId));
+        if (!authorId.equals(userId)) {
+            throw new IllegalArgumentException("User can only view revisions of their own posts");
+        }
+    }
+
+    private void save(UUID postId, int revisionNumber, String title, String content, boolean snapshot, byte[] data) {
+        postRevisionRepository.save(PostRevision.builder()
+                .postId(postId)
+                .revisionNumber(revisionNumber)
+                .title(title)
+                .snapshot(snapshot)
+                .data(data)
+                .contentLength(content.length())
+                .checksum(checksum(content))
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    private static int checksum(String content) {
+        CRC32 crc = new CRC32();
+        crc.update(content.getBytes(StandardCharsets.UTF_8));
+        return (int) crc.getValue();
+    }
+}
@@ -1,27 +1,58 @@
 package com.blog.fit.services.impl;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.blog.fit.domain.PostCursor;
+import com.blog.fit.domain.PostFacetCounts;
+import com.blog.fit.domain.PostField;
+import com.blog.fit.domain.PostFilterRow;
+import com.blog.fit.domain.PostIdPage;
+import com.blog.fit.domain.PostRetagResult;
+import com.blog.fit.domain.PostRevisionContent;
 import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.PostVersion;
+import com.blog.fit.domain.PostViewTag;
+import com.blog.fit.domain.TagMatchMode;
+import com.blog.fit.domain.dtos.AuthorDto;
+import com.blog.fit.domain.dtos.CategoryDto;
 import com.blog.fit.domain.dtos.CreatePostRequest;
+import com.blog.fit.domain.dtos.TagDto;
 import com.blog.fit.domain.dtos.UpdatePostRequest;
 import com.blog.fit.domain.entities.Category;
 import com.blog.fit.domain.entities.Post;
+import com.blog.fit.domain.entities.PostView;
 import com.blog.fit.domain.entities.Tag;
 import com.blog.fit.domain.entities.User;
+import com.blog.fit.domain.events.PostChangedEvent;
 import com.blog.fit.repositories.PostRepository;
+import com.blog.fit.repositories.PostViewRepository;
+import com.blog.fit.scheduling.ScheduledPostPublisher;
+import com.blog.fit.search.PostBitmapIndex;
 import com.blog.fit.services.CategoryService;
+import com.blog.fit.services.PostAutosaveService;
+import com.blog.fit.services.PostRevisionService;
 import com.blog.fit.services.PostService;
 import com.blog.fit.services.TagService;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -29,36 +60,137 @@ import lombok.RequiredArgsConstructor;
 public class PostServiceImpl implements PostService {
     
     private final PostRepository postRepository;
+    private final PostViewRepository postViewRepository;
     private final CategoryService categoryService;
     private final TagService tagService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PostBitmapIndex postBitmapIndex;
+    private final ScheduledPostPublisher scheduledPostPublisher;
+    private final PostAutosaveService postAutosaveService;
+    private final PostRevisionService postRevisionService;
 
-    private final int WORDS_PER_MINUTE = 200;
+    private static final int WORDS_PER_MINUTE = 200;
+    private static final int MAX_TAGS_PER_POST = 10;
 
     @Override
     @Transactional(readOnly = true)
-    public List<Post> getAllPosts(UUID categoryId, UUID tagId) {
-        if (categoryId != null && tagId != null) {
-            Category category = categoryService.getCategoryById(categoryId);
-            Tag tag = tagService.getTagById(tagId);
+    public PostIdPage getPublishedPostIds(UUID categoryId, UUID tagId, String cursor, Integer pageSize) {
+        if (categoryId != null) {
+            categoryService.getCategoryById(categoryId);
+        }
+        if (tagId != null) {
+            tagService.getTagById(tagId);
+        }
+
+        PostCursor after = cursor != null ? PostCursor.decode(cursor) : null;
+        Integer limit = pageSize != null ? pageSize + 1 : null;
+        List<PostCursor> keys = postRepository.findPublishedKeys(categoryId, tagId, after, limit);
 
-            return postRepository.findAllByStatusAndCategoryAndTagsContaining(PostStatus.PUBLISHED, category, tag);
+        String nextCursor = null;
+        if (pageSize != null && keys.size() > pageSize) {
+            keys = keys.subList(0, pageSize);
+            nextCursor = keys.get(pageSize - 1).encode();
         }
+        return new PostIdPage(keys.stream().map(PostCursor::getId).toList(), nextCursor);
+    }
+
+    @Override
+    public PostIdPage filterPublishedPostIds(UUID categoryId, Set<UUID> tagIds, TagMatchMode mode,
+            Set<UUID> excludedTagIds, String cursor, Integer pageSize) {
+        validateFilter(categoryId, tagIds, excludedTagIds);
+        PostCursor after = cursor != null ? PostCursor.decode(cursor) : null;
+        return postBitmapIndex.find(categoryId, tagIds, mode, excludedTagIds, after, pageSize);
+    }
+
+    @Override
+    public PostFacetCounts countFacets(UUID categoryId, Set<UUID> tagIds, TagMatchMode mode, Set<UUID> excludedTagIds) {
+        validateFilter(categoryId, tagIds, excludedTagIds);
+        return postBitmapIndex.countFacets(categoryId, tagIds, mode, excludedTagIds);
+    }
 
+    private void validateFilter(UUID categoryId, Set<UUID> tagIds, Set<UUID> excludedTagIds) {
         if (categoryId != null) {
-            Category category = categoryService.getCategoryById(categoryId);
-            return postRepository.findAllByStatusAndCategory(PostStatus.PUBLISHED, category);
+            categoryService.getCategoryById(categoryId);
         }
-        if (tagId != null) {
-            Tag tag = tagService.getTagById(tagId);
-            return postRepository.findAllByStatusAndTagsContaining(PostStatus.PUBLISHED, tag);
+        Set<UUID> referencedTagIds = new HashSet<>(tagIds);
+        referencedTagIds.addAll(excludedTagIds);
+        if (!referencedTagIds.isEmpty()) {
+            tagService.getTagsByIds(referencedTagIds);
         }
+    }
 
-        return postRepository.findAllByStatus(PostStatus.PUBLISHED);
+    @Override
+    @Transactional(readOnly = true)
+    public List<Post> getPostsByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return postRepository.findAllWithAssociationsByIdIn(ids);
     }
-    
+
     @Override
-    public List<Post> getDraftPosts(User user) {
-        return postRepository.findAllByAuthorAndStatus(user, PostStatus.DRAFT);
+    @Transactional(readOnly = true)
+    public List<PostView> getPostViews(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return postViewRepository.findAllById(ids);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PostView getPostView(UUID id) {
+        return postViewRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Post not found with ID: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostView> getDraftPostViews(UUID authorId) {
+        return postViewRepository.findAllByAuthorIdAndStatus(authorId, PostStatus.DRAFT);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, Map<String, Object>> getPostFields(List<UUID> ids, Set<PostField> fields) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, Tuple> rows = postViewRepository.findFieldsByIdIn(ids, fields).stream()
+                .collect(Collectors.toMap(row -> row.get("id", UUID.class), Function.identity()));
+        Map<UUID, Map<String, Object>> posts = new LinkedHashMap<>();
+        for (UUID id : ids) {
+            if (rows.containsKey(id)) {
+                posts.put(id, toFields(rows.get(id), fields));
+            }
+        }
+        return posts;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getDraftPostFields(UUID userId, Set<PostField> fields) {
+        return List.copyOf(getPostFields(postRepository.findIdsByAuthor(userId, null, null, PostStatus.DRAFT), fields).values());
+    }
+
+    // Same values and JSON names as PostDto, in its order, followed by the fields only the read model has
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> toFields(Tuple row, Set<PostField> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (PostField field : fields) {
+            values.put(field.getName(), switch (field) {
+                case AUTHOR -> new AuthorDto(row.get("authorId", UUID.class), row.get("authorName", String.class));
+                case CATEGORY -> CategoryDto.builder()
+                        .id(row.get("categoryId", UUID.class))
+                        .name(row.get("categoryName", String.class))
+                        .build();
+                case TAGS -> ((List<PostViewTag>) row.get(field.getName())).stream()
+                        .map(tag -> TagDto.builder().id(tag.getId()).name(tag.getName()).build())
+                        .collect(Collectors.toCollection(LinkedHashSet::new));
+                default -> row.get(field.getName());
+            });
+        }
+        return values;
     }
 
     @Override
@@ -67,7 +199,7 @@ public class PostServiceImpl implements PostService {
         Post newPost = new Post();
         newPost.setTitle(createPostRequest.getTitle());
         newPost.setContent(createPostRequest.getContent());
-        newPost.setStatus(createPostRequest.getStatus());
+        applyStatus(newPost, createPostRequest.getStatus(), createPostRequest.getPublishAt());
         newPost.setAuthor(user);
         newPost.setReadingTime(calculateReadingTime(createPostRequest.getContent()));
 
@@ -78,10 +210,37 @@ public class PostServiceImpl implements PostService {
         List<Tag> tags = tagService.getTagsByIds(tagIds);
         newPost.setTags(new HashSet<>(tags));
         
-        return postRepository.save(newPost);
+        Post savedPost = postRepository.save(newPost);
+        schedulePublishing(savedPost);
+        postRevisionService.recordRevision(savedPost.getId(), null, null, savedPost.getTitle(), savedPost.getContent());
+        eventPublisher.publishEvent(new PostChangedEvent(
+                savedPost.getId(),
+                PostChangedEvent.ChangeType.CREATED,
+                Set.of(category.getId()),
+                Set.copyOf(tagIds)));
+        return savedPost;
     }
 
-    private Integer calculateReadingTime(String content) {
+    private void applyStatus(Post post, PostStatus status, LocalDateTime publishAt) {
+        if (status == PostStatus.SCHEDULED) {
+            if (publishAt == null || !publishAt.isAfter(LocalDateTime.now())) {
+                throw new IllegalArgumentException("Scheduled posts need a publishAt in the future");
+            }
+            post.setPublishAt(publishAt);
+        } else {
+            post.setPublishAt(null);
+        }
+        post.setStatus(status);
+    }
+
+    // Registered before commit; if the transaction rolls back, the schedule fires without effect
+    private void schedulePublishing(Post post) {
+        if (post.getStatus() == PostStatus.SCHEDULED) {
+            scheduledPostPublisher.schedule(post.getId(), post.getPublishAt());
+        }
+    }
+
+    static Integer calculateReadingTime(String content) {
         if (content == null || content.isEmpty()) {
             return 0;
         }
@@ -97,9 +256,27 @@ public class PostServiceImpl implements PostService {
     }
 
     @Override
+    public LocalDateTime getPostUpdatedAt(UUID id) {
+        return postRepository.findUpdatedAtById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Post not found with ID: " + id));
+    }
+
+    @Override
+    public PostVersion getPostVersion(UUID id) {
+        return postRepository.findVersionById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Post not found with ID: " + id));
+    }
+
+    @Override
+    @Transactional
     public void deletePostById(UUID id) {
         Post post = getPostById(id);
+        Set<UUID> categoryIds = Set.of(post.getCategory().getId());
+        Set<UUID> tagIds = post.getTags().stream().map(Tag::getId).collect(Collectors.toSet());
+        postAutosaveService.discard(id);
+        postRevisionService.deleteRevisions(Set.of(id));
         postRepository.delete(post);
+        eventPublisher.publishEvent(new PostChangedEvent(id, PostChangedEvent.ChangeType.DELETED, categoryIds, tagIds));
     }
 
     @Override
@@ -107,25 +284,144 @@ public class PostServiceImpl implements PostService {
     public Post updatePost(UUID id, UpdatePostRequest updatePostRequest) {
         Post existingPost = postRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Post not found with ID: " + id));
+        String previousTitle = existingPost.getTitle();
+        String previousContent = existingPost.getContent();
 
         existingPost.setTitle(updatePostRequest.getTitle());
         String postContent = updatePostRequest.getContent();
-        existingPost.setContent(postContent);
-        existingPost.setStatus(existingPost.getStatus());
+        replaceContent(existingPost, postContent);
+        PostStatus status = updatePostRequest.getStatus() != null ? updatePostRequest.getStatus() : existingPost.getStatus();
+        applyStatus(existingPost, status, updatePostRequest.getPublishAt());
         existingPost.setReadingTime(calculateReadingTime(postContent));
 
         UUID updatePostRequestCategoryId = updatePostRequest.getCategoryId();
+        Set<UUID> affectedCategoryIds = new HashSet<>();
+        affectedCategoryIds.add(existingPost.getCategory().getId());
+        affectedCategoryIds.add(updatePostRequestCategoryId);
         if(!existingPost.getCategory().getId().equals(updatePostRequestCategoryId)) {
             Category category = categoryService.getCategoryById(updatePostRequestCategoryId);
             existingPost.setCategory(category);
         }
 
-        Set<UUID> existingTagIds = existingPost.getTags().stream().map(Tag::getId).collect(Collectors.toSet());
+        Set<UUID> existingTagIds = postRepository.findTagIdsById(id);
         Set<UUID> updatePostRequestTagIds = updatePostRequest.getTagIds();
         if(!existingTagIds.equals(updatePostRequestTagIds)) {
-            List<Tag> newTags = tagService.getTagsByIds(updatePostRequestTagIds);
-            existingPost.setTags(new HashSet<>(newTags));
+            replaceTags(id, existingTagIds, updatePostRequestTagIds);
+            // Only the join table changed so far, which would not count as an update of the post
+            existingPost.setUpdatedAt(LocalDateTime.now());
+        }
+        Set<UUID> affectedTagIds = new HashSet<>(existingTagIds);
+        affectedTagIds.addAll(updatePostRequestTagIds);
+
+        Post savedPost = postRepository.save(existingPost);
+        schedulePublishing(savedPost);
+        postRevisionService.recordRevision(id, previousTitle, previousContent, savedPost.getTitle(), postContent);
+        eventPublisher.publishEvent(new PostChangedEvent(id, PostChangedEvent.ChangeType.UPDATED, affectedCategoryIds, affectedTagIds));
+        return savedPost;
+    }
+
+    @Override
+    @Transactional
+    public Post restoreRevision(UUID id, int revisionNumber, UUID userId) {
+        PostRevisionContent revision = postRevisionService.getRevision(id, revisionNumber, userId);
+        Post post = getPostById(id);
+        String previousTitle = post.getTitle();
+        String previousContent = post.getContent();
+
+        post.setTitle(revision.getTitle());
+        replaceContent(post, revision.getContent());
+        post.setReadingTime(calculateReadingTime(revision.getContent()));
+
+        Post savedPost = postRepository.save(post);
+        postRevisionService.recordRevision(id, previousTitle, previousContent, revision.getTitle(), revision.getContent());
+        eventPublisher.publishEvent(new PostChangedEvent(
+                id,
+                PostChangedEvent.ChangeType.UPDATED,
+                Set.of(post.getCategory().getId()),
+                postRepository.findTagIdsById(id)));
+        return savedPost;
+    }
+
+    @Override
+    @Transactional
+    public PostRetagResult retagPosts(UUID userId, Set<UUID> postIds, Set<UUID> addTagIds, Set<UUID> removeTagIds) {
+        Set<UUID> added = addTagIds != null ? addTagIds : Set.of();
+        Set<UUID> removed = removeTagIds != null ? removeTagIds : Set.of();
+        if (added.isEmpty() && removed.isEmpty()) {
+            throw new IllegalArgumentException("At least one tag to add or remove is required");
+        }
+        if (!Collections.disjoint(added, removed)) {
+            throw new IllegalArgumentException("A tag cannot be both added and removed");
+        }
+        Set<UUID> referencedTagIds = new HashSet<>(added);
+        referencedTagIds.addAll(removed);
+        tagService.getTagsByIds(referencedTagIds);
+        if (postRepository.findIdsByAuthorIdAndIdIn(userId, postIds).size() != postIds.size()) {
+            throw new IllegalArgumentException("User can only retag their own posts");
+        }
+
+        // Only posts that gain or lose a tag are written and announced
+        Map<UUID, List<PostFilterRow>> rowsByPost = postRepository.findFilterRowsByIdIn(postIds).stream()
+                .collect(Collectors.groupingBy(PostFilterRow::getPostId));
+        Map<UUID, Set<UUID>> changedTagIds = new HashMap<>();
+        rowsByPost.forEach((postId, rows) -> {
+            Set<UUID> tagIds = rows.stream()
+                    .map(PostFilterRow::getTagId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            if (!tagIds.containsAll(added) || !Collections.disjoint(tagIds, removed)) {
+                changedTagIds.put(postId, tagIds);
+            }
+        });
+        if (changedTagIds.isEmpty()) {
+            return new PostRetagResult(postIds.size(), 0);
+        }
+
+        Set<UUID> changedIds = changedTagIds.keySet();
+        if (!removed.isEmpty()) {
+            postRepository.deleteTagLinks(changedIds, removed);
+        }
+        if (!added.isEmpty()) {
+            postRepository.insertTagLinks(changedIds, added);
+            if (!postRepository.findIdsWithMoreTagsThan(changedIds, MAX_TAGS_PER_POST).isEmpty()) {
+                throw new IllegalArgumentException("Posts can have at most " + MAX_TAGS_PER_POST + " tags");
+            }
+        }
+        postRepository.setUpdatedAtByIdIn(changedIds, LocalDateTime.now());
+        changedTagIds.forEach((postId, tagIds) -> {
+            // Before and after the change, so the post leaves and enters the right tag listings
+            Set<UUID> affectedTagIds = new HashSet<>(tagIds);
+            affectedTagIds.addAll(added);
+            eventPublisher.publishEvent(new PostChangedEvent(
+                    postId,
+                    PostChangedEvent.ChangeType.UPDATED,
+                    Set.of(rowsByPost.get(postId).get(0).getCategoryId()),
+                    affectedTagIds));
+        });
+        return new PostRetagResult(postIds.size(), changedIds.size());
+    }
+
+    // Writes only the links that changed, without loading the post's tags collection
+    private void replaceTags(UUID postId, Set<UUID> existingTagIds, Set<UUID> tagIds) {
+        Set<UUID> removed = new HashSet<>(existingTagIds);
+        removed.removeAll(tagIds);
+        Set<UUID> added = new HashSet<>(tagIds);
+        added.removeAll(existingTagIds);
+        if (!removed.isEmpty()) {
+            postRepository.deleteTagLinks(Set.of(postId), removed);
+        }
+        if (!added.isEmpty()) {
+            tagService.getTagsByIds(added);
+            postRepository.insertTagLinks(Set.of(postId), added);
+        }
+    }
+
+    private void replaceContent(Post post, String content) {
+        if (!content.equals(post.getContent())) {
+            // Replaces whatever autosave holds; edits against any earlier version are rejected
+            long autosavedVersion = postAutosaveService.discard(post.getId()).orElse(0);
+            post.setContentVersion(Math.max(post.getContentVersion(), autosavedVersion) + 1);
         }
-        return postRepository.save(existingPost);
+        post.setContent(content);
     }
 }
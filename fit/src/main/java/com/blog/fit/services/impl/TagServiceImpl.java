@@ -4,9 +4,12 @@ import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import com.blog.fit.cache.ReferenceDataCacheEvictor;
 import com.blog.fit.domain.entities.Tag;
+import com.blog.fit.domain.events.TagChangedEvent;
 import com.blog.fit.repositories.TagRepository;
 import com.blog.fit.services.TagService;
 
@@ -18,6 +21,8 @@ import lombok.RequiredArgsConstructor;
 public class TagServiceImpl implements TagService {
 
     private final TagRepository tagRepository;
+    private final ReferenceDataCacheEvictor cacheEvictor;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Override
@@ -25,6 +30,11 @@ public class TagServiceImpl implements TagService {
         return tagRepository.findAllWithPostCount();
     }
 
+    @Override
+    public List<Tag> getTagsSortedByName() {
+        return tagRepository.findAllByOrderByNameAsc();
+    }
+
     @Override
     public Tag getTagById(UUID id) {
         return tagRepository.findById(id)
@@ -44,7 +54,12 @@ public class TagServiceImpl implements TagService {
     @Override
     public Tag createTag(String name) {
         return tagRepository.findByName(name)
-                .orElseGet(() -> tagRepository.save(Tag.builder().name(name).build()));
+                .orElseGet(() -> {
+                    Tag savedTag = tagRepository.save(Tag.builder().name(name).build());
+                    cacheEvictor.evictReferenceQueries();
+                    eventPublisher.publishEvent(new TagChangedEvent(savedTag.getId(), TagChangedEvent.ChangeType.CREATED));
+                    return savedTag;
+                });
     }
 
     @Override
@@ -60,7 +75,10 @@ public class TagServiceImpl implements TagService {
                 });
         
         tag.setName(name);
-        return tagRepository.save(tag);
+        Tag savedTag = tagRepository.save(tag);
+        cacheEvictor.evictTag(id);
+        eventPublisher.publishEvent(new TagChangedEvent(id, TagChangedEvent.ChangeType.UPDATED));
+        return savedTag;
     }
 
     @Override
@@ -69,6 +87,8 @@ public class TagServiceImpl implements TagService {
                 .orElseThrow(() -> new EntityNotFoundException("Tag with id " + id + " not found"));
         
         tagRepository.delete(tag);
+        cacheEvictor.evictTag(id);
+        eventPublisher.publishEvent(new TagChangedEvent(id, TagChangedEvent.ChangeType.DELETED));
     }
 
     @Override
@@ -0,0 +1,219 @@
+package com.blog.fit.stream;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.blog.fit.domain.dtos.CommentLikesDto;
+import com.blog.fit.domain.entities.Comment;
+import com.blog.fit.domain.events.CommentChangedEvent;
+import com.blog.fit.mappers.CommentMapper;
+import com.blog.fit.outbox.DomainEventConsumer;
+import com.blog.fit.repositories.CommentRepository;
+import com.blog.fit.services.PostService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes comment changes of a post to its open event streams. Open connections hold no thread:
+ * each subscriber has a small bounded queue, drained on a virtual thread only while it has events.
+ * A subscriber whose queue overflows is disconnected and reloads the comments when it reconnects.
+ * Likes are not sent per click; the comments liked since the last round are collected and their
+ * current counts are sent once every {@code blog.comments.stream.like-interval}.
+ * Events are built once and the same frames are queued for every subscriber of the post.
+ */
+@Component
+@Slf4j
+public class CommentStream implements DomainEventConsumer {
+
+    public static final String CREATED = "comment-created";
+    public static final String UPDATED = "comment-updated";
+    public static final String DELETED = "comment-deleted";
+    public static final String LIKES = "comment-likes";
+
+    private final CommentRepository commentRepository;
+    private final PostService postService;
+    private final CommentMapper commentMapper;
+    private final long timeoutMillis;
+    private final int queueSize;
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    // Comment id to post id of comments liked or unliked since the last round
+    private final Map<UUID, UUID> likedComments = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter slowDisconnects;
+
+    public CommentStream(
+            CommentRepository commentRepository,
+            PostService postService,
+            CommentMapper commentMapper,
+            @Value("${blog.comments.stream.timeout:30m}") Duration timeout,
+            @Value("${blog.comments.stream.queue-size:64}") int queueSize,
+            MeterRegistry meterRegistry) {
+        this.commentRepository = commentRepository;
+        this.postService = postService;
+        this.commentMapper = commentMapper;
+        this.timeoutMillis = timeout.toMillis();
+        this.queueSize = queueSize;
+        this.slowDisconnects = Counter.builder("comments.stream.slow.disconnects")
+                .description("Comment streams closed because the client did not keep up")
+                .register(meterRegistry);
+        Gauge.builder("comments.stream.subscribers", subscribers,
+                        streams -> streams.values().stream().mapToInt(Set::size).sum())
+                .description("Open comment streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of the comment changes of {@code postId}; throws when the post does not exist.
+     */
+    public SseEmitter subscribe(UUID postId) {
+        postService.getPostUpdatedAt(postId);
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(postId, emitter, new ArrayBlockingQueue<>(queueSize));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        // Added under the map's lock for the post, so a concurrent remove cannot drop the set in between
+        subscribers.compute(postId, (ignored, streams) -> {
+            Set<Subscriber> postStreams = streams != null ? streams : ConcurrentHashMap.newKeySet();
+            postStreams.add(subscriber);
+            return postStreams;
+        });
+        // Sends the response headers right away, so the client knows the stream is open
+        enqueue(subscriber, SseEmitter.event().comment("connected").build());
+        return emitter;
+    }
+
+    @Override
+    public String getConsumerName() {
+        return "comment-stream";
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void consume(Object domainEvent) {
+        if (!(domainEvent instanceof CommentChangedEvent event) || !subscribers.containsKey(event.getPostId())) {
+            return;
+        }
+        switch (event.getChangeType()) {
+            case CREATED, UPDATED -> commentRepository.findById(event.getCommentId()).ifPresent(comment -> publish(
+                    event.getPostId(),
+                    SseEmitter.event()
+                            .name(event.getChangeType() == CommentChangedEvent.ChangeType.CREATED ? CREATED : UPDATED)
+                            .data(commentMapper.toDto(comment))));
+            case DELETED -> publish(event.getPostId(), SseEmitter.event()
+                    .name(DELETED)
+                    .data(Map.of("id", event.getCommentId())));
+            case LIKED, UNLIKED -> likedComments.put(event.getCommentId(), event.getPostId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${blog.comments.stream.like-interval:500ms}")
+    @Transactional(readOnly = true)
+    public void publishLikes() {
+        if (likedComments.isEmpty()) {
+            return;
+        }
+        Set<UUID> commentIds = Set.copyOf(likedComments.keySet());
+        likedComments.keySet().removeAll(commentIds);
+        for (Comment comment : commentRepository.findAllById(commentIds)) {
+            publish(comment.getPost().getId(), SseEmitter.event()
+                    .name(LIKES)
+                    .data(new CommentLikesDto(comment.getId(), comment.getLikes())));
+        }
+    }
+
+    // Keeps idle connections from being closed by proxies and finds clients that went away
+    @Scheduled(fixedDelayString = "${blog.comments.stream.heartbeat-interval:20s}")
+    public void heartbeat() {
+        Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+        subscribers.values().forEach(streams -> streams.forEach(subscriber -> enqueue(subscriber, heartbeat)));
+    }
+
+    @PreDestroy
+    public void close() {
+        subscribers.values().forEach(streams -> streams.forEach(subscriber -> subscriber.emitter().complete()));
+        senders.shutdown();
+    }
+
+    private void publish(UUID postId, SseEmitter.SseEventBuilder event) {
+        Set<Subscriber> streams = subscribers.get(postId);
+        if (streams != null) {
+            Set<DataWithMediaType> frames = event.build();
+            streams.forEach(subscriber -> enqueue(subscriber, frames));
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Set<DataWithMediaType> event) {
+        if (!subscriber.queue().offer(event)) {
+            slowDisconnects.increment();
+            remove(subscriber);
+            subscriber.emitter().complete();
+            return;
+        }
+        if (subscriber.draining().compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            do {
+                Set<DataWithMediaType> event;
+                while ((event = subscriber.queue().poll()) != null) {
+                    subscriber.emitter().send(event);
+                }
+                subscriber.draining().set(false);
+                // An event queued after the last poll but before the flag was cleared found no drain running
+            } while (!subscriber.queue().isEmpty() && subscriber.draining().compareAndSet(false, true));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Closing comment stream of post {}: {}", subscriber.postId(), e.getMessage());
+            remove(subscriber);
+            subscriber.emitter().completeWithError(e);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.postId(), (postId, streams) -> {
+            streams.remove(subscriber);
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    private record Subscriber(UUID postId, SseEmitter emitter, BlockingQueue<Set<DataWithMediaType>> queue, AtomicBoolean draining) {
+
+        Subscriber(UUID postId, SseEmitter emitter, BlockingQueue<Set<DataWithMediaType>> queue) {
+            this(postId, emitter, queue, new AtomicBoolean());
+        }
+
+        // Identity semantics, so two streams of the same post are never confused in a set
+        @Override
+        public boolean equals(Object other) {
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+-- Runs on every startup after Hibernate's ddl-auto=update, which only adds tables and columns.
+-- Every statement must be safe to run again.
+
+-- Post statuses were stored with a check constraint listing DRAFT and PUBLISHED, which rejects SCHEDULED
+ALTER TABLE posts DROP CONSTRAINT IF EXISTS posts_status_check;
+
+-- The read model reads post content from the posts table instead of keeping a copy
+ALTER TABLE post_view DROP COLUMN IF EXISTS content;
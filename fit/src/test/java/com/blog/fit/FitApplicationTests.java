@@ -1,9 +1,12 @@
 package com.blog.fit;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 
+// Same configuration as the web tests, so one context polls the outbox of the shared test database
 @SpringBootTest
+@AutoConfigureMockMvc
 class FitApplicationTests {
 
 	@Test
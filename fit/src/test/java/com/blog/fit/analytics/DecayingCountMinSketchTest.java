@@ -0,0 +1,130 @@
+package com.blog.fit.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class DecayingCountMinSketchTest {
+
+    private static final Duration HALF_LIFE = Duration.ofHours(1);
+    private static final long HOUR = HALF_LIFE.toMillis();
+    private static final long T0 = 1_700_000_000_000L;
+
+    @Test
+    void rejectsAWidthThatIsNotAPowerOfTwo() {
+        assertThatThrownBy(() -> new DecayingCountMinSketch(1000, HALF_LIFE, T0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Count-min never undercounts, and overcounts by at most e / width of the total for all but a few keys
+    @Test
+    void estimatesStayWithinTheCountMinBounds() {
+        int width = 256;
+        DecayingCountMinSketch sketch = new DecayingCountMinSketch(width, HALF_LIFE, T0);
+        Random random = new Random(7);
+        Map<UUID, Integer> counts = new HashMap<>();
+        long total = 0;
+        for (int i = 0; i < 2_000; i++) {
+            UUID key = UUID.randomUUID();
+            // A few heavy keys over a long tail, like post views
+            int count = i < 20 ? 500 + random.nextInt(500) : 1 + random.nextInt(5);
+            for (int n = 0; n < count; n++) {
+                sketch.add(key, T0);
+            }
+            counts.put(key, count);
+            total += count;
+        }
+
+        double bound = Math.E / width * total;
+        int withinBound = 0;
+        for (Map.Entry<UUID, Integer> entry : counts.entrySet()) {
+            double estimate = sketch.estimate(entry.getKey());
+            assertThat(estimate).isGreaterThanOrEqualTo(entry.getValue());
+            if (estimate - entry.getValue() <= bound) {
+                withinBound++;
+            }
+        }
+        assertThat(withinBound).isGreaterThanOrEqualTo(counts.size() * 95 / 100);
+    }
+
+    @Test
+    void countsHalveEveryHalfLife() {
+        DecayingCountMinSketch sketch = new DecayingCountMinSketch(64, HALF_LIFE, T0);
+        UUID key = UUID.randomUUID();
+        for (int i = 0; i < 8; i++) {
+            sketch.add(key, T0);
+        }
+
+        assertThat(sketch.present(sketch.estimate(key), T0 + HOUR)).isCloseTo(4, within(1e-9));
+        assertThat(sketch.present(sketch.estimate(key), T0 + 3 * HOUR)).isCloseTo(1, within(1e-9));
+    }
+
+    @Test
+    void laterEventsWeighMoreThanEarlierOnes() {
+        DecayingCountMinSketch sketch = new DecayingCountMinSketch(64, HALF_LIFE, T0);
+        UUID old = UUID.randomUUID();
+        UUID recent = UUID.randomUUID();
+        sketch.add(old, T0);
+        sketch.add(old, T0);
+        sketch.add(recent, T0 + 2 * HOUR);
+
+        long now = T0 + 2 * HOUR;
+        assertThat(sketch.present(sketch.estimate(old), now)).isCloseTo(0.5, within(1e-9));
+        assertThat(sketch.present(sketch.estimate(recent), now)).isCloseTo(1, within(1e-9));
+    }
+
+    @Test
+    void rescaleKeepsPresentCountsAndReturnsItsFactor() {
+        DecayingCountMinSketch sketch = new DecayingCountMinSketch(64, HALF_LIFE, T0);
+        UUID key = UUID.randomUUID();
+        sketch.add(key, T0 + HOUR);
+        sketch.add(key, T0 + 5 * HOUR);
+        long now = T0 + 6 * HOUR;
+        double before = sketch.present(sketch.estimate(key), now);
+        double rawBefore = sketch.estimate(key);
+
+        double factor = sketch.rescale(now);
+
+        assertThat(factor).isCloseTo(Math.pow(2, -6), within(1e-12));
+        assertThat(sketch.estimate(key)).isCloseTo(rawBefore * factor, within(1e-9));
+        assertThat(sketch.present(sketch.estimate(key), now)).isCloseTo(before, within(1e-9));
+        assertThat(sketch.raw(before, now)).isCloseTo(sketch.estimate(key), within(1e-9));
+    }
+
+    @Test
+    void concurrentAddsAreNotLost() throws Exception {
+        DecayingCountMinSketch sketch = new DecayingCountMinSketch(16, HALF_LIFE, T0);
+        UUID key = UUID.randomUUID();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        sketch.add(key, T0);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(sketch.estimate(key)).isEqualTo(80_000);
+    }
+}
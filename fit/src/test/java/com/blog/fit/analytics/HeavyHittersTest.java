@@ -0,0 +1,73 @@
+package com.blog.fit.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.blog.fit.analytics.HeavyHitters.Hitter;
+
+class HeavyHittersTest {
+
+    private final HeavyHitters hitters = new HeavyHitters(3);
+    private final UUID first = UUID.randomUUID();
+    private final UUID second = UUID.randomUUID();
+    private final UUID third = UUID.randomUUID();
+    private final UUID fourth = UUID.randomUUID();
+
+    @Test
+    void keepsTheHighestScoresWithinCapacity() {
+        hitters.offer(first, 10);
+        hitters.offer(second, 5);
+        hitters.offer(third, 7);
+
+        hitters.offer(fourth, 4);
+        assertThat(hitters.top(5)).extracting(Hitter::id).containsExactly(first, third, second);
+
+        hitters.offer(fourth, 6);
+        assertThat(hitters.top(5)).extracting(Hitter::id).containsExactly(first, third, fourth);
+        assertThat(hitters.top(2)).extracting(Hitter::id).containsExactly(first, third);
+    }
+
+    @Test
+    void reofferedKeyTakesItsNewScoreWithoutTakingAnotherSlot() {
+        hitters.offer(first, 1);
+        hitters.offer(second, 2);
+        hitters.offer(third, 3);
+
+        hitters.offer(first, 9);
+        hitters.offer(second, 0.5);
+
+        assertThat(hitters.top(5)).containsExactly(new Hitter(first, 9), new Hitter(third, 3), new Hitter(second, 0.5));
+    }
+
+    @Test
+    void removedKeyFreesItsSlot() {
+        hitters.offer(first, 3);
+        hitters.offer(second, 2);
+        hitters.offer(third, 1);
+
+        hitters.remove(first);
+        hitters.offer(fourth, 0.1);
+
+        assertThat(hitters.top(5)).extracting(Hitter::id).containsExactly(second, third, fourth);
+        hitters.remove(second);
+        hitters.remove(third);
+        hitters.remove(fourth);
+        assertThat(hitters.isEmpty()).isTrue();
+    }
+
+    // The eviction order has to follow the scaled scores, not the ones they were inserted with
+    @Test
+    void rescaledScoresKeepTheirOrderAndEvictTheLowest() {
+        hitters.offer(first, 8);
+        hitters.offer(second, 4);
+        hitters.offer(third, 2);
+
+        hitters.rescale(0.25);
+        hitters.offer(fourth, 1.5);
+
+        assertThat(hitters.top(5)).containsExactly(new Hitter(first, 2), new Hitter(fourth, 1.5), new Hitter(second, 1));
+    }
+}
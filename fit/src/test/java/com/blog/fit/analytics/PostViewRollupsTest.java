@@ -0,0 +1,137 @@
+package com.blog.fit.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PostViewRollupsTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Map<UUID, Long>> flushes = new ArrayList<>();
+    private boolean databaseDown;
+
+    private final UUID first = UUID.randomUUID();
+    private final UUID second = UUID.randomUUID();
+    private final UUID third = UUID.randomUUID();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void stubDatabase() {
+        given(jdbcTemplate.execute(any(ConnectionCallback.class))).willReturn("H2");
+        given(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .willAnswer(invocation -> {
+                    if (databaseDown) {
+                        throw new DataAccessResourceFailureException("database down");
+                    }
+                    Map<UUID, Long> written = new HashMap<>();
+                    for (Object[] row : (Collection<Object[]>) invocation.getArgument(1)) {
+                        written.merge((UUID) row[0], (Long) row[2], Long::sum);
+                    }
+                    flushes.add(written);
+                    return new int[0][];
+                });
+    }
+
+    @Test
+    void writesOneSummedRowPerPostAndHour() {
+        PostViewRollups rollups = rollups(Duration.ZERO, 100);
+        rollups.record(first);
+        rollups.record(second);
+        rollups.record(first);
+        rollups.record(first);
+
+        rollups.drain();
+
+        assertThat(flushes).containsExactly(Map.of(first, 3L, second, 1L));
+    }
+
+    @Test
+    void waitsForTheFlushIntervalUnlessThePendingCapIsReached() {
+        PostViewRollups rollups = rollups(Duration.ofHours(1), 2);
+        rollups.record(first);
+        rollups.drain();
+        assertThat(flushes).isEmpty();
+
+        rollups.record(second);
+        rollups.record(third);
+        rollups.drain();
+
+        // The third post found the totals full, so they were written early to make room for it
+        assertThat(flushes).containsExactly(Map.of(first, 1L, second, 1L));
+        assertThat(meterRegistry.get("posts.views.pending").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsTotalsOfAFailedFlushAndDropsNewKeysWhileOverTheCap() {
+        PostViewRollups rollups = rollups(Duration.ZERO, 2);
+        databaseDown = true;
+        rollups.record(first);
+        rollups.record(second);
+        rollups.record(third);
+        rollups.drain();
+
+        rollups.record(first);
+        rollups.drain();
+        databaseDown = false;
+        rollups.drain();
+
+        assertThat(flushes).containsExactly(Map.of(first, 2L, second, 1L));
+        assertThat(meterRegistry.get("posts.views.discarded").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("posts.views.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void closeWritesWhatIsStillBuffered() {
+        PostViewRollups rollups = rollups(Duration.ofHours(1), 100);
+        rollups.record(second);
+
+        rollups.close();
+
+        assertThat(flushes).containsExactly(Map.of(second, 1L));
+    }
+
+    @Test
+    void countsViewsRefusedByAFullBuffer() {
+        PostViewRollups rollups = new PostViewRollups(jdbcTemplate, transactionTemplate(), 2, Duration.ZERO, 100, meterRegistry);
+        rollups.record(first);
+        rollups.record(first);
+        rollups.record(first);
+
+        rollups.drain();
+
+        assertThat(flushes).containsExactly(Map.of(first, 2L));
+        assertThat(meterRegistry.get("posts.views.dropped").counter().count()).isEqualTo(1);
+    }
+
+    private PostViewRollups rollups(Duration flushInterval, int maxPendingKeys) {
+        return new PostViewRollups(jdbcTemplate, transactionTemplate(), 1024, flushInterval, maxPendingKeys, meterRegistry);
+    }
+
+    private static TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(mock(PlatformTransactionManager.class));
+    }
+}
@@ -0,0 +1,83 @@
+package com.blog.fit.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class ViewRingBufferTest {
+
+    @Test
+    void rejectsACapacityThatIsNotAPowerOfTwo() {
+        assertThatThrownBy(() -> new ViewRingBuffer(100)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void refusesViewsOnceFullAndAcceptsThemAgainAfterADrain() {
+        ViewRingBuffer buffer = new ViewRingBuffer(4);
+        List<Long> drained = new ArrayList<>();
+        UUID postId = UUID.randomUUID();
+
+        for (long at = 1; at <= 4; at++) {
+            assertThat(buffer.offer(postId, at)).isTrue();
+        }
+        assertThat(buffer.offer(postId, 5)).isFalse();
+
+        assertThat(buffer.drain((id, at) -> drained.add(at))).isEqualTo(4);
+        assertThat(buffer.offer(postId, 6)).isTrue();
+        assertThat(buffer.drain((id, at) -> drained.add(at))).isEqualTo(1);
+        assertThat(drained).containsExactly(1L, 2L, 3L, 4L, 6L);
+        assertThat(buffer.drain((id, at) -> drained.add(at))).isZero();
+    }
+
+    // Every accepted view comes out exactly once, however the producers interleave with the consumer
+    @Test
+    void concurrentProducersLoseNothingTheyWereAllowedToWrite() throws InterruptedException {
+        ViewRingBuffer buffer = new ViewRingBuffer(64);
+        int producers = 4;
+        int viewsPerProducer = 50_000;
+        List<UUID> postIds = new ArrayList<>();
+        Map<UUID, AtomicInteger> accepted = new ConcurrentHashMap<>();
+        Map<UUID, Integer> drained = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(producers);
+
+        for (int p = 0; p < producers; p++) {
+            UUID postId = UUID.randomUUID();
+            postIds.add(postId);
+            accepted.put(postId, new AtomicInteger());
+            Thread producer = new Thread(() -> {
+                long lastAt = 0;
+                for (int i = 0; i < viewsPerProducer; i++) {
+                    if (buffer.offer(postId, ++lastAt)) {
+                        accepted.get(postId).incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+            producer.start();
+        }
+
+        Map<UUID, Long> lastSeen = new ConcurrentHashMap<>();
+        while (done.getCount() > 0) {
+            buffer.drain((postId, at) -> {
+                // Views of one producer keep their order
+                assertThat(at).isGreaterThan(lastSeen.getOrDefault(postId, 0L));
+                lastSeen.put(postId, at);
+                drained.merge(postId, 1, Integer::sum);
+            });
+        }
+        buffer.drain((postId, at) -> drained.merge(postId, 1, Integer::sum));
+
+        for (UUID postId : postIds) {
+            assertThat(drained.getOrDefault(postId, 0)).isEqualTo(accepted.get(postId).get());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.blog.fit.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import com.blog.fit.domain.dtos.BatchItemRequestDto;
+import com.blog.fit.domain.dtos.BatchRequestDto;
+import com.blog.fit.domain.entities.Post;
+import com.blog.fit.repositories.PostRepository;
+import com.blog.fit.repositories.UserRepository;
+import com.blog.fit.services.AuthenticationService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.ServletContext;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BatchDispatcherTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DispatcherServlet dispatcherServlet;
+
+    @Autowired
+    private ServletContext servletContext;
+
+    @Autowired
+    private BatchDispatcher batchDispatcher;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void initDispatcherServlet() throws Exception {
+        // MockMvc serves requests through its own servlet, so the application's one is never started
+        if (dispatcherServlet.getHandlerMappings() == null) {
+            dispatcherServlet.init(new MockServletConfig(servletContext, "dispatcherServlet"));
+        }
+    }
+
+    @Test
+    void answersEveryItemWithItsOwnStatusInRequestOrder() throws Exception {
+        Post post = postRepository.findAll().get(0);
+
+        JsonNode responses = batch(null,
+                item("post", "GET", "/api/v1/posts/" + post.getId() + "?fields=id,title"),
+                item("missing", "GET", "/api/v1/posts/" + UUID.randomUUID()),
+                item("write", "DELETE", "/api/v1/posts/" + post.getId()),
+                item("external", "GET", "https://example.com/api/v1/posts"),
+                item("outside", "GET", "/actuator/health"),
+                item("nested", "GET", "/api/v1/batch"),
+                item("drafts", "GET", "/api/v1/posts/drafts"));
+
+        assertThat(responses).extracting(response -> response.get("id").asText())
+                .containsExactly("post", "missing", "write", "external", "outside", "nested", "drafts");
+        assertThat(responses).extracting(response -> response.get("status").asInt())
+                .containsExactly(200, 404, 405, 400, 400, 400, 403);
+        assertThat(responses.get(0).get("body").get("title").asText()).isEqualTo(post.getTitle());
+    }
+
+    @Test
+    void itemsRunWithTheBatchAuthentication() throws Exception {
+        String token = authenticationService.generateToken(userRepository.findByEmail("author@example.com").orElseThrow());
+
+        JsonNode responses = batch(token, item("drafts", "GET", "/api/v1/posts/drafts"));
+
+        assertThat(responses.get(0).get("status").asInt()).isEqualTo(200);
+        assertThat(responses.get(0).get("body").isArray()).isTrue();
+    }
+
+    @Test
+    void rejectsBatchesOverTheLimit() throws Exception {
+        List<BatchItemRequestDto> items = new ArrayList<>();
+        for (int i = 0; i < 21; i++) {
+            items.add(item(String.valueOf(i), "GET", "/api/v1/tags"));
+        }
+
+        mockMvc.perform(post("/api/v1/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchRequestDto(items))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void answersWithServiceUnavailableWhenThePoolIsFull() throws Exception {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(batchDispatcher, "executor");
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocker = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        try {
+            for (int i = 0; i < executor.getMaximumPoolSize(); i++) {
+                executor.execute(blocker);
+            }
+            // Idle threads left by earlier batches take their blocker from the queue, so wait for all of them
+            while (executor.getActiveCount() < executor.getMaximumPoolSize()) {
+                Thread.sleep(10);
+            }
+            while (executor.getQueue().remainingCapacity() > 0) {
+                executor.execute(blocker);
+            }
+
+            JsonNode responses = batch(null, item("tags", "GET", "/api/v1/tags"), item("write", "POST", "/api/v1/tags"));
+
+            assertThat(responses).extracting(response -> response.get("status").asInt()).containsExactly(503, 405);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private JsonNode batch(String token, BatchItemRequestDto... items) throws Exception {
+        var request = post("/api/v1/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchRequestDto(List.of(items))));
+        if (token != null) {
+            request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(body).get("responses");
+    }
+
+    private static BatchItemRequestDto item(String id, String method, String url) {
+        return new BatchItemRequestDto(id, method, url);
+    }
+}
@@ -0,0 +1,147 @@
+package com.blog.fit.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.entities.Category;
+import com.blog.fit.domain.entities.Tag;
+import com.blog.fit.repositories.UserRepository;
+import com.blog.fit.services.AuthenticationService;
+import com.blog.fit.services.CategoryService;
+import com.blog.fit.services.TagService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PostConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private String token;
+    private Category category;
+    private Tag tag;
+    private UUID postId;
+
+    @BeforeEach
+    void createPost() throws Exception {
+        token = authenticationService.generateToken(userRepository.findByEmail("author@example.com").orElseThrow());
+        category = categoryService.createCategory(Category.builder().name("Category " + UUID.randomUUID()).build());
+        tag = tagService.createTag("Tag " + UUID.randomUUID());
+
+        MvcResult created = mockMvc.perform(post("/api/v1/posts")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "title", "Conditional GET " + UUID.randomUUID(),
+                                "content", "Content that stays the same throughout the test.",
+                                "categoryId", category.getId(),
+                                "tagIds", Set.of(tag.getId()),
+                                "status", PostStatus.PUBLISHED))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        postId = UUID.fromString(objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asText());
+    }
+
+    @Test
+    void unchangedPostIsNotModified() throws Exception {
+        String etag = getPost().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(etag).isNotBlank();
+        mockMvc.perform(get("/api/v1/posts/{id}", postId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/posts/{id}", postId).param("fields", "id,title").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void newCommentChangesTheEtagAndTheCachedBody() throws Exception {
+        String etag = getPost().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post("/api/v1/comments/post/{postId}", postId)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"content\":\"Nice post\"}"))
+                .andExpect(status().isCreated());
+
+        MvcResult changed = mockMvc.perform(get("/api/v1/posts/{id}", postId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.commentCount").value(1))
+                .andReturn();
+        assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+    }
+
+    @Test
+    void tagRenameChangesTheEtagAndTheCachedBody() throws Exception {
+        String etag = getPost().getResponse().getHeader(HttpHeaders.ETAG);
+        String renamed = "Renamed " + UUID.randomUUID();
+
+        mockMvc.perform(put("/api/v1/tags/{id}", tag.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("name", renamed))))
+                .andExpect(status().isOk());
+
+        MvcResult changed = mockMvc.perform(get("/api/v1/posts/{id}", postId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tags[0].name").value(renamed))
+                .andReturn();
+        assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+    }
+
+    @Test
+    void categoryRenameChangesTheEtagAndTheCachedBody() throws Exception {
+        String etag = getPost().getResponse().getHeader(HttpHeaders.ETAG);
+        String renamed = "Renamed " + UUID.randomUUID();
+
+        mockMvc.perform(put("/api/v1/categories/{id}", category.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("name", renamed))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/posts/{id}", postId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.category.name").value(renamed));
+    }
+
+    private MvcResult getPost() throws Exception {
+        return mockMvc.perform(get("/api/v1/posts/{id}", postId))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+}
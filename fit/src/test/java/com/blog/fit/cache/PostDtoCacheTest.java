@@ -0,0 +1,108 @@
+package com.blog.fit.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.blog.fit.domain.dtos.PostDto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+
+class PostDtoCacheTest {
+
+    private final PostDtoCache cache = new PostDtoCache(100, Duration.ofMinutes(10), Duration.ofMinutes(1), new SimpleMeterRegistry());
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        UUID id = UUID.randomUUID();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<PostDto> first = CompletableFuture.supplyAsync(() -> cache.get(id, postId -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return post(postId);
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<PostDto> second = CompletableFuture.supplyAsync(() -> cache.get(id, this::load));
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(second.get(5, TimeUnit.SECONDS));
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void missingPostIsRememberedForTheNotFoundTtl() {
+        UUID id = UUID.randomUUID();
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> cache.get(id, postId -> {
+                loads.incrementAndGet();
+                throw new EntityNotFoundException("Post not found with ID: " + postId);
+            })).isInstanceOf(EntityNotFoundException.class);
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.getIfPresent(id)).isNull();
+    }
+
+    @Test
+    void getAllLoadsMissesTogetherAndSkipsMissingPosts() {
+        UUID cached = UUID.randomUUID();
+        UUID uncached = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        cache.get(cached, this::load);
+
+        List<PostDto> posts = cache.getAll(List.of(missing, uncached, cached), ids -> {
+            loads.incrementAndGet();
+            assertThat(ids).containsExactlyInAnyOrder(missing, uncached);
+            return Map.of(uncached, post(uncached));
+        });
+
+        assertThat(posts).extracting(PostDto::getId).containsExactly(uncached, cached);
+        assertThat(loads).hasValue(2);
+        assertThatThrownBy(() -> cache.get(missing, this::load)).isInstanceOf(EntityNotFoundException.class);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        UUID id = UUID.randomUUID();
+
+        assertThatThrownBy(() -> cache.get(id, postId -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.get(id, this::load).getId()).isEqualTo(id);
+    }
+
+    private PostDto load(UUID id) {
+        loads.incrementAndGet();
+        return post(id);
+    }
+
+    private static PostDto post(UUID id) {
+        return PostDto.builder().id(id).title("Post " + id).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
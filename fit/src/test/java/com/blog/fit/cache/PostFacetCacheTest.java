@@ -0,0 +1,80 @@
+package com.blog.fit.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.blog.fit.cache.PostFacetCache.FacetKey;
+import com.blog.fit.domain.TagMatchMode;
+import com.blog.fit.domain.dtos.PostFacetsDto;
+import com.blog.fit.domain.events.CategoryChangedEvent;
+import com.blog.fit.domain.events.PostChangedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PostFacetCacheTest {
+
+    private final PostFacetCache cache = new PostFacetCache(100, new SimpleMeterRegistry());
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void equivalentFiltersShareOneEntry() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        Set<UUID> tags = new HashSet<>(List.of(first, second));
+
+        PostFacetsDto facets = load(new FacetKey(null, tags, TagMatchMode.ANY, Set.of()));
+        tags.clear();
+
+        assertThat(load(new FacetKey(null, Set.of(second, first), TagMatchMode.ANY, Set.of()))).isSameAs(facets);
+        assertThat(load(new FacetKey(null, Set.of(), TagMatchMode.ANY, Set.of())))
+                .isSameAs(load(new FacetKey(null, Set.of(), TagMatchMode.ALL, Set.of())));
+        assertThat(load(new FacetKey(null, Set.of(first, second), TagMatchMode.ALL, Set.of()))).isNotSameAs(facets);
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void anyChangeDropsEveryEntry() {
+        FacetKey all = new FacetKey(null, Set.of(), TagMatchMode.ALL, Set.of());
+        FacetKey oneCategory = new FacetKey(UUID.randomUUID(), Set.of(), TagMatchMode.ALL, Set.of());
+        load(all);
+        load(oneCategory);
+
+        cache.onCategoryChanged(new CategoryChangedEvent(UUID.randomUUID(), CategoryChangedEvent.ChangeType.UPDATED));
+        load(all);
+        load(oneCategory);
+
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void countsLoadedAcrossAChangeAreNotKept() {
+        FacetKey key = new FacetKey(null, Set.of(), TagMatchMode.ALL, Set.of());
+
+        PostFacetsDto stale = cache.get(key, () -> {
+            cache.onPostChanged(new PostChangedEvent(UUID.randomUUID(), PostChangedEvent.ChangeType.UPDATED, Set.of(), Set.of()));
+            return facets();
+        });
+        PostFacetsDto fresh = load(key);
+
+        assertThat(fresh).isNotSameAs(stale);
+        assertThat(load(key)).isSameAs(fresh);
+    }
+
+    private PostFacetsDto load(FacetKey key) {
+        return cache.get(key, () -> {
+            loads.incrementAndGet();
+            return facets();
+        });
+    }
+
+    private static PostFacetsDto facets() {
+        return new PostFacetsDto(0, List.of(), List.of());
+    }
+}
@@ -0,0 +1,88 @@
+package com.blog.fit.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.blog.fit.cache.PostListingCache.ListingKey;
+import com.blog.fit.domain.PostIdPage;
+import com.blog.fit.domain.events.PostChangedEvent;
+import com.blog.fit.domain.events.PostsDeletedEvent;
+import com.blog.fit.domain.events.TagChangedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PostListingCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PostListingCache cache = new PostListingCache(100, meterRegistry);
+    private final Map<ListingKey, Integer> loads = new HashMap<>();
+
+    private final UUID news = UUID.randomUUID();
+    private final UUID sport = UUID.randomUUID();
+    private final UUID java = UUID.randomUUID();
+    private final UUID rust = UUID.randomUUID();
+
+    private final ListingKey all = new ListingKey(null, null, null, 10);
+    private final ListingKey newsOnly = new ListingKey(news, null, null, 10);
+    private final ListingKey sportOnly = new ListingKey(sport, null, null, 10);
+    private final ListingKey javaOnly = new ListingKey(null, java, null, 10);
+    private final ListingKey rustOnly = new ListingKey(null, rust, null, 10);
+    private final ListingKey newsAndJava = new ListingKey(news, java, null, 10);
+    private final ListingKey newsAndRust = new ListingKey(news, rust, null, 10);
+
+    @Test
+    void aPostChangeReloadsOnlyTheListingsItAppearsIn() {
+        List<ListingKey> keys = List.of(all, newsOnly, sportOnly, javaOnly, rustOnly, newsAndJava, newsAndRust);
+        keys.forEach(this::get);
+
+        cache.onPostChanged(new PostChangedEvent(UUID.randomUUID(), PostChangedEvent.ChangeType.UPDATED,
+                Set.of(news), Set.of(java)));
+        keys.forEach(this::get);
+
+        assertThat(loads).containsEntry(all, 2).containsEntry(newsOnly, 2).containsEntry(javaOnly, 2)
+                .containsEntry(newsAndJava, 2)
+                .containsEntry(sportOnly, 1).containsEntry(rustOnly, 1).containsEntry(newsAndRust, 1);
+        assertThat(meterRegistry.get("cache.stale.evictions").counter().count()).isEqualTo(4);
+    }
+
+    @Test
+    void cursorsOfTheSameScopeGoStaleTogether() {
+        ListingKey secondPage = new ListingKey(sport, null, "cursor-2", 10);
+        get(sportOnly);
+        get(secondPage);
+
+        cache.onPostsDeleted(new PostsDeletedEvent(Set.of(UUID.randomUUID()), Set.of(sport), Set.of()));
+        get(sportOnly);
+        get(secondPage);
+
+        assertThat(loads).containsEntry(sportOnly, 2).containsEntry(secondPage, 2);
+    }
+
+    @Test
+    void deletingATagDropsItsListings() {
+        get(rustOnly);
+        get(newsAndRust);
+        get(javaOnly);
+
+        cache.onTagChanged(new TagChangedEvent(rust, TagChangedEvent.ChangeType.DELETED));
+        get(rustOnly);
+        get(newsAndRust);
+        get(javaOnly);
+
+        assertThat(loads).containsEntry(rustOnly, 2).containsEntry(newsAndRust, 2).containsEntry(javaOnly, 1);
+    }
+
+    private PostIdPage get(ListingKey key) {
+        return cache.get(key, () -> {
+            loads.merge(key, 1, Integer::sum);
+            return new PostIdPage(List.of(UUID.randomUUID()), null);
+        });
+    }
+}
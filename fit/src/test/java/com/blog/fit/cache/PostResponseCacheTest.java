@@ -0,0 +1,105 @@
+package com.blog.fit.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.PostVersion;
+import com.blog.fit.domain.dtos.PostDto;
+import com.blog.fit.domain.events.PostChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PostResponseCacheTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final PostResponseCache cache = new PostResponseCache(objectMapper, DataSize.ofMegabytes(1), new SimpleMeterRegistry());
+    private final PostVersion version = new PostVersion(LocalDateTime.of(2026, 3, 1, 9, 30), 2, 5);
+
+    @Test
+    void servesTheSameBytesWhileTheVersionMatches() {
+        PostDto post = post(PostStatus.PUBLISHED);
+
+        byte[] first = cache.render(post, version, null).getBody();
+        post.setTitle("Changed without a new version");
+        byte[] second = cache.render(post, version, null).getBody();
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void rendersAgainForANewVersionOrAfterInvalidation() throws IOException {
+        PostDto post = post(PostStatus.PUBLISHED);
+        cache.render(post, version, null);
+
+        post.setTitle("Second title");
+        PostVersion commented = new PostVersion(version.getUpdatedAt(), 3, 5);
+        assertThat(title(cache.render(post, commented, null).getBody())).isEqualTo("Second title");
+
+        post.setTitle("Third title");
+        cache.onPostChanged(new PostChangedEvent(post.getId(), PostChangedEvent.ChangeType.UPDATED, Set.of(), Set.of()));
+        assertThat(title(cache.render(post, commented, null).getBody())).isEqualTo("Third title");
+    }
+
+    @Test
+    void neverCachesDrafts() throws IOException {
+        PostDto draft = post(PostStatus.DRAFT);
+        cache.render(draft, version, "gzip");
+
+        draft.setTitle("Edited draft");
+        ResponseEntity<byte[]> response = cache.render(draft, version, "gzip");
+
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(title(response.getBody())).isEqualTo("Edited draft");
+    }
+
+    @Test
+    void gzipsOnlyWhenTheClientAcceptsIt() throws IOException {
+        PostDto post = post(PostStatus.PUBLISHED);
+
+        assertGzipped(cache.render(post, version, "br, gzip;q=0.8"), post.getTitle());
+        assertGzipped(cache.render(post, version, "*"), post.getTitle());
+        assertIdentity(cache.render(post, version, "gzip;q=0"));
+        assertIdentity(cache.render(post, version, "deflate, br"));
+        assertIdentity(cache.render(post, version, null));
+    }
+
+    private void assertGzipped(ResponseEntity<byte[]> response, String title) throws IOException {
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeaders().getContentLength()).isEqualTo(response.getBody().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            assertThat(title(in.readAllBytes())).isEqualTo(title);
+        }
+    }
+
+    private static void assertIdentity(ResponseEntity<byte[]> response) {
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(response.getHeaders().getFirst(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    private String title(byte[] json) throws IOException {
+        return objectMapper.readTree(json).get("title").asText();
+    }
+
+    private static PostDto post(PostStatus status) {
+        return PostDto.builder()
+                .id(UUID.randomUUID())
+                .title("First title")
+                .content("Body text that compresses. ".repeat(10))
+                .postStatus(status)
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.blog.fit.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.blog.fit.domain.entities.Tag;
+import com.blog.fit.repositories.TagRepository;
+import com.blog.fit.services.TagService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReferenceDataCacheTest {
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Tag tag;
+
+    @BeforeEach
+    void createTag() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        tag = tagService.createTag("Cached " + UUID.randomUUID());
+    }
+
+    @Test
+    void repeatedLookupsAreServedWithoutQueryingTheDatabase() {
+        tagRepository.findByName(tag.getName());
+        tagService.getTagById(tag.getId());
+        statistics.clear();
+
+        assertThat(tagRepository.findByName(tag.getName())).contains(tag);
+        assertThat(tagService.getTagById(tag.getId()).getName()).isEqualTo(tag.getName());
+
+        assertThat(statistics.getQueryExecutionCount()).isZero();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void renamedTagIsNotServedFromTheCacheUnderEitherName() {
+        String oldName = tag.getName();
+        tagRepository.findByName(oldName);
+        tagService.getTagById(tag.getId());
+        String newName = "Renamed " + UUID.randomUUID();
+
+        tagService.updateTag(tag.getId(), newName);
+
+        assertThat(tagRepository.findByName(oldName)).isEmpty();
+        assertThat(tagRepository.findByName(newName)).map(Tag::getId).contains(tag.getId());
+        assertThat(tagService.getTagById(tag.getId()).getName()).isEqualTo(newName);
+    }
+}
@@ -0,0 +1,140 @@
+package com.blog.fit.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.entities.Category;
+import com.blog.fit.domain.entities.Tag;
+import com.blog.fit.repositories.CategoryRepository;
+import com.blog.fit.repositories.UserRepository;
+import com.blog.fit.services.AuthenticationService;
+import com.blog.fit.services.TagService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class FieldSelectionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagService tagService;
+
+    private Category category;
+    private Tag tag;
+    private UUID postId;
+
+    @BeforeEach
+    void createPostWithComment() throws Exception {
+        String token = authenticationService.generateToken(userRepository.findByEmail("author@example.com").orElseThrow());
+        category = categoryRepository.findAll().get(0);
+        tag = tagService.createTag("Fields " + UUID.randomUUID());
+
+        MvcResult created = mockMvc.perform(post("/api/v1/posts")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "title", "Fields " + UUID.randomUUID(),
+                                "content", "Content that only some readers ask for.",
+                                "categoryId", category.getId(),
+                                "tagIds", Set.of(tag.getId()),
+                                "status", PostStatus.PUBLISHED))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        postId = UUID.fromString(read(created).get("id").asText());
+
+        mockMvc.perform(post("/api/v1/comments/post/{postId}", postId)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"content\":\"Selected fields only\",\"likes\":3}"))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void postHasOnlyTheSelectedFields() throws Exception {
+        JsonNode post = read(mockMvc.perform(get("/api/v1/posts/{id}", postId).param("fields", "id, title,commentCount"))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        assertThat(post.properties()).extracting(Map.Entry::getKey).containsExactlyInAnyOrder("id", "title", "commentCount");
+        assertThat(post.get("id").asText()).isEqualTo(postId.toString());
+        assertThat(post.get("commentCount").asLong()).isEqualTo(1);
+    }
+
+    @Test
+    void postReferencesKeepTheirShape() throws Exception {
+        mockMvc.perform(get("/api/v1/posts/{id}", postId).param("fields", "author,category,tags"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.author.name").isNotEmpty())
+                .andExpect(jsonPath("$.category.id").value(category.getId().toString()))
+                .andExpect(jsonPath("$.category.name").value(category.getName()))
+                .andExpect(jsonPath("$.tags[0].id").value(tag.getId().toString()))
+                .andExpect(jsonPath("$.tags[0].name").value(tag.getName()))
+                .andExpect(jsonPath("$.title").doesNotExist());
+    }
+
+    @Test
+    void listingHasOnlyTheSelectedFields() throws Exception {
+        JsonNode posts = read(mockMvc.perform(get("/api/v1/posts").param("tagId", tag.getId().toString()).param("fields", "id,excerpt"))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        assertThat(posts).hasSize(1);
+        assertThat(posts.get(0).properties()).extracting(Map.Entry::getKey).containsExactlyInAnyOrder("id", "excerpt");
+    }
+
+    @Test
+    void commentsHaveOnlyTheSelectedFields() throws Exception {
+        JsonNode comments = read(mockMvc.perform(get("/api/v1/comments/post/{postId}", postId).param("fields", "content,likes"))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        assertThat(comments).hasSize(1);
+        assertThat(comments.get(0).properties()).extracting(Map.Entry::getKey).containsExactlyInAnyOrder("content", "likes");
+        assertThat(comments.get(0).get("likes").asInt()).isEqualTo(3);
+    }
+
+    @Test
+    void unknownFieldIsRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/posts/{id}", postId).param("fields", "id,password"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/comments/post/{postId}", postId).param("fields", "secret"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode read(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,129 @@
+package com.blog.fit.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.blog.fit.cache.PostDtoCache;
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.dtos.CreatePostRequest;
+import com.blog.fit.domain.entities.Post;
+import com.blog.fit.repositories.CategoryRepository;
+import com.blog.fit.repositories.UserRepository;
+import com.blog.fit.services.PostService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PostLookupTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostDtoCache postDtoCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Post first;
+    private Post second;
+    private Post third;
+
+    @BeforeEach
+    void createPosts() {
+        first = publish("First");
+        second = publish("Second");
+        third = publish("Third");
+    }
+
+    @Test
+    void returnsPostsInRequestOrderOnceEachAndListsTheMissingIds() throws Exception {
+        UUID missing = UUID.randomUUID();
+
+        mockMvc.perform(get("/api/v1/posts").param("ids",
+                        csv(third.getId(), missing, first.getId(), third.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.length()").value(2))
+                .andExpect(jsonPath("$.posts[0].id").value(third.getId().toString()))
+                .andExpect(jsonPath("$.posts[0].title").value(third.getTitle()))
+                .andExpect(jsonPath("$.posts[1].id").value(first.getId().toString()))
+                .andExpect(jsonPath("$.missingIds.length()").value(1))
+                .andExpect(jsonPath("$.missingIds[0]").value(missing.toString()));
+    }
+
+    @Test
+    void cachesThePostsItLoaded() throws Exception {
+        List.of(first, second, third).forEach(post -> postDtoCache.invalidate(post.getId()));
+
+        mockMvc.perform(get("/api/v1/posts").param("ids", csv(first.getId(), second.getId(), third.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.length()").value(3));
+
+        assertThat(List.of(first, second, third))
+                .allSatisfy(post -> assertThat(postDtoCache.getIfPresent(post.getId())).isNotNull());
+    }
+
+    @Test
+    void lookupByBodyTakesTheFieldSelection() throws Exception {
+        UUID missing = UUID.randomUUID();
+
+        mockMvc.perform(post("/api/v1/posts/lookup")
+                        .param("fields", "id,title")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("ids", List.of(second.getId(), missing, first.getId())))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts[0].title").value(second.getTitle()))
+                .andExpect(jsonPath("$.posts[0].content").doesNotExist())
+                .andExpect(jsonPath("$.posts[1].id").value(first.getId().toString()))
+                .andExpect(jsonPath("$.missingIds[0]").value(missing.toString()));
+    }
+
+    @Test
+    void rejectsMoreIdsThanTheLimit() throws Exception {
+        List<UUID> tooMany = IntStream.range(0, 501).mapToObj(i -> UUID.randomUUID()).toList();
+
+        mockMvc.perform(post("/api/v1/posts/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("ids", tooMany))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static String csv(UUID... ids) {
+        return String.join(",", List.of(ids).stream().map(UUID::toString).toList());
+    }
+
+    private Post publish(String title) {
+        return postService.createPost(userRepository.findByEmail("author@example.com").orElseThrow(),
+                CreatePostRequest.builder()
+                        .title(title + " " + UUID.randomUUID())
+                        .content("A post fetched together with others by id.")
+                        .categoryId(categoryRepository.findAll().get(0).getId())
+                        .status(PostStatus.PUBLISHED)
+                        .build());
+    }
+}
@@ -0,0 +1,94 @@
+package com.blog.fit.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class EventRingTest {
+
+    @Test
+    void rejectsSizesThatAreNotPowersOfTwo() {
+        assertThatThrownBy(() -> new EventRing(6, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void consumersReadAtTheirOwnCursors() {
+        EventRing ring = new EventRing(4, 2);
+        ring.publish(dispatched(1));
+        ring.publish(dispatched(2));
+
+        ring.advance(0, 2);
+        ring.advance(1, 1);
+
+        assertThat(ring.published()).isEqualTo(2);
+        assertThat(ring.get(1).outboxId()).isEqualTo(1);
+        assertThat(ring.get(2).outboxId()).isEqualTo(2);
+        assertThat(ring.cursor(0)).isEqualTo(2);
+        assertThat(ring.cursor(1)).isEqualTo(1);
+        assertThat(ring.slowestCursor()).isEqualTo(1);
+    }
+
+    @Test
+    void refusesToOverwriteUnreclaimedEvents() {
+        EventRing ring = new EventRing(2, 1);
+        assertThat(ring.publish(dispatched(1))).isTrue();
+        assertThat(ring.publish(dispatched(2))).isTrue();
+
+        assertThat(ring.publish(dispatched(3))).isFalse();
+
+        // Moving the consumer is not enough; the slot is free only once the publisher reclaims it
+        ring.advance(0, 1);
+        assertThat(ring.publish(dispatched(3))).isFalse();
+
+        ring.reclaim(ring.slowestCursor());
+        assertThat(ring.publish(dispatched(3))).isTrue();
+        assertThat(ring.get(3).outboxId()).isEqualTo(3);
+        assertThat(ring.get(2).outboxId()).isEqualTo(2);
+    }
+
+    @Test
+    void slowestCursorWithoutConsumersIsThePublishedSequence() {
+        EventRing ring = new EventRing(4, 0);
+        ring.publish(dispatched(1));
+
+        assertThat(ring.slowestCursor()).isEqualTo(1);
+    }
+
+    @Test
+    void awaitPublishedWakesWhenTheEventArrives() throws Exception {
+        EventRing ring = new EventRing(4, 1);
+        CompletableFuture<Long> waited = CompletableFuture.supplyAsync(() -> {
+            long started = System.nanoTime();
+            try {
+                ring.awaitPublished(1, 10_000);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        });
+
+        Thread.sleep(50);
+        ring.publish(dispatched(1));
+
+        assertThat(waited.get(5, TimeUnit.SECONDS)).isLessThan(5_000);
+    }
+
+    @Test
+    void awaitPublishedReturnsAtOnceForPublishedEvents() throws Exception {
+        EventRing ring = new EventRing(4, 1);
+        ring.publish(dispatched(1));
+
+        long started = System.nanoTime();
+        ring.awaitPublished(1, 10_000);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(5_000);
+    }
+
+    private static EventRing.Dispatched dispatched(long outboxId) {
+        return new EventRing.Dispatched(outboxId, "event-" + outboxId, null);
+    }
+}
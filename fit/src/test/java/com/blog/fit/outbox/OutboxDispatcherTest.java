@@ -0,0 +1,315 @@
+package com.blog.fit.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.blog.fit.domain.entities.OutboxDeadLetter;
+import com.blog.fit.domain.entities.OutboxEvent;
+import com.blog.fit.domain.events.PostChangedEvent;
+import com.blog.fit.domain.events.PostsDeletedEvent;
+import com.blog.fit.repositories.OutboxDeadLetterRepository;
+import com.blog.fit.repositories.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OutboxDispatcherTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final OutboxEventRepository repository = mock(OutboxEventRepository.class);
+    private final OutboxDeadLetterRepository deadLetters = mock(OutboxDeadLetterRepository.class);
+    private final List<OutboxDispatcher> dispatchers = new ArrayList<>();
+
+    @AfterEach
+    void stopDispatchers() throws InterruptedException {
+        for (OutboxDispatcher dispatcher : dispatchers) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    void deliversEveryEventToEveryConsumerAndDeletesProcessedRows() throws Exception {
+        PostChangedEvent first = postChanged();
+        PostChangedEvent second = postChanged();
+        givenUndispatched(row(1, first), row(2, second));
+        RecordingConsumer search = new RecordingConsumer("search");
+        RecordingConsumer related = new RecordingConsumer("related");
+        OutboxDispatcher dispatcher = dispatcher(8, search, related);
+
+        dispatcher.start();
+        dispatcher.poll();
+
+        assertThat(search.awaitEvents(2)).containsExactly(first, second);
+        assertThat(related.awaitEvents(2)).containsExactly(first, second);
+        verify(repository).markDispatched(eq(List.of(1L, 2L)), any());
+        pollUntil(dispatcher, () -> deleted(List.of(1L, 2L)));
+    }
+
+    @Test
+    void deliversBulkDeletesAsOneEvent() throws Exception {
+        PostsDeletedEvent deleted = new PostsDeletedEvent(
+                Set.of(UUID.randomUUID(), UUID.randomUUID()), Set.of(UUID.randomUUID()), Set.of());
+        givenUndispatched(row(1, deleted));
+        RecordingConsumer consumer = new RecordingConsumer("search");
+        OutboxDispatcher dispatcher = dispatcher(8, consumer);
+
+        dispatcher.start();
+        dispatcher.poll();
+
+        assertThat(consumer.awaitEvents(1)).containsExactly(deleted);
+    }
+
+    @Test
+    void redeliversDispatchedRowsOnStartup() throws Exception {
+        // Rows dispatched before a restart are still in the table because no consumer got past them
+        PostChangedEvent event = postChanged();
+        given(repository.clearDispatched()).willReturn(1);
+        givenUndispatched(row(7, event));
+        RecordingConsumer consumer = new RecordingConsumer("search");
+        OutboxDispatcher dispatcher = dispatcher(8, consumer);
+
+        dispatcher.start();
+        verify(repository).clearDispatched();
+        dispatcher.poll();
+
+        assertThat(consumer.awaitEvents(1)).containsExactly(event);
+    }
+
+    @Test
+    void retriesAFailingConsumerWithoutHoldingUpTheOthers() throws Exception {
+        PostChangedEvent event = postChanged();
+        givenUndispatched(row(1, event));
+        AtomicInteger attempts = new AtomicInteger();
+        RecordingConsumer flaky = new RecordingConsumer("flaky") {
+            @Override
+            public void consume(Object domainEvent) {
+                if (attempts.incrementAndGet() < 3) {
+                    throw new IllegalStateException("not yet");
+                }
+                super.consume(domainEvent);
+            }
+        };
+        RecordingConsumer steady = new RecordingConsumer("steady");
+        OutboxDispatcher dispatcher = dispatcher(8, flaky, steady);
+
+        dispatcher.start();
+        dispatcher.poll();
+
+        assertThat(steady.awaitEvents(1)).containsExactly(event);
+        assertThat(flaky.awaitEvents(1)).containsExactly(event);
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void skipsAConsumerPastAnEventItKeepsFailingOn() throws Exception {
+        PostChangedEvent poison = postChanged();
+        PostChangedEvent next = postChanged();
+        givenUndispatched(row(1, poison), row(2, next));
+        RecordingConsumer broken = new RecordingConsumer("broken") {
+            @Override
+            public void consume(Object domainEvent) {
+                if (poison.equals(domainEvent)) {
+                    throw new IllegalStateException("cannot handle this one");
+                }
+                super.consume(domainEvent);
+            }
+        };
+        OutboxDispatcher dispatcher = dispatcher(8, broken);
+
+        dispatcher.start();
+        dispatcher.poll();
+
+        assertThat(broken.awaitEvents(1)).containsExactly(next);
+        pollUntil(dispatcher, () -> deleted(List.of(1L, 2L)));
+        ArgumentCaptor<OutboxDeadLetter> deadLetter = ArgumentCaptor.forClass(OutboxDeadLetter.class);
+        verify(deadLetters).save(deadLetter.capture());
+        assertThat(deadLetter.getValue().getConsumerName()).isEqualTo("broken");
+        assertThat(deadLetter.getValue().getError()).contains("cannot handle this one");
+        assertThat(objectMapper.readValue(deadLetter.getValue().getPayload(), PostChangedEvent.class)).isEqualTo(poison);
+    }
+
+    @Test
+    void deliversARedrivenEventOnlyToTheConsumerThatFailedOnIt() throws Exception {
+        PostChangedEvent redriven = postChanged();
+        PostChangedEvent next = postChanged();
+        OutboxEvent targeted = row(1, redriven);
+        targeted.setConsumerName("search");
+        givenUndispatched(targeted, row(2, next));
+        RecordingConsumer search = new RecordingConsumer("search");
+        RecordingConsumer related = new RecordingConsumer("related");
+        OutboxDispatcher dispatcher = dispatcher(8, search, related);
+
+        dispatcher.start();
+        dispatcher.poll();
+
+        assertThat(search.awaitEvents(2)).containsExactly(redriven, next);
+        assertThat(related.awaitEvents(1)).containsExactly(next);
+        pollUntil(dispatcher, () -> deleted(List.of(1L, 2L)));
+    }
+
+    @Test
+    void redriveMovesDeadLettersBackToTheOutbox() {
+        OutboxDeadLetter deadLetter = OutboxDeadLetter.builder().id(4L).consumerName("search")
+                .eventType("PostChangedEvent").payload("{}").failedAt(LocalDateTime.now()).build();
+        given(deadLetters.findAllByConsumerNameOrderByIdAsc("search")).willReturn(List.of(deadLetter));
+        OutboxDispatcher dispatcher = dispatcher(8, new RecordingConsumer("search"));
+
+        assertThat(dispatcher.redrive("search")).isEqualTo(1);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OutboxEvent>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(saved.capture());
+        assertThat(saved.getValue()).singleElement().satisfies(event -> {
+            assertThat(event.getConsumerName()).isEqualTo("search");
+            assertThat(event.getEventType()).isEqualTo("PostChangedEvent");
+            assertThat(event.getPayload()).isEqualTo("{}");
+        });
+        verify(deadLetters).deleteAllInBatch(List.of(deadLetter));
+    }
+
+    @Test
+    void leavesEventsInTheTableWhileTheRingIsFull() throws Exception {
+        givenUndispatched(row(1, postChanged()), row(2, postChanged()), row(3, postChanged()));
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingConsumer blocked = new RecordingConsumer("blocked") {
+            @Override
+            public void consume(Object domainEvent) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.consume(domainEvent);
+            }
+        };
+        OutboxDispatcher dispatcher = dispatcher(2, blocked);
+
+        dispatcher.start();
+        dispatcher.poll();
+
+        verify(repository).markDispatched(eq(List.of(1L, 2L)), any());
+        release.countDown();
+        blocked.awaitEvents(2);
+    }
+
+    @Test
+    void deletesUnreadableRowsWithoutDeliveringThem() throws Exception {
+        PostChangedEvent event = postChanged();
+        OutboxEvent unknown = OutboxEvent.builder().id(1L).eventType("SomethingElse").payload("{}")
+                .createdAt(LocalDateTime.now()).build();
+        OutboxEvent garbled = OutboxEvent.builder().id(2L).eventType("PostChangedEvent").payload("{not json")
+                .createdAt(LocalDateTime.now()).build();
+        givenUndispatched(unknown, garbled, row(3, event));
+        RecordingConsumer consumer = new RecordingConsumer("search");
+        OutboxDispatcher dispatcher = dispatcher(8, consumer);
+
+        dispatcher.start();
+        dispatcher.poll();
+
+        assertThat(consumer.awaitEvents(1)).containsExactly(event);
+        verify(repository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(repository).markDispatched(eq(List.of(3L)), any());
+    }
+
+    @Test
+    void doesNotPollBeforeStart() {
+        OutboxDispatcher dispatcher = dispatcher(8, new RecordingConsumer("search"));
+
+        dispatcher.poll();
+
+        verify(repository, never()).findByDispatchedAtIsNullOrderByIdAsc(any());
+    }
+
+    private OutboxDispatcher dispatcher(int ringSize, DomainEventConsumer... consumers) {
+        OutboxDispatcher dispatcher = new OutboxDispatcher(
+                repository, deadLetters, objectMapper, List.of(consumers), ringSize, 200, new SimpleMeterRegistry());
+        dispatchers.add(dispatcher);
+        return dispatcher;
+    }
+
+    private void givenUndispatched(OutboxEvent... rows) {
+        given(repository.findByDispatchedAtIsNullOrderByIdAsc(any())).willReturn(List.of(rows), List.of());
+    }
+
+    private boolean deleted(List<Long> ids) {
+        try {
+            verify(repository).deleteAllByIdInBatch(ids);
+            return true;
+        } catch (AssertionError e) {
+            return false;
+        }
+    }
+
+    // Processed rows are deleted by a later poll, once every consumer has moved past them
+    private static void pollUntil(OutboxDispatcher dispatcher, BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("polled until condition held").isLessThan(deadline);
+            dispatcher.poll();
+            Thread.sleep(10);
+        }
+    }
+
+    private OutboxEvent row(long id, Object event) throws Exception {
+        return OutboxEvent.builder()
+                .id(id)
+                .eventType(event.getClass().getSimpleName())
+                .payload(objectMapper.writeValueAsString(event))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static PostChangedEvent postChanged() {
+        return new PostChangedEvent(UUID.randomUUID(), PostChangedEvent.ChangeType.UPDATED,
+                Set.of(UUID.randomUUID()), Set.of(UUID.randomUUID()));
+    }
+
+    private static class RecordingConsumer implements DomainEventConsumer {
+
+        private final String name;
+        private final List<Object> events = Collections.synchronizedList(new ArrayList<>());
+
+        RecordingConsumer(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getConsumerName() {
+            return name;
+        }
+
+        @Override
+        public void consume(Object domainEvent) {
+            events.add(domainEvent);
+        }
+
+        List<Object> awaitEvents(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (events.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(events).hasSize(count);
+            return List.copyOf(events);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.blog.fit.readmodel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.blog.fit.cache.PostDtoCache;
+import com.blog.fit.cache.PostResponseCache;
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.entities.Category;
+import com.blog.fit.repositories.CategoryRepository;
+import com.blog.fit.repositories.PostRepository;
+import com.blog.fit.repositories.UserRepository;
+import com.blog.fit.services.AuthenticationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CommentTotalsReconcilerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostDtoCache postDtoCache;
+
+    @Autowired
+    private PostResponseCache postResponseCache;
+
+    @Autowired
+    private CommentTotalsReconciler reconciler;
+
+    private UUID postId;
+
+    @BeforeEach
+    void createPostWithComment() throws Exception {
+        String token = authenticationService.generateToken(userRepository.findByEmail("author@example.com").orElseThrow());
+        Category category = categoryRepository.findAll().get(0);
+
+        MvcResult created = mockMvc.perform(post("/api/v1/posts")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "title", "Reconciled " + UUID.randomUUID(),
+                                "content", "Content of a post whose comment totals drift.",
+                                "categoryId", category.getId(),
+                                "status", PostStatus.PUBLISHED))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        postId = UUID.fromString(objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asText());
+
+        mockMvc.perform(post("/api/v1/comments/post/{postId}", postId)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"content\":\"First\",\"likes\":2}"))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void recountsDriftedPostAndServesTheCorrectedTotals() throws Exception {
+        jdbcTemplate.update("UPDATE posts SET comment_count = 5, total_comment_likes = 9 WHERE id = ?", postId);
+        jdbcTemplate.update("UPDATE post_view SET comment_count = 5, total_comment_likes = 9 WHERE id = ?", postId);
+        String etag = getPostCachingDriftedTotals(5);
+        String listingEtag = mockMvc.perform(get("/api/v1/posts"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        reconciler.reconcile();
+
+        assertThat(postRepository.findCommentCountById(postId)).contains(1L);
+        assertCorrectedFor(etag);
+        // Listings carry the totals too, so their validator moves as well
+        mockMvc.perform(get("/api/v1/posts").header(HttpHeaders.IF_NONE_MATCH, listingEtag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void syncsReadModelThatDriftedOnItsOwn() throws Exception {
+        jdbcTemplate.update("UPDATE post_view SET comment_count = 5, total_comment_likes = 9 WHERE id = ?", postId);
+        String etag = getPostCachingDriftedTotals(5);
+
+        reconciler.reconcile();
+
+        assertCorrectedFor(etag);
+    }
+
+    // The drift happened behind the caches' back, so they are cleared once to load it like a real read would
+    private String getPostCachingDriftedTotals(int commentCount) throws Exception {
+        postDtoCache.invalidate(postId);
+        postResponseCache.invalidate(postId);
+        return mockMvc.perform(get("/api/v1/posts/{id}", postId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.commentCount").value(commentCount))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+    }
+
+    private void assertCorrectedFor(String etag) throws Exception {
+        mockMvc.perform(get("/api/v1/posts/{id}", postId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.commentCount").value(1))
+                .andExpect(jsonPath("$.totalCommentLikes").value(2));
+    }
+}
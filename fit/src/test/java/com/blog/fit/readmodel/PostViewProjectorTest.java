@@ -0,0 +1,99 @@
+package com.blog.fit.readmodel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.dtos.CreateCommentRequest;
+import com.blog.fit.domain.dtos.CreatePostRequest;
+import com.blog.fit.domain.entities.Comment;
+import com.blog.fit.domain.entities.Post;
+import com.blog.fit.domain.entities.User;
+import com.blog.fit.repositories.CategoryRepository;
+import com.blog.fit.repositories.UserRepository;
+import com.blog.fit.search.PostSearchIndex;
+import com.blog.fit.services.CommentService;
+import com.blog.fit.services.PostService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PostViewProjectorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private User author;
+    private Post post;
+
+    @BeforeEach
+    void createPost() {
+        author = userRepository.findByEmail("author@example.com").orElseThrow();
+        post = postService.createPost(author, CreatePostRequest.builder()
+                .title("Projected " + UUID.randomUUID())
+                .content("<p>Content of a post whose <b>comments</b> get edited.</p>")
+                .categoryId(categoryRepository.findAll().get(0).getId())
+                .status(PostStatus.PUBLISHED)
+                .build());
+    }
+
+    @Test
+    void rowReadsTheContentFromThePost() throws Exception {
+        mockMvc.perform(get("/api/v1/posts/{id}", post.getId()).param("fields", "content,excerpt"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").value("<p>Content of a post whose <b>comments</b> get edited.</p>"))
+                .andExpect(jsonPath("$.excerpt").value("Content of a post whose comments get edited."));
+    }
+
+    @Test
+    void excerptIsPlainTextCutAtAWordBoundary() {
+        String paragraph = "<p>" + "Lorem <em>ipsum</em> dolor&nbsp;sit amet. ".repeat(20) + "</p>";
+
+        String excerpt = PostViewProjector.excerpt(paragraph);
+
+        String text = PostSearchIndex.stripHtml(paragraph);
+        String kept = excerpt.substring(0, excerpt.length() - 1);
+        assertThat(excerpt).startsWith("Lorem ipsum dolor").doesNotContain("<", "&nbsp;").endsWith("…");
+        assertThat(kept).hasSizeLessThanOrEqualTo(280);
+        assertThat(text).startsWith(kept);
+        assertThat(text.charAt(kept.length())).isEqualTo(' ');
+    }
+
+    @Test
+    void editedCommentLikesReachTheCachedPost() throws Exception {
+        Comment comment = commentService.createComment(author, post.getId(),
+                CreateCommentRequest.builder().content("Edited later").likes(1).build());
+        mockMvc.perform(get("/api/v1/posts/{id}", post.getId()))
+                .andExpect(jsonPath("$.totalCommentLikes").value(1));
+
+        commentService.updateComment(comment.getId(),
+                CreateCommentRequest.builder().content("Edited now").likes(6).build(), author);
+
+        mockMvc.perform(get("/api/v1/posts/{id}", post.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.commentCount").value(1))
+                .andExpect(jsonPath("$.totalCommentLikes").value(6));
+    }
+}
@@ -0,0 +1,98 @@
+package com.blog.fit.revisions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class ContentDeltaTest {
+
+    private static final String ARTICLE = """
+            <h1>Walking the coast path</h1>
+            <p>The path leaves the harbour past the lifeboat station and climbs onto the cliffs.</p>
+            <p>After the second stile it drops into a cove where the tide leaves a wide strip of sand.</p>
+            <p>Allow three hours there and back, more if you stop at the lighthouse.</p>
+            """;
+
+    @Test
+    void snapshotRestoresContent() {
+        String content = ARTICLE + "Café 🌊";
+
+        assertThat(ContentDelta.restore(ContentDelta.snapshot(content))).isEqualTo(content);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', quoteCharacter = '"', value = {
+        // base | target
+        "\"\"                | \"\"",
+        "\"\"                | new text",
+        "old text            | \"\"",
+        "same text           | same text",
+        "short               | much longer replacement text",
+        "abcdefghijklmnopqrstuvwxyz0123456789 | 0123456789abcdefghijklmnopqrstuvwxyz",
+    })
+    void diffRoundTripsSmallEdits(String base, String target) {
+        assertThat(ContentDelta.apply(base, ContentDelta.diff(base, target))).isEqualTo(target);
+    }
+
+    @Test
+    void diffRoundTripsEditsInTheMiddle() {
+        String target = ARTICLE.replace("three hours", "four hours")
+                .replace("<p>After the second stile", "<p>Dogs must be on a lead.</p>\n<p>After the second stile");
+
+        assertThat(ContentDelta.apply(ARTICLE, ContentDelta.diff(ARTICLE, target))).isEqualTo(target);
+    }
+
+    @Test
+    void diffRoundTripsMovedBlocks() {
+        String[] paragraphs = ARTICLE.split("\n");
+        String target = paragraphs[3] + "\n" + paragraphs[0] + "\n" + paragraphs[2] + "\n" + paragraphs[1] + "\n";
+
+        assertThat(ContentDelta.apply(ARTICLE, ContentDelta.diff(ARTICLE, target))).isEqualTo(target);
+    }
+
+    @Test
+    void diffRoundTripsSurrogatePairsSplitByAnEdit() {
+        String base = "Waves 🌊🌊🌊 at the cove, waves 🌊 at the harbour";
+        String target = "Waves 🌊🌋🌊 at the cove, waves 🌊 at the harbour!";
+
+        assertThat(ContentDelta.apply(base, ContentDelta.diff(base, target))).isEqualTo(target);
+    }
+
+    @Test
+    void diffRoundTripsRandomEdits() {
+        Random random = new Random(42);
+        String base = ARTICLE.repeat(20);
+        for (int round = 0; round < 200; round++) {
+            StringBuilder target = new StringBuilder(base);
+            for (int edit = random.nextInt(5); edit >= 0; edit--) {
+                int at = random.nextInt(target.length() + 1);
+                int removed = Math.min(random.nextInt(64), target.length() - at);
+                target.replace(at, at + removed, randomText(random, random.nextInt(64)));
+            }
+
+            String expected = target.toString();
+            assertThat(ContentDelta.apply(base, ContentDelta.diff(base, expected))).isEqualTo(expected);
+            base = expected;
+        }
+    }
+
+    @Test
+    void deltaOfSmallEditIsFarSmallerThanSnapshot() {
+        String base = ARTICLE.repeat(50);
+        String target = base.substring(0, base.length() / 2) + "One more sentence." + base.substring(base.length() / 2);
+
+        assertThat(ContentDelta.diff(base, target).length).isLessThan(ContentDelta.snapshot(target).length / 4);
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('a' + random.nextInt(26)));
+        }
+        return text.toString();
+    }
+}
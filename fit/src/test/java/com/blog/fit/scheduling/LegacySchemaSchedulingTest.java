@@ -0,0 +1,55 @@
+package com.blog.fit.scheduling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.dtos.CreatePostRequest;
+import com.blog.fit.domain.entities.Post;
+import com.blog.fit.repositories.CategoryRepository;
+import com.blog.fit.repositories.PostRepository;
+import com.blog.fit.repositories.UserRepository;
+import com.blog.fit.services.PostService;
+
+// Starts on a database whose posts table predates scheduling, and updates it the way production does.
+// The second-level cache gets its own manager so entities of the other database never leak in.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:legacy;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:db/legacy-posts.sql'",
+        "spring.jpa.hibernate.ddl-auto=update",
+        "spring.jpa.properties.hibernate.javax.cache.uri=application.conf"
+})
+class LegacySchemaSchedulingTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void schedulesPostsOnASchemaCreatedBeforeScheduling() {
+        LocalDateTime publishAt = LocalDateTime.now().plusDays(1);
+
+        Post post = postService.createPost(userRepository.findByEmail("author@example.com").orElseThrow(),
+                CreatePostRequest.builder()
+                        .title("Scheduled on a legacy schema")
+                        .content("Content of a post that goes live tomorrow.")
+                        .categoryId(categoryRepository.findAll().get(0).getId())
+                        .status(PostStatus.SCHEDULED)
+                        .publishAt(publishAt)
+                        .build());
+
+        assertThat(postRepository.findById(post.getId()).orElseThrow().getStatus()).isEqualTo(PostStatus.SCHEDULED);
+    }
+}
@@ -0,0 +1,115 @@
+package com.blog.fit.scheduling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    private static final long TICK = 100;
+    private static final int SLOTS = 8;
+
+    private final List<String> fired = new ArrayList<>();
+
+    @Test
+    void firesOnFirstTickAtOrAfterDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, SLOTS, 0);
+        wheel.add("on-tick", 300);
+        wheel.add("between-ticks", 350);
+
+        wheel.advance(299, fired::add);
+        assertThat(fired).isEmpty();
+
+        wheel.advance(300, fired::add);
+        assertThat(fired).containsExactly("on-tick");
+
+        wheel.advance(399, fired::add);
+        assertThat(fired).containsExactly("on-tick");
+
+        wheel.advance(400, fired::add);
+        assertThat(fired).containsExactly("on-tick", "between-ticks");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void firesOverdueEntriesOnNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, SLOTS, 1_000);
+        wheel.add("overdue", 500);
+
+        wheel.advance(1_000, fired::add);
+        assertThat(fired).isEmpty();
+
+        wheel.advance(1_100, fired::add);
+        assertThat(fired).containsExactly("overdue");
+    }
+
+    @Test
+    void cascadesEntriesFromOuterWheels() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, SLOTS, 0);
+        // One turn of the inner wheel is 800 ms and of the second 6400 ms, so these land two and three wheels out
+        wheel.add("second-wheel", 2_450);
+        wheel.add("third-wheel", 7_000);
+
+        wheel.advance(2_400, fired::add);
+        assertThat(fired).isEmpty();
+
+        wheel.advance(2_500, fired::add);
+        assertThat(fired).containsExactly("second-wheel");
+
+        wheel.advance(6_900, fired::add);
+        assertThat(fired).containsExactly("second-wheel");
+
+        wheel.advance(7_000, fired::add);
+        assertThat(fired).containsExactly("second-wheel", "third-wheel");
+    }
+
+    @Test
+    void firesEarliestTickFirstWhenAdvancingFar() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, SLOTS, 0);
+        wheel.add("late", 50_000);
+        wheel.add("early", 200);
+        wheel.add("middle", 5_000);
+
+        wheel.advance(60_000, fired::add);
+
+        assertThat(fired).containsExactly("early", "middle", "late");
+    }
+
+    @Test
+    void firesEveryRandomDeadlineNeverEarly() {
+        Random random = new Random(7);
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK, SLOTS, 0);
+        Map<Long, Long> firedAt = new HashMap<>();
+        long now = 0;
+        for (int i = 0; i < 2_000; i++) {
+            long deadline = now + random.nextInt(100_000);
+            wheel.add(deadline, deadline);
+            if (i % 10 == 0) {
+                now += random.nextInt(500);
+                long at = now;
+                wheel.advance(at, deadlineFired -> firedAt.merge(deadlineFired, at, Math::min));
+            }
+        }
+        long end = now + 200_000;
+        for (long at = now; at <= end; at += random.nextInt(1_000)) {
+            long tickAt = at;
+            wheel.advance(tickAt, deadlineFired -> firedAt.merge(deadlineFired, tickAt, Math::min));
+        }
+
+        assertThat(wheel.size()).isZero();
+        firedAt.forEach((deadline, at) -> assertThat(at).isGreaterThanOrEqualTo(deadline));
+    }
+
+    @Test
+    void rejectsDegenerateWheels() {
+        assertThatThrownBy(() -> new TimingWheel<String>(0, SLOTS, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimingWheel<String>(TICK, 1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
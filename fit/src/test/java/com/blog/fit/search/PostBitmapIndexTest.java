@@ -0,0 +1,134 @@
+package com.blog.fit.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.blog.fit.domain.PostCursor;
+import com.blog.fit.domain.PostFacetCounts;
+import com.blog.fit.domain.PostFilterRow;
+import com.blog.fit.domain.PostIdPage;
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.TagMatchMode;
+import com.blog.fit.domain.events.PostChangedEvent;
+import com.blog.fit.domain.events.PostsDeletedEvent;
+import com.blog.fit.repositories.PostRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PostBitmapIndexTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 8, 0);
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final PostBitmapIndex index = new PostBitmapIndex(postRepository, new SimpleMeterRegistry());
+
+    private final UUID backend = UUID.randomUUID();
+    private final UUID frontend = UUID.randomUUID();
+    private final UUID java = UUID.randomUUID();
+    private final UUID spring = UUID.randomUUID();
+    private final UUID legacy = UUID.randomUUID();
+
+    // Oldest first, as the rebuild query returns them
+    private final UUID javaOnly = UUID.randomUUID();
+    private final UUID javaAndSpring = UUID.randomUUID();
+    private final UUID draft = UUID.randomUUID();
+    private final UUID springLegacy = UUID.randomUUID();
+    private final UUID untagged = UUID.randomUUID();
+    private final UUID frontendJava = UUID.randomUUID();
+
+    @BeforeEach
+    void rebuild() {
+        List<PostFilterRow> rows = new ArrayList<>();
+        rows.add(row(javaOnly, PostStatus.PUBLISHED, backend, 1, java));
+        rows.add(row(javaAndSpring, PostStatus.PUBLISHED, backend, 2, java));
+        rows.add(row(javaAndSpring, PostStatus.PUBLISHED, backend, 2, spring));
+        rows.add(row(draft, PostStatus.DRAFT, backend, 3, java));
+        rows.add(row(springLegacy, PostStatus.PUBLISHED, backend, 4, spring));
+        rows.add(row(springLegacy, PostStatus.PUBLISHED, backend, 4, legacy));
+        rows.add(row(untagged, PostStatus.PUBLISHED, frontend, 5, null));
+        rows.add(row(frontendJava, PostStatus.PUBLISHED, frontend, 6, java));
+        given(postRepository.streamFilterRows()).willAnswer(invocation -> rows.stream());
+        index.rebuild();
+    }
+
+    @Test
+    void matchesAllOrAnyTagsNewestFirstWithoutDrafts() {
+        assertThat(find(null, Set.of(java, spring), TagMatchMode.ALL, Set.of()))
+                .containsExactly(javaAndSpring);
+        assertThat(find(null, Set.of(java, spring), TagMatchMode.ANY, Set.of()))
+                .containsExactly(frontendJava, springLegacy, javaAndSpring, javaOnly);
+        assertThat(find(backend, Set.of(java, spring), TagMatchMode.ANY, Set.of(legacy)))
+                .containsExactly(javaAndSpring, javaOnly);
+        assertThat(find(frontend, Set.of(), TagMatchMode.ALL, Set.of()))
+                .containsExactly(frontendJava, untagged);
+    }
+
+    @Test
+    void pagesWithCursorsUntilTheLastPost() {
+        PostIdPage first = index.find(null, Set.of(), TagMatchMode.ALL, Set.of(), null, 2);
+        PostIdPage second = index.find(null, Set.of(), TagMatchMode.ALL, Set.of(), PostCursor.decode(first.getNextCursor()), 2);
+        PostIdPage third = index.find(null, Set.of(), TagMatchMode.ALL, Set.of(), PostCursor.decode(second.getNextCursor()), 2);
+
+        assertThat(first.getPostIds()).containsExactly(frontendJava, untagged);
+        assertThat(second.getPostIds()).containsExactly(springLegacy, javaAndSpring);
+        assertThat(third.getPostIds()).containsExactly(javaOnly);
+        assertThat(third.getNextCursor()).isNull();
+    }
+
+    @Test
+    void cursorOfAPostUnknownToTheIndexContinuesByCreationTime() {
+        PostCursor between = new PostCursor(START.plusHours(4).plusMinutes(30), UUID.randomUUID());
+
+        PostIdPage page = index.find(null, Set.of(), TagMatchMode.ALL, Set.of(), between, 10);
+
+        assertThat(page.getPostIds()).containsExactly(springLegacy, javaAndSpring, javaOnly);
+    }
+
+    @Test
+    void categoryCountsIgnoreTheCategoryFilter() {
+        PostFacetCounts counts = index.countFacets(backend, Set.of(java), TagMatchMode.ALL, Set.of());
+
+        assertThat(counts.getTotal()).isEqualTo(2);
+        assertThat(counts.getTagCounts()).containsOnlyKeys(java, spring).containsEntry(java, 2).containsEntry(spring, 1);
+        assertThat(counts.getCategoryCounts()).containsEntry(backend, 2).containsEntry(frontend, 1);
+    }
+
+    @Test
+    void changedPostIsReadBackAndPublishedDraftMovesToTheFront() {
+        given(postRepository.findFilterRowsById(draft))
+                .willReturn(List.of(row(draft, PostStatus.PUBLISHED, frontend, 7, legacy)));
+
+        index.onPostChanged(new PostChangedEvent(draft, PostChangedEvent.ChangeType.UPDATED, Set.of(), Set.of()));
+
+        assertThat(find(null, Set.of(legacy), TagMatchMode.ALL, Set.of())).containsExactly(draft, springLegacy);
+        assertThat(find(null, Set.of(java), TagMatchMode.ALL, Set.of())).doesNotContain(draft);
+        assertThat(find(frontend, Set.of(), TagMatchMode.ALL, Set.of())).first().isEqualTo(draft);
+    }
+
+    @Test
+    void deletedPostsDisappearFromResultsAndCounts() {
+        index.onPostsDeleted(new PostsDeletedEvent(Set.of(javaAndSpring, springLegacy), Set.of(backend), Set.of(spring)));
+
+        assertThat(find(null, Set.of(spring), TagMatchMode.ANY, Set.of())).isEmpty();
+        assertThat(index.countFacets(null, Set.of(), TagMatchMode.ALL, Set.of()).getTagCounts())
+                .doesNotContainKeys(spring, legacy);
+    }
+
+    private List<UUID> find(UUID categoryId, Set<UUID> tagIds, TagMatchMode mode, Set<UUID> excludedTagIds) {
+        return index.find(categoryId, tagIds, mode, excludedTagIds, null, null).getPostIds();
+    }
+
+    private static PostFilterRow row(UUID postId, PostStatus status, UUID categoryId, int hour, UUID tagId) {
+        return new PostFilterRow(postId, status, categoryId, START.plusHours(hour), tagId);
+    }
+}
@@ -0,0 +1,122 @@
+package com.blog.fit.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import com.blog.fit.domain.PostSearchPage;
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.dtos.PostSearchHitDto;
+import com.blog.fit.domain.entities.Category;
+import com.blog.fit.domain.entities.Post;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PostSearchIndexTest {
+
+    @TempDir
+    Path indexPath;
+
+    private PostSearchIndex index;
+    private final Category category = Category.builder().id(UUID.randomUUID()).name("Travel").build();
+
+    @BeforeEach
+    void openIndex() throws IOException {
+        index = new PostSearchIndex(indexPath, DataSize.ofMegabytes(16), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void closeIndex() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void pagesThroughEqualScoresInPostIdOrder() {
+        List<UUID> ids = indexTiedPosts(5);
+
+        List<UUID> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            PostSearchPage page = index.search("lighthouse", null, null, cursor, 2);
+            page.getHits().forEach(hit -> seen.add(hit.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyElementsOf(sorted(ids));
+    }
+
+    @Test
+    void cursorStillContinuesAfterItsPostIsDeleted() {
+        List<UUID> ids = sorted(indexTiedPosts(5));
+
+        PostSearchPage first = index.search("lighthouse", null, null, null, 2);
+        assertThat(first.getHits()).extracting(PostSearchHitDto::getId).containsExactlyElementsOf(ids.subList(0, 2));
+
+        index.delete(ids.get(1));
+        PostSearchPage second = index.search("lighthouse", null, null, first.getNextCursor(), 2);
+
+        assertThat(second.getHits()).extracting(PostSearchHitDto::getId).containsExactlyElementsOf(ids.subList(2, 4));
+    }
+
+    @Test
+    void batchDeleteIsCommittedAtOnce() throws IOException {
+        List<UUID> ids = indexTiedPosts(4);
+        index.commit();
+
+        index.delete(ids.subList(0, 3));
+        assertThat(index.search("lighthouse", null, null, null, 10).getHits())
+                .extracting(PostSearchHitDto::getId).containsExactly(ids.get(3));
+
+        // What a restart would find on disk
+        try (Directory directory = FSDirectory.open(indexPath); DirectoryReader committed = DirectoryReader.open(directory)) {
+            assertThat(committed.numDocs()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        indexTiedPosts(1);
+
+        assertThatThrownBy(() -> index.search("lighthouse", null, null, "not-a-cursor", 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Identical text scores identically, so only the post id orders these posts
+    private List<UUID> indexTiedPosts(int count) {
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            posts.add(Post.builder()
+                    .id(UUID.randomUUID())
+                    .title("Walking to the lighthouse")
+                    .content("<p>The lighthouse stands at the end of the pier.</p>")
+                    .status(PostStatus.PUBLISHED)
+                    .category(category)
+                    .tags(Set.of())
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+        }
+        index.indexAll(posts);
+        return posts.stream().map(Post::getId).toList();
+    }
+
+    private static List<UUID> sorted(List<UUID> ids) {
+        return ids.stream().sorted(Comparator.comparing(UUID::toString)).toList();
+    }
+}
@@ -0,0 +1,119 @@
+package com.blog.fit.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.blog.fit.search.PrefixIndex.Entry;
+
+class PrefixIndexTest {
+
+    private static final int MAX_KEY_LENGTH = 4;
+    private static final int NODE_CAPACITY = 3;
+
+    private final PrefixIndex index = new PrefixIndex(MAX_KEY_LENGTH, NODE_CAPACITY);
+
+    @Test
+    void findsAnEntryUnderEveryOneOfItsKeys() {
+        Entry spring = entry("Spring Boot caching", 5, "spring", "boot", "caching");
+        index.put(spring);
+
+        assertThat(index.search("boo", 3, entry -> true)).containsExactly(spring);
+        assertThat(index.search("cach", 3, entry -> true)).containsExactly(spring);
+        assertThat(index.search("java", 3, entry -> true)).isEmpty();
+    }
+
+    @Test
+    void prefixesLongerThanTheKeyLimitMatchOnTheirFirstCharacters() {
+        Entry caching = entry("Caching", 1, "caching");
+        index.put(caching);
+
+        assertThat(index.search("cachet", 3, entry -> true)).containsExactly(caching);
+    }
+
+    @Test
+    void replacingAnEntryMovesItToItsNewKeysAndRank() {
+        UUID id = UUID.randomUUID();
+        Entry other = entry("Kotlin", 3, "kotlin");
+        index.put(other);
+        index.put(new Entry(id, "Kafka", "kafka", 1, List.of("kafka")));
+
+        index.put(new Entry(id, "Koin", "koin", 9, List.of("koin")));
+
+        assertThat(index.search("ka", 3, entry -> true)).isEmpty();
+        assertThat(index.search("k", 3, entry -> true)).extracting(Entry::text).containsExactly("Koin", "Kotlin");
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void filterOnlySeesTheTopCandidatesOfThePrefix() {
+        for (int weight = 1; weight <= 5; weight++) {
+            index.put(entry("Post " + weight, weight, "post"));
+        }
+
+        assertThat(index.search("p", 5, entry -> true)).extracting(Entry::weight).containsExactly(5L, 4L, 3L);
+        assertThat(index.search("p", 5, entry -> entry.weight() % 2 == 0)).extracting(Entry::weight).containsExactly(4L);
+    }
+
+    // Random puts, replacements and removals must leave every prefix ranked as a full scan would rank it
+    @Test
+    void matchesAFullScanAfterRandomChanges() {
+        Random random = new Random(42);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        Map<UUID, Entry> expected = new HashMap<>();
+
+        for (int step = 0; step < 2_000; step++) {
+            UUID id = ids.get(random.nextInt(ids.size()));
+            if (random.nextInt(4) == 0) {
+                index.remove(id);
+                expected.remove(id);
+            } else {
+                List<String> keys = List.of(word(random), word(random));
+                Entry entry = new Entry(id, String.join(" ", keys), String.join(" ", keys), random.nextInt(20), keys);
+                index.put(entry);
+                expected.put(id, entry);
+            }
+
+            String prefix = word(random).substring(0, 1 + random.nextInt(3));
+            assertThat(index.search(prefix, NODE_CAPACITY, entry -> true))
+                    .as("prefix %s at step %d", prefix, step)
+                    .containsExactlyElementsOf(fullScan(expected.values(), prefix));
+        }
+        assertThat(index.size()).isEqualTo(expected.size());
+    }
+
+    private static List<Entry> fullScan(Iterable<Entry> entries, String prefix) {
+        List<Entry> matches = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.keys().stream().anyMatch(key -> key.startsWith(prefix))) {
+                matches.add(entry);
+            }
+        }
+        matches.sort(PrefixIndex.RANKING);
+        return matches.subList(0, Math.min(NODE_CAPACITY, matches.size()));
+    }
+
+    // A small alphabet so prefixes are shared and removals have to prune and re-rank nodes
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 3 + random.nextInt(3);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(3)));
+        }
+        return word.toString();
+    }
+
+    private static Entry entry(String text, long weight, String... keys) {
+        return new Entry(UUID.randomUUID(), text, text.toLowerCase(), weight, List.of(keys));
+    }
+}
@@ -0,0 +1,99 @@
+package com.blog.fit.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.blog.fit.domain.PostFilterRow;
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.events.PostChangedEvent;
+import com.blog.fit.domain.events.PostsDeletedEvent;
+import com.blog.fit.repositories.PostRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RelatedPostsIndexTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 5, 4, 12, 0);
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final RelatedPostsIndex index = new RelatedPostsIndex(postRepository, 2, new SimpleMeterRegistry());
+
+    private final UUID guides = UUID.randomUUID();
+    private final UUID news = UUID.randomUUID();
+    private final UUID common = UUID.randomUUID();
+    private final UUID rare = UUID.randomUUID();
+
+    private final UUID a = UUID.randomUUID();
+    private final UUID b = UUID.randomUUID();
+    private final UUID c = UUID.randomUUID();
+    private final UUID d = UUID.randomUUID();
+    private final UUID e = UUID.randomUUID();
+    private final UUID draft = UUID.randomUUID();
+
+    @BeforeEach
+    void rebuild() {
+        List<PostFilterRow> rows = List.of(
+                row(a, PostStatus.PUBLISHED, guides, 1, common),
+                row(a, PostStatus.PUBLISHED, guides, 1, rare),
+                row(b, PostStatus.PUBLISHED, news, 2, common),
+                row(b, PostStatus.PUBLISHED, news, 2, rare),
+                row(c, PostStatus.PUBLISHED, guides, 3, common),
+                row(d, PostStatus.PUBLISHED, news, 4, common),
+                row(e, PostStatus.PUBLISHED, guides, 5, null),
+                row(draft, PostStatus.DRAFT, guides, 6, rare));
+        given(postRepository.streamFilterRows()).willAnswer(invocation -> rows.stream());
+        index.rebuild();
+    }
+
+    @Test
+    void ranksRareSharedTagsFirstAndFillsFromTheNewestOfTheCategory() {
+        // b shares the rare tag; c only shares the common one but gets the category bonus over d
+        assertThat(index.findRelated(a)).contains(List.of(b, c));
+        // e shares no tags, so it gets the newest other posts of its category
+        assertThat(index.findRelated(e)).contains(List.of(c, a));
+        assertThat(index.findRelated(draft)).isEmpty();
+    }
+
+    @Test
+    void retaggingAPostRecomputesThePostsThatSharedItsOldTags() {
+        given(postRepository.findFilterRowsById(b)).willReturn(List.of(row(b, PostStatus.PUBLISHED, news, 2, null)));
+
+        index.consume(new PostChangedEvent(b, PostChangedEvent.ChangeType.UPDATED, Set.of(news), Set.of(common, rare)));
+
+        assertThat(index.findRelated(a)).contains(List.of(c, d));
+        assertThat(index.findRelated(b)).contains(List.of(d));
+    }
+
+    @Test
+    void unpublishedPostLeavesEveryList() {
+        given(postRepository.findFilterRowsById(c)).willReturn(List.of(row(c, PostStatus.DRAFT, guides, 3, common)));
+
+        index.consume(new PostChangedEvent(c, PostChangedEvent.ChangeType.UPDATED, Set.of(guides), Set.of(common)));
+
+        assertThat(index.findRelated(c)).isEmpty();
+        assertThat(index.findRelated(a)).contains(List.of(b, d));
+        assertThat(index.findRelated(e)).contains(List.of(a));
+    }
+
+    @Test
+    void bulkDeleteRecomputesTheRemainingPosts() {
+        index.consume(new PostsDeletedEvent(Set.of(b, c), Set.of(guides, news), Set.of(common, rare)));
+
+        assertThat(index.findRelated(b)).isEmpty();
+        assertThat(index.findRelated(a)).contains(List.of(d, e));
+        assertThat(index.findRelated(d)).contains(List.of(a));
+    }
+
+    private static PostFilterRow row(UUID postId, PostStatus status, UUID categoryId, int hour, UUID tagId) {
+        return new PostFilterRow(postId, status, categoryId, START.plusHours(hour), tagId);
+    }
+}
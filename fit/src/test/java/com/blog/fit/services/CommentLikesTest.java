@@ -0,0 +1,96 @@
+package com.blog.fit.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.blog.fit.domain.PostCommentTotals;
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.dtos.CreateCommentRequest;
+import com.blog.fit.domain.dtos.CreatePostRequest;
+import com.blog.fit.domain.entities.Comment;
+import com.blog.fit.domain.entities.Post;
+import com.blog.fit.domain.entities.User;
+import com.blog.fit.repositories.CategoryRepository;
+import com.blog.fit.repositories.PostRepository;
+import com.blog.fit.repositories.UserRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CommentLikesTest {
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Post post;
+    private Comment comment;
+
+    @BeforeEach
+    void createComment() {
+        User author = userRepository.findByEmail("author@example.com").orElseThrow();
+        post = postService.createPost(author, CreatePostRequest.builder()
+                .title("Liked " + UUID.randomUUID())
+                .content("Content of a post whose comment gets liked.")
+                .categoryId(categoryRepository.findAll().get(0).getId())
+                .status(PostStatus.PUBLISHED)
+                .build());
+        comment = commentService.createComment(author, post.getId(),
+                CreateCommentRequest.builder().content("Like me").likes(0).build());
+    }
+
+    @Test
+    void concurrentLikesAreAllCounted() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Comment>> likes = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                likes.add(executor.submit(() -> commentService.likeComment(comment.getId())));
+            }
+            for (Future<Comment> like : likes) {
+                like.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(commentService.getCommentById(comment.getId()).getLikes()).isEqualTo(40);
+        assertThat(totals().getTotalCommentLikes()).isEqualTo(40);
+    }
+
+    @Test
+    void unlikeStopsAtZeroWithoutTouchingThePost() {
+        assertThat(commentService.likeComment(comment.getId()).getLikes()).isEqualTo(1);
+
+        assertThat(commentService.unlikeComment(comment.getId()).getLikes()).isZero();
+        assertThat(commentService.unlikeComment(comment.getId()).getLikes()).isZero();
+
+        assertThat(totals().getTotalCommentLikes()).isZero();
+    }
+
+    private PostCommentTotals totals() {
+        return postRepository.findCommentTotalsByIdIn(List.of(post.getId())).get(0);
+    }
+}
@@ -0,0 +1,148 @@
+package com.blog.fit.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import com.blog.fit.domain.PostRetagResult;
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.dtos.CreatePostRequest;
+import com.blog.fit.domain.dtos.UpdatePostRequest;
+import com.blog.fit.domain.entities.Post;
+import com.blog.fit.domain.entities.User;
+import com.blog.fit.domain.events.PostChangedEvent;
+import com.blog.fit.repositories.CategoryRepository;
+import com.blog.fit.repositories.PostRepository;
+import com.blog.fit.repositories.UserRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@RecordApplicationEvents
+class PostRetagTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private User author;
+    private UUID categoryId;
+    private UUID java;
+    private UUID kotlin;
+    private UUID archived;
+
+    @BeforeEach
+    void createTags() {
+        author = userRepository.findByEmail("author@example.com").orElseThrow();
+        categoryId = categoryRepository.findAll().get(0).getId();
+        java = tag("Java");
+        kotlin = tag("Kotlin");
+        archived = tag("Archived");
+    }
+
+    @Test
+    void addsAndRemovesTagsAndAnnouncesOnlyChangedPosts() {
+        Post tagged = post(Set.of(java, archived));
+        Post done = post(Set.of(java, kotlin));
+        Post bare = post(Set.of());
+        events.clear();
+
+        PostRetagResult result = postService.retagPosts(author.getId(),
+                Set.of(tagged.getId(), done.getId(), bare.getId()), Set.of(kotlin), Set.of(archived));
+
+        assertThat(result.getMatched()).isEqualTo(3);
+        assertThat(result.getUpdated()).isEqualTo(2);
+        assertThat(postRepository.findTagIdsById(tagged.getId())).containsExactlyInAnyOrder(java, kotlin);
+        assertThat(postRepository.findTagIdsById(done.getId())).containsExactlyInAnyOrder(java, kotlin);
+        assertThat(postRepository.findTagIdsById(bare.getId())).containsExactly(kotlin);
+        assertThat(events.stream(PostChangedEvent.class).map(PostChangedEvent::getPostId))
+                .containsExactlyInAnyOrder(tagged.getId(), bare.getId());
+        // The listings the post left and the ones it entered are both told
+        assertThat(events.stream(PostChangedEvent.class).filter(event -> event.getPostId().equals(tagged.getId())))
+                .singleElement()
+                .satisfies(event -> assertThat(event.getTagIds()).containsExactlyInAnyOrder(java, kotlin, archived));
+    }
+
+    @Test
+    void rollsEveryPostBackWhenOneWouldExceedTheTagLimit() {
+        Set<UUID> nine = IntStream.range(0, 9).mapToObj(i -> tag("Nine")).collect(Collectors.toSet());
+        Post full = post(nine);
+        Post small = post(Set.of(java));
+
+        assertThatThrownBy(() -> postService.retagPosts(author.getId(),
+                Set.of(full.getId(), small.getId()), Set.of(kotlin, archived), Set.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(postRepository.findTagIdsById(full.getId())).isEqualTo(nine);
+        assertThat(postRepository.findTagIdsById(small.getId())).containsExactly(java);
+    }
+
+    @Test
+    void rejectsPostsOfAnotherAuthorAndContradictoryRequests() {
+        Post post = post(Set.of(java));
+
+        assertThatThrownBy(() -> postService.retagPosts(UUID.randomUUID(), Set.of(post.getId()), Set.of(kotlin), Set.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> postService.retagPosts(author.getId(), Set.of(post.getId()), Set.of(java), Set.of(java)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(postRepository.findTagIdsById(post.getId())).containsExactly(java);
+    }
+
+    @Test
+    void tagOnlyUpdateChangesTheLinksAndMovesUpdatedAt() {
+        Post post = post(Set.of(java, archived));
+
+        Post updated = postService.updatePost(post.getId(), UpdatePostRequest.builder()
+                .id(post.getId())
+                .title(post.getTitle())
+                .content(post.getContent())
+                .categoryId(categoryId)
+                .tagIds(new HashSet<>(List.of(java, kotlin)))
+                .status(PostStatus.PUBLISHED)
+                .build());
+
+        assertThat(postRepository.findTagIdsById(post.getId())).containsExactlyInAnyOrder(java, kotlin);
+        assertThat(updated.getUpdatedAt()).isAfter(post.getUpdatedAt());
+    }
+
+    private Post post(Set<UUID> tagIds) {
+        return postService.createPost(author, CreatePostRequest.builder()
+                .title("Retagged " + UUID.randomUUID())
+                .content("A post whose tags are moved around in bulk.")
+                .categoryId(categoryId)
+                .tagIds(new HashSet<>(tagIds))
+                .status(PostStatus.PUBLISHED)
+                .build());
+    }
+
+    private UUID tag(String name) {
+        return tagService.createTag(name + " " + UUID.randomUUID()).getId();
+    }
+}
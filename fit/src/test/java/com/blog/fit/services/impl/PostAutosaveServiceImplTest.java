@@ -0,0 +1,142 @@
+package com.blog.fit.services.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.blog.fit.domain.ContentEdit;
+import com.blog.fit.domain.PostContentState;
+import com.blog.fit.domain.PostFilterRow;
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.events.PostChangedEvent;
+import com.blog.fit.repositories.PostRepository;
+import com.blog.fit.services.PostRevisionService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+
+class PostAutosaveServiceImplTest {
+
+    private final UUID postId = UUID.randomUUID();
+    private final UUID authorId = UUID.randomUUID();
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final PostRevisionService postRevisionService = mock(PostRevisionService.class);
+    private final List<Object> events = new ArrayList<>();
+    // The row as the database holds it; the conditional update only applies at the expected version
+    private PostContentState stored = new PostContentState(postId, authorId, "Autosave", "Hello world", 10L);
+
+    @BeforeEach
+    void stubRepository() {
+        given(postRepository.findContentStateById(postId)).willAnswer(invocation -> Optional.of(stored));
+        given(postRepository.updateContentIfVersion(eq(postId), anyString(), anyInt(), anyLong(), anyLong(), any()))
+                .willAnswer(invocation -> {
+                    if (stored.getContentVersion() != invocation.<Long>getArgument(4)) {
+                        return 0;
+                    }
+                    stored = new PostContentState(postId, authorId, stored.getTitle(),
+                            invocation.getArgument(1), invocation.getArgument(3));
+                    return 1;
+                });
+        given(postRepository.findFilterRowsById(postId)).willReturn(List.of(
+                new PostFilterRow(postId, PostStatus.PUBLISHED, UUID.randomUUID(), LocalDateTime.now(), null)));
+    }
+
+    @Test
+    void aBurstOfEditsIsWrittenOnce() {
+        PostAutosaveServiceImpl service = service(Duration.ZERO, Duration.ofHours(1));
+
+        assertThat(service.applyEdits(postId, authorId, 10, List.of(new ContentEdit(5, 6, ", autosave")))).isEqualTo(11);
+        assertThat(service.applyEdits(postId, authorId, 11, List.of(new ContentEdit(0, 5, "Goodbye")))).isEqualTo(12);
+        assertThat(service.applyEdits(postId, authorId, 12, List.of(new ContentEdit(17, 0, "!"),
+                new ContentEdit(0, 0, "> ")))).isEqualTo(13);
+        service.flushDue();
+        service.flushDue();
+
+        assertThat(stored.getContent()).isEqualTo("> Goodbye, autosave!");
+        assertThat(stored.getContentVersion()).isEqualTo(13);
+        verify(postRepository, times(1)).updateContentIfVersion(eq(postId), anyString(), anyInt(), eq(13L), eq(10L), any());
+        verify(postRevisionService).recordRevision(postId, "Autosave", "Hello world", "Autosave", "> Goodbye, autosave!");
+        assertThat(events).singleElement().isInstanceOf(PostChangedEvent.class);
+    }
+
+    @Test
+    void waitsForTheQuietPeriodButNotPastTheMaximumDelay() {
+        PostAutosaveServiceImpl waiting = service(Duration.ofHours(1), Duration.ofHours(2));
+        waiting.applyEdits(postId, authorId, 10, List.of(new ContentEdit(11, 0, ".")));
+        waiting.flushDue();
+        assertThat(stored.getContentVersion()).isEqualTo(10);
+
+        PostAutosaveServiceImpl capped = service(Duration.ofHours(1), Duration.ZERO);
+        capped.applyEdits(postId, authorId, 10, List.of(new ContentEdit(11, 0, "?")));
+        capped.flushDue();
+        assertThat(stored.getContent()).isEqualTo("Hello world?");
+    }
+
+    @Test
+    void rejectedBatchLeavesTheContentAsItWas() {
+        PostAutosaveServiceImpl service = service(Duration.ZERO, Duration.ofHours(1));
+
+        assertThatThrownBy(() -> service.applyEdits(postId, authorId, 9, List.of(new ContentEdit(0, 0, "x"))))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> service.applyEdits(postId, UUID.randomUUID(), 10, List.of(new ContentEdit(0, 0, "x"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        // The first edit is valid on its own, but the batch is applied whole or not at all
+        assertThatThrownBy(() -> service.applyEdits(postId, authorId, 10,
+                List.of(new ContentEdit(0, 5, "Hi"), new ContentEdit(4, 20, ""))))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(service.applyEdits(postId, authorId, 10, List.of(new ContentEdit(0, 1, "J")))).isEqualTo(11);
+        service.flushDue();
+        assertThat(stored.getContent()).isEqualTo("Jello world");
+    }
+
+    @Test
+    void dropsUnsavedEditsOfAPostReplacedMeanwhileAndReloadsIt() {
+        PostAutosaveServiceImpl service = service(Duration.ZERO, Duration.ofHours(1));
+        service.applyEdits(postId, authorId, 10, List.of(new ContentEdit(0, 5, "Howdy")));
+        stored = new PostContentState(postId, authorId, "Autosave", "Saved from the full editor", 20L);
+
+        service.flushDue();
+
+        assertThat(stored.getContent()).isEqualTo("Saved from the full editor");
+        verify(postRevisionService, never()).recordRevision(any(), any(), any(), any(), any());
+        assertThat(service.applyEdits(postId, authorId, 20, List.of(new ContentEdit(0, 5, "Typed")))).isEqualTo(21);
+    }
+
+    @Test
+    void unknownPostIsNotFound() {
+        PostAutosaveServiceImpl service = service(Duration.ZERO, Duration.ofHours(1));
+        UUID missing = UUID.randomUUID();
+        given(postRepository.findContentStateById(missing)).willReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.applyEdits(missing, authorId, 0, List.of()))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    private PostAutosaveServiceImpl service(Duration quietPeriod, Duration maxDelay) {
+        return new PostAutosaveServiceImpl(postRepository, events::add,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), postRevisionService,
+                quietPeriod, maxDelay, new SimpleMeterRegistry());
+    }
+}
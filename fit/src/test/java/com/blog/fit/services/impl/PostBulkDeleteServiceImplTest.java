@@ -0,0 +1,121 @@
+package com.blog.fit.services.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.blog.fit.domain.BulkDeleteProgress;
+import com.blog.fit.domain.BulkDeleteStatus;
+import com.blog.fit.domain.PostFilterRow;
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.events.PostsDeletedEvent;
+import com.blog.fit.repositories.CommentRepository;
+import com.blog.fit.repositories.PostRepository;
+import com.blog.fit.services.PostAutosaveService;
+import com.blog.fit.services.PostRevisionService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PostBulkDeleteServiceImplTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID categoryId = UUID.randomUUID();
+    private final UUID tagId = UUID.randomUUID();
+    private final List<UUID> postIds = IntStream.range(0, 5).mapToObj(i -> UUID.randomUUID()).toList();
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final PostAutosaveService postAutosaveService = mock(PostAutosaveService.class);
+    private final List<Object> events = Collections.synchronizedList(new ArrayList<>());
+    private PostBulkDeleteServiceImpl service;
+
+    @BeforeEach
+    void createService() {
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        given(transactionTemplate.execute(any())).willAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        given(postRepository.findIdsByAuthor(userId, categoryId, null, null)).willReturn(postIds);
+        // Every post is in the category; only the first one is tagged
+        given(postRepository.findFilterRowsByIdIn(anyCollection())).willAnswer(invocation ->
+                invocation.<Collection<UUID>>getArgument(0).stream()
+                        .map(id -> new PostFilterRow(id, PostStatus.PUBLISHED, categoryId, LocalDateTime.now(),
+                                id.equals(postIds.get(0)) ? tagId : null))
+                        .toList());
+        given(postRepository.deleteAllByIdIn(anyCollection())).willAnswer(invocation ->
+                invocation.<Collection<UUID>>getArgument(0).size());
+
+        ApplicationEventPublisher eventPublisher = events::add;
+        service = new PostBulkDeleteServiceImpl(postRepository, mock(CommentRepository.class),
+                mock(PostRevisionService.class), postAutosaveService, eventPublisher, transactionTemplate,
+                2, Duration.ofHours(1), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void publishesOneEventPerChunk() throws InterruptedException {
+        BulkDeleteProgress progress = awaitFinished(service.startBulkDelete(userId, null, categoryId, null, null));
+
+        assertThat(progress.getStatus()).isEqualTo(BulkDeleteStatus.COMPLETED);
+        assertThat(progress.getDeleted()).isEqualTo(5);
+        assertThat(events).hasSize(3).allSatisfy(event -> assertThat(event).isInstanceOf(PostsDeletedEvent.class));
+        List<PostsDeletedEvent> chunks = events.stream().map(PostsDeletedEvent.class::cast).toList();
+        assertThat(chunks).extracting(PostsDeletedEvent::getPostIds).containsExactly(
+                Set.copyOf(postIds.subList(0, 2)), Set.copyOf(postIds.subList(2, 4)), Set.of(postIds.get(4)));
+        assertThat(chunks).extracting(PostsDeletedEvent::getCategoryIds).containsOnly(Set.of(categoryId));
+        assertThat(chunks).extracting(PostsDeletedEvent::getTagIds).containsExactly(Set.of(tagId), Set.of(), Set.of());
+    }
+
+    @Test
+    void failedChunkKeepsTheEarlierOnesAndStops() throws InterruptedException {
+        given(postRepository.deleteAllByIdIn(Set.copyOf(postIds.subList(2, 4))))
+                .willThrow(new IllegalStateException("connection lost"));
+
+        BulkDeleteProgress progress = awaitFinished(service.startBulkDelete(userId, null, categoryId, null, null));
+
+        assertThat(progress.getStatus()).isEqualTo(BulkDeleteStatus.FAILED);
+        assertThat(progress.getError()).isEqualTo("connection lost");
+        assertThat(progress.getMatched()).isEqualTo(5);
+        assertThat(progress.getDeleted()).isEqualTo(2);
+        assertThat(events).singleElement()
+                .extracting(event -> ((PostsDeletedEvent) event).getPostIds())
+                .isEqualTo(Set.copyOf(postIds.subList(0, 2)));
+        verify(postAutosaveService).discard(postIds.get(1));
+        verify(postAutosaveService, never()).discard(postIds.get(2));
+        verify(postRepository, never()).findFilterRowsByIdIn(List.of(postIds.get(4)));
+    }
+
+    private BulkDeleteProgress awaitFinished(BulkDeleteProgress started) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        BulkDeleteProgress progress = started;
+        while (progress.getFinishedAt() == null) {
+            assertThat(System.currentTimeMillis()).as("bulk delete finished").isLessThan(deadline);
+            Thread.sleep(10);
+            progress = service.getBulkDelete(started.getId(), userId);
+        }
+        return progress;
+    }
+}
@@ -0,0 +1,116 @@
+package com.blog.fit.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.blog.fit.domain.PostStatus;
+import com.blog.fit.domain.dtos.CreateCommentRequest;
+import com.blog.fit.domain.dtos.CreatePostRequest;
+import com.blog.fit.domain.entities.Comment;
+import com.blog.fit.domain.entities.Post;
+import com.blog.fit.domain.entities.User;
+import com.blog.fit.repositories.CategoryRepository;
+import com.blog.fit.repositories.UserRepository;
+import com.blog.fit.services.CommentService;
+import com.blog.fit.services.PostService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CommentStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private User author;
+    private Post watched;
+    private Post other;
+
+    @BeforeEach
+    void createPosts() {
+        author = userRepository.findByEmail("author@example.com").orElseThrow();
+        watched = publish("Streamed");
+        other = publish("Quiet");
+    }
+
+    @Test
+    void streamsCommentChangesAndBatchedLikesOfItsPostOnly() throws Exception {
+        MvcResult watchedStream = open(watched);
+        MvcResult otherStream = open(other);
+
+        Comment comment = commentService.createComment(author, watched.getId(),
+                CreateCommentRequest.builder().content("Live comment").likes(0).build());
+        await(watchedStream, body -> body.contains("event:comment-created") && body.contains("Live comment"));
+
+        commentService.likeComment(comment.getId());
+        commentService.likeComment(comment.getId());
+        await(watchedStream, body -> body.contains("event:comment-likes") && body.contains("\"likes\":2"));
+
+        commentService.deleteComment(comment.getId(), author);
+        String body = await(watchedStream, content -> content.contains("event:comment-deleted"));
+
+        // Two likes were sent as at most two rounds of counts, never one frame per click past that
+        assertThat(body.split("event:comment-likes", -1).length - 1).isBetween(1, 2);
+        assertThat(body.indexOf("event:comment-created")).isLessThan(body.indexOf("event:comment-deleted"));
+        assertThat(otherStream.getResponse().getContentAsString()).doesNotContain("event:");
+    }
+
+    @Test
+    void refusesAStreamOfAMissingPost() throws Exception {
+        mockMvc.perform(get("/api/v1/comments/post/{postId}/stream", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    private MvcResult open(Post post) throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/v1/comments/post/{postId}/stream", post.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        await(stream, body -> body.contains(":connected"));
+        return stream;
+    }
+
+    // Changes reach the stream through the outbox poller, so they arrive a little after the write
+    private static String await(MvcResult stream, Predicate<String> condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        String body = stream.getResponse().getContentAsString();
+        while (!condition.test(body)) {
+            assertThat(System.currentTimeMillis()).as("stream received:%n%s", body).isLessThan(deadline);
+            Thread.sleep(20);
+            body = stream.getResponse().getContentAsString();
+        }
+        return body;
+    }
+
+    private Post publish(String title) {
+        return postService.createPost(author, CreatePostRequest.builder()
+                .title(title + " " + UUID.randomUUID())
+                .content("A post whose readers keep its comment stream open.")
+                .categoryId(categoryRepository.findAll().get(0).getId())
+                .status(PostStatus.PUBLISHED)
+                .build());
+    }
+}
@@ -0,0 +1,5 @@
+-- The posts table as PostgreSQL had it before SCHEDULED existed; ddl-auto=update adds the other columns
+CREATE TABLE IF NOT EXISTS posts (
+    id UUID NOT NULL PRIMARY KEY,
+    status VARCHAR(255) NOT NULL CONSTRAINT posts_status_check CHECK (status IN ('DRAFT', 'PUBLISHED'))
+);